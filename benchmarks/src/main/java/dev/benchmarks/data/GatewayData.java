@@ -0,0 +1,105 @@
+package dev.benchmarks.data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import dev.eventplaner.model.Event;
+import dev.eventplaner.model.Geolocation;
+import dev.eventplaner.model.User;
+import dev.eventplaner.model.UserDTO;
+
+/**
+ * Generates reproducible events and users of the gateway model, shaped like
+ * the data the services exchange: names up to 30 and descriptions up to 1000
+ * characters, locations around Germany and about every second participant
+ * with a rating.
+ */
+public final class GatewayData {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private GatewayData() {
+    }
+
+    /**
+     * Generates events with the given number of participants each.
+     *
+     * @param count        the number of events
+     * @param participants the participants per event
+     * @param seed         the seed, the same seed gives the same events
+     * @return the events
+     */
+    public static List<Event> events(int count, int participants, long seed) {
+        Random random = new Random(seed);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Event event = new Event(Samples.words(random, 1 + random.nextInt(3), 30),
+                    Samples.words(random, 10 + random.nextInt(120), 1000),
+                    START.plusMinutes(random.nextInt(365 * 24 * 60)),
+                    new Geolocation(47.3 + random.nextDouble() * 7.7, 5.9 + random.nextDouble() * 9.1),
+                    participants + random.nextInt(participants + 1), Samples.uuid(random));
+            event.setID(Samples.uuid(random));
+            for (int p = 0; p < participants; p++) {
+                UUID participant = Samples.uuid(random);
+                event.addParticipant(participant);
+                if (random.nextBoolean()) {
+                    event.rate(participant, 1 + random.nextInt(5));
+                }
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Generates users, about one in ten of them organizers.
+     *
+     * @param count the number of users
+     * @param seed  the seed, the same seed gives the same users
+     * @return the users
+     */
+    public static List<User> users(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = Samples.FIRST_NAMES[random.nextInt(Samples.FIRST_NAMES.length)];
+            String lastName = Samples.LAST_NAMES[random.nextInt(Samples.LAST_NAMES.length)];
+            User user = new User(firstName, lastName, Samples.email(firstName, lastName, i), null,
+                    random.nextInt(10) == 0);
+            user.setID(Samples.uuid(random));
+            user.setPasswordHash(Samples.passwordHash(random));
+            users.add(user);
+        }
+        return users;
+    }
+
+    public static List<UserDTO> userDTOs(List<User> users) {
+        List<UserDTO> dtos = new ArrayList<>(users.size());
+        for (User user : users) {
+            dtos.add(new UserDTO(user));
+        }
+        return dtos;
+    }
+
+    /**
+     * Serializes the value the way the services do when they call each other.
+     */
+    public static String toJson(Object value) {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package dev.benchmarks.data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.Geolocation;
+import dev.repoplaner.model.User;
+
+/**
+ * Generates reproducible events and users of the repository model, shaped like
+ * {@link GatewayData}.
+ */
+public final class RepositoryData {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private RepositoryData() {
+    }
+
+    /**
+     * Generates events with the given number of participants each.
+     *
+     * @param count        the number of events
+     * @param participants the participants per event
+     * @param seed         the seed, the same seed gives the same events
+     * @return the events
+     */
+    public static List<Event> events(int count, int participants, long seed) {
+        Random random = new Random(seed);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(event(random, participants));
+        }
+        return events;
+    }
+
+    /**
+     * Generates one event with the given number of participants.
+     */
+    public static Event event(Random random, int participants) {
+        Event event = new Event(Samples.words(random, 1 + random.nextInt(3), 30),
+                Samples.words(random, 10 + random.nextInt(120), 1000),
+                START.plusMinutes(random.nextInt(365 * 24 * 60)),
+                new Geolocation(47.3 + random.nextDouble() * 7.7, 5.9 + random.nextDouble() * 9.1),
+                participants + random.nextInt(participants + 1), Samples.uuid(random));
+        event.setID(Samples.uuid(random));
+        for (int p = 0; p < participants; p++) {
+            UUID participant = Samples.uuid(random);
+            event.addParticipant(participant);
+            if (random.nextBoolean()) {
+                event.rate(participant, 1 + random.nextInt(5));
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Generates users with unique email addresses, about one in ten of them
+     * organizers.
+     *
+     * @param count the number of users
+     * @param seed  the seed, the same seed gives the same users
+     * @return the users
+     */
+    public static List<User> users(int count, long seed) {
+        Random random = new Random(seed);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = Samples.FIRST_NAMES[random.nextInt(Samples.FIRST_NAMES.length)];
+            String lastName = Samples.LAST_NAMES[random.nextInt(Samples.LAST_NAMES.length)];
+            users.add(new User(firstName, lastName, Samples.email(firstName, lastName, i),
+                    Samples.passwordHash(random), random.nextInt(10) == 0).setID(Samples.uuid(random)));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,56 @@
+package dev.benchmarks.data;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The words and names the generated data is made of.
+ */
+final class Samples {
+
+    static final String[] FIRST_NAMES = { "Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hannah",
+            "Jonas", "Lena", "Lukas", "Marie", "Noah", "Sophie", "Tim" };
+    static final String[] LAST_NAMES = { "Schmidt", "Mueller", "Schneider", "Fischer", "Weber", "Meyer",
+            "Wagner", "Becker", "Schulz", "Hoffmann", "Koch", "Richter" };
+
+    private static final String[] WORDS = { "summer", "open", "air", "meetup", "java", "spring", "night", "run",
+            "city", "workshop", "festival", "jazz", "market", "hackathon", "tour", "cinema", "garden", "board",
+            "games", "talk" };
+
+    private Samples() {
+    }
+
+    static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    /**
+     * Returns up to count random words, cut off before maxLength characters.
+     */
+    static String words(Random random, int count, int maxLength) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (text.length() + word.length() + 1 > maxLength) {
+                break;
+            }
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(word);
+        }
+        return text.toString();
+    }
+
+    static String email(String firstName, String lastName, int i) {
+        return (firstName + "." + lastName + i + "@example.org").toLowerCase();
+    }
+
+    /**
+     * Returns a string shaped like a BCrypt hash, which is 60 characters.
+     */
+    static String passwordHash(Random random) {
+        String hash = "$2a$10$" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+        return hash + "x".repeat(60 - hash.length());
+    }
+}
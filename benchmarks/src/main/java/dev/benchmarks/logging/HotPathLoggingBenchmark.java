@@ -0,0 +1,162 @@
+package dev.benchmarks.logging;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import dev.eventplaner.logging.HotPathLogFilter;
+
+/**
+ * Measures the logging of a getAllDTO call: the whole payload logged
+ * synchronously at INFO as before, and the setup of logback-spring.xml with
+ * the asynchronous appender and the HotPathLogFilter, which every service
+ * ships. The console output is formatted and discarded, so only the cost of
+ * logging is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathLoggingBenchmark {
+
+    private static final String LOGGER = "dev.benchmarks.service.EventService";
+    private static final Marker PAYLOAD = MarkerFactory.getMarker(HotPathLogFilter.PAYLOAD);
+
+    @State(Scope.Benchmark)
+    public static class Payload {
+
+        @Param({ "10", "200" })
+        private int events;
+
+        private List<String> lines;
+        private String body;
+
+        @Setup
+        public void setUp() {
+            lines = new ArrayList<>();
+            for (int i = 0; i < events; i++) {
+                lines.add("Event{ID=" + i + ", name='Meetup " + i + "', description='Monthly meetup of the group', "
+                        + "organizer=" + i + ", participants=[]}");
+            }
+            body = String.join(",", lines);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Synchronous {
+
+        private LoggerContext context;
+        private Logger log;
+
+        @Setup
+        public void setUp() {
+            context = new LoggerContext();
+            log = logger(context, console(context));
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Filtered {
+
+        private LoggerContext context;
+        private Logger log;
+
+        @Setup
+        public void setUp() {
+            context = new LoggerContext();
+            HotPathLogFilter filter = new HotPathLogFilter();
+            filter.setContext(context);
+            filter.setLoggers("dev.benchmarks.service");
+            filter.setMaxPerSecond(50);
+            filter.start();
+            context.addTurboFilter(filter);
+            log = logger(context, async(context, console(context)));
+        }
+
+        @TearDown
+        public void tearDown() {
+            context.stop();
+        }
+    }
+
+    @Benchmark
+    public void synchronousInfo(Synchronous logging, Payload payload) {
+        logging.log.info("get all Events as DTO");
+        logging.log.info("values: {}", payload.body);
+        for (String event : payload.lines) {
+            logging.log.info("Event: {}", event);
+        }
+    }
+
+    @Benchmark
+    public void asyncFiltered(Filtered logging, Payload payload) {
+        logging.log.info("get all Events as DTO");
+        if (logging.log.isDebugEnabled(PAYLOAD)) {
+            logging.log.debug(PAYLOAD, "values: {}", payload.body);
+            for (String event : payload.lines) {
+                logging.log.debug(PAYLOAD, "Event: {}", event);
+            }
+        }
+    }
+
+    private static Logger logger(LoggerContext context, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(LOGGER);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private static Appender<ILoggingEvent> console(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private static Appender<ILoggingEvent> async(LoggerContext context, Appender<ILoggingEvent> console) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(8192);
+        appender.setNeverBlock(true);
+        appender.addAppender(console);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,62 @@
+package dev.benchmarks.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import dev.eventplaner.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Measures hashing a password once, as the gateway does when a user is
+ * created: on the hashing pool and on the calling thread, as the bulk import
+ * does. The difference between the two is the hand-off to the pool; the rest
+ * is the BCrypt cost, which doubles with every step of the cost factor.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Hashing {
+
+        /**
+         * The BCrypt cost factor, 10 is the gateway's default.
+         */
+        @Param({ "8", "10", "12" })
+        private int cost;
+
+        private PasswordHasher hasher;
+        private BCryptPasswordEncoder encoder;
+
+        @Setup
+        public void setUp() {
+            hasher = new PasswordHasher(cost, 1, 64, new SimpleMeterRegistry());
+            encoder = new BCryptPasswordEncoder(cost);
+        }
+    }
+
+    @Benchmark
+    public String hashOnPool(Hashing hashing) {
+        return hashing.hasher.hash("secret");
+    }
+
+    @Benchmark
+    public String encodeOnCaller(Hashing hashing) {
+        return hashing.encoder.encode("secret");
+    }
+}
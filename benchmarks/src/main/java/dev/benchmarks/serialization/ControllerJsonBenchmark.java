@@ -0,0 +1,126 @@
+package dev.benchmarks.serialization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import dev.benchmarks.data.GatewayData;
+import dev.eventplaner.model.Event;
+import dev.eventplaner.model.UserDTO;
+import dev.eventplaner.profiling.JfrJacksonConverter;
+
+/**
+ * Measures writing response bodies through the gateway's message converter
+ * with the ObjectMapper settings of Spring Boot, as the controllers do when
+ * they return events or users.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ControllerJsonBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Events {
+
+        /**
+         * The number of events times the participants of each event.
+         */
+        @Param({ "1x10", "1x10000", "100x1000", "10000x100", "100000x10" })
+        private String shape;
+
+        private List<Event> events;
+
+        @Setup
+        public void setUp() {
+            String[] counts = shape.split("x");
+            events = GatewayData.events(Integer.parseInt(counts[0]), Integer.parseInt(counts[1]), 42);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Users {
+
+        @Param({ "1", "1000", "100000" })
+        private int users;
+
+        private List<UserDTO> dtos;
+
+        @Setup
+        public void setUp() {
+            dtos = GatewayData.userDTOs(GatewayData.users(users, 42));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Converter {
+
+        private final JfrJacksonConverter converter = new JfrJacksonConverter(Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build());
+        private final Body body = new Body();
+
+        int write(Object value) throws IOException {
+            body.reset();
+            converter.write(value, null, MediaType.APPLICATION_JSON, body);
+            return body.size();
+        }
+    }
+
+    @Benchmark
+    public int writeEvents(Events events, Converter converter) throws IOException {
+        return converter.write(events.events);
+    }
+
+    @Benchmark
+    public int writeUsers(Users users, Converter converter) throws IOException {
+        return converter.write(users.dtos);
+    }
+
+    /**
+     * A response body kept in memory and reused between invocations, so only
+     * the serialization allocates.
+     */
+    private static final class Body extends ByteArrayOutputStream implements HttpOutputMessage {
+
+        private HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return this;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            headers = new HttpHeaders();
+        }
+    }
+}
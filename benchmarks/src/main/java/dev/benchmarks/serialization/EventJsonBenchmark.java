@@ -0,0 +1,66 @@
+package dev.benchmarks.serialization;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.benchmarks.data.GatewayData;
+import dev.eventplaner.model.Event;
+
+/**
+ * Measures parsing events as the gateway does with the responses of the event
+ * service, from a single event up to 100,000 events.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class EventJsonBenchmark {
+
+    /**
+     * The number of events times the participants of each event. The total is
+     * kept at or below a million participants, few large events or many small
+     * ones.
+     */
+    @Param({ "1x10", "1x10000", "100x1000", "10000x100", "100000x10" })
+    private String shape;
+
+    private String eventsJson;
+    private String eventJson;
+
+    @Setup
+    public void setUp() {
+        String[] counts = shape.split("x");
+        List<Event> events = GatewayData.events(Integer.parseInt(counts[0]), Integer.parseInt(counts[1]), 42);
+        eventsJson = GatewayData.toJson(events);
+        eventJson = GatewayData.toJson(events.get(0));
+    }
+
+    @Benchmark
+    public Collection<Event> collectionFromJson() {
+        return Event.collectionFromJson(eventsJson);
+    }
+
+    /**
+     * Parses the first event of the shape, so the participants of the single
+     * event vary from 10 to 10,000.
+     */
+    @Benchmark
+    public Event eventFromJson() {
+        return Event.eventFromJson(eventJson);
+    }
+}
@@ -0,0 +1,57 @@
+package dev.benchmarks.serialization;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.benchmarks.data.GatewayData;
+import dev.eventplaner.model.User;
+import dev.eventplaner.model.UserDTO;
+
+/**
+ * Measures parsing users and user DTOs as the gateway does with the responses
+ * of the user service.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Benchmark)
+public class UserJsonBenchmark {
+
+    @Param({ "1", "1000", "100000" })
+    private int users;
+
+    private String usersJson;
+    private String userDTOsJson;
+
+    @Setup
+    public void setUp() {
+        List<User> generated = GatewayData.users(users, 42);
+        usersJson = GatewayData.toJson(generated);
+        userDTOsJson = GatewayData.toJson(GatewayData.userDTOs(generated));
+    }
+
+    @Benchmark
+    public Collection<User> collectionFromJson() {
+        return User.collectionFromJson(usersJson);
+    }
+
+    @Benchmark
+    public Collection<UserDTO> collectionFromJsonUserDTO() {
+        return UserDTO.collectionFromJsonUserDTO(userDTOsJson);
+    }
+}
@@ -0,0 +1,85 @@
+package dev.benchmarks.storage;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.benchmarks.data.RepositoryData;
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.User;
+import dev.repoplaner.service.RepositoryService;
+
+/**
+ * Measures many threads joining and leaving the same event, the contention of
+ * a popular event opening its registration. Every thread has its own user, so
+ * each operation succeeds and all threads compete for the one event. The
+ * event has room for everyone, so nobody is waitlisted.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Threads(8)
+public class HotEventBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class HotEvent {
+
+        /**
+         * The participants the event already has, which every join and leave
+         * copies.
+         */
+        @Param({ "10", "1000", "10000" })
+        private int participants;
+
+        private InProcessRepository repository;
+        private RepositoryService service;
+        private Event event;
+
+        @Setup
+        public void setUp() {
+            repository = new InProcessRepository();
+            service = repository.service();
+            event = RepositoryData.event(new Random(42), participants).setMaxParticipants(Integer.MAX_VALUE);
+            service.putEvent(event);
+        }
+
+        @TearDown
+        public void tearDown() {
+            repository.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Participant {
+
+        private User user;
+
+        @Setup
+        public void setUp(HotEvent hotEvent) {
+            long thread = Thread.currentThread().getId();
+            User generated = RepositoryData.users(1, thread).get(0);
+            user = hotEvent.service.putUser(generated.setEmail(thread + "." + generated.getEmail()));
+        }
+    }
+
+    @Benchmark
+    public Event joinAndLeave(HotEvent hotEvent, Participant participant) {
+        hotEvent.service.addParticipant(hotEvent.event.getID(), participant.user.getID());
+        return hotEvent.service.removeParticipant(hotEvent.event.getID(), participant.user.getID());
+    }
+}
@@ -0,0 +1,33 @@
+package dev.benchmarks.storage;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import dev.repoplaner.repository.EventRepository;
+import dev.repoplaner.repository.UserRepository;
+import dev.repoplaner.service.RepositoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Wires the repository service with its stores in a plain application
+ * context, without the web server, security or the seed data, so the
+ * benchmarks call the service directly in the benchmark JVM.
+ */
+final class InProcessRepository implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+
+    InProcessRepository() {
+        context.registerBean(SimpleMeterRegistry.class);
+        context.register(EventRepository.class, UserRepository.class, RepositoryService.class);
+        context.refresh();
+    }
+
+    RepositoryService service() {
+        return context.getBean(RepositoryService.class);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,105 @@
+package dev.benchmarks.storage;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.benchmarks.data.RepositoryData;
+import dev.repoplaner.model.Event;
+import dev.repoplaner.service.RepositoryService;
+
+/**
+ * Measures iterating all events with getAllEvents, once alone and once while
+ * other threads keep putting and deleting events, as happens when the event
+ * list is requested during normal traffic.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@State(Scope.Group)
+public class IterationUnderWritesBenchmark {
+
+    @Param({ "10000", "100000" })
+    private int events;
+
+    private InProcessRepository repository;
+    private RepositoryService service;
+    private Event[] templates;
+
+    @Setup
+    public void setUp() {
+        repository = new InProcessRepository();
+        service = repository.service();
+        templates = RepositoryData.events(events, 10, 42).toArray(new Event[0]);
+        for (Event event : templates) {
+            service.putEvent(new Event(event));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    /**
+     * Iterates all events without concurrent writes, as the baseline.
+     */
+    @Benchmark
+    @Threads(1)
+    public long iterateAlone() {
+        return iterate();
+    }
+
+    @Benchmark
+    @Group("underWrites")
+    @GroupThreads(1)
+    public long iterateUnderWrites() {
+        return iterate();
+    }
+
+    /**
+     * Replaces or deletes a random event; a deleted event is put back by a
+     * later write.
+     */
+    @Benchmark
+    @Group("underWrites")
+    @GroupThreads(3)
+    public Event write(Writer writer) {
+        Event event = templates[writer.random.nextInt(templates.length)];
+        if (writer.random.nextInt(4) == 0) {
+            return service.deleteEvent(event.getID());
+        }
+        return service.putEvent(new Event(event));
+    }
+
+    private long iterate() {
+        long participants = 0;
+        for (Event event : service.getAllEvents()) {
+            participants += event.getParticipants().size();
+        }
+        return participants;
+    }
+}
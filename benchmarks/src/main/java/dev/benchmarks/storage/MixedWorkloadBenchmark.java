@@ -0,0 +1,116 @@
+package dev.benchmarks.storage;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.benchmarks.data.RepositoryData;
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.User;
+import dev.repoplaner.service.RepositoryService;
+
+/**
+ * Measures gets, puts and deletes of events and users mixed at a configurable
+ * read ratio. Writes are split evenly between puts and deletes of random keys
+ * of a fixed key space, so the stores settle at about half the key space and
+ * some gets miss, as they do in the service. The thread count is set with the
+ * JMH option -t, for example -t 1 and -t 8 to see how the stores scale.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+@Threads(4)
+public class MixedWorkloadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Store {
+
+        @Param({ "10000", "100000" })
+        private int keys;
+
+        /**
+         * The percentage of operations that are gets.
+         */
+        @Param({ "50", "90", "99" })
+        private int readPercent;
+
+        private InProcessRepository repository;
+        private RepositoryService service;
+        private Event[] events;
+        private User[] users;
+
+        @Setup
+        public void setUp() {
+            repository = new InProcessRepository();
+            service = repository.service();
+            events = RepositoryData.events(keys, 10, 42).toArray(new Event[0]);
+            users = RepositoryData.users(keys, 42).toArray(new User[0]);
+            for (Event event : events) {
+                service.putEvent(new Event(event));
+            }
+            for (User user : users) {
+                service.putUser(copy(user));
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            repository.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Operations {
+
+        private final SplittableRandom random = new SplittableRandom();
+    }
+
+    @Benchmark
+    public Object events(Store store, Operations operations) {
+        SplittableRandom random = operations.random;
+        Event event = store.events[random.nextInt(store.events.length)];
+        if (random.nextInt(100) < store.readPercent) {
+            return store.service.getEvent(event.getID());
+        }
+        if (random.nextBoolean()) {
+            return store.service.putEvent(new Event(event));
+        }
+        return store.service.deleteEvent(event.getID());
+    }
+
+    @Benchmark
+    public Object users(Store store, Operations operations) {
+        SplittableRandom random = operations.random;
+        User user = store.users[random.nextInt(store.users.length)];
+        if (random.nextInt(100) < store.readPercent) {
+            return store.service.getUser(user.getID());
+        }
+        if (random.nextBoolean()) {
+            return store.service.putUser(copy(user));
+        }
+        return store.service.deleteUser(user.getID());
+    }
+
+    /**
+     * Copies a user, as every request to the service brings its own instance.
+     */
+    static User copy(User user) {
+        return new User(user.getFirstName(), user.getLastName(), user.getEmail(), user.getPasswordHash(),
+                user.isOrganizer()).setID(user.getID());
+    }
+}
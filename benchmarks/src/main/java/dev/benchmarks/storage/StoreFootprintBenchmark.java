@@ -0,0 +1,89 @@
+package dev.benchmarks.storage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.benchmarks.data.RepositoryData;
+import dev.repoplaner.model.MemoryReport;
+
+/**
+ * Fills an empty repository and reports the bytes per stored event: the heap
+ * actually retained by the store and its indexes, measured around a full GC,
+ * next to the estimates of the memory report for the store and the indexes.
+ * The time includes generating the events and the GCs; the counters are the
+ * result.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Threads(1)
+public class StoreFootprintBenchmark {
+
+    @Param({ "10000", "100000" })
+    private int events;
+
+    @Param({ "10", "100" })
+    private int participants;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BytesPerEvent {
+
+        public double retainedBytesPerEvent;
+        public double estimatedBytesPerEvent;
+        public double indexBytesPerEvent;
+
+        private InProcessRepository repository;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            if (repository != null) {
+                repository.close();
+            }
+            repository = new InProcessRepository();
+        }
+    }
+
+    @Benchmark
+    public MemoryReport fill(BytesPerEvent bytes) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+
+        Random random = new Random(42);
+        for (int i = 0; i < events; i++) {
+            bytes.repository.service().putEvent(RepositoryData.event(random, participants));
+        }
+
+        memory.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        MemoryReport report = bytes.repository.service().getMemoryReport(0);
+        long indexBytes = 0;
+        for (long index : report.getIndexBytes().values()) {
+            indexBytes += index;
+        }
+        bytes.retainedBytesPerEvent = (double) (after - before) / events;
+        bytes.estimatedBytesPerEvent = (double) report.getBytesPerEvent();
+        bytes.indexBytesPerEvent = (double) indexBytes / events;
+        return report;
+    }
+}
@@ -0,0 +1,65 @@
+package dev.benchmarks.storage;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.benchmarks.data.RepositoryData;
+import dev.repoplaner.model.User;
+import dev.repoplaner.service.RepositoryService;
+
+/**
+ * Measures the type-ahead user search by name, reporting the latency
+ * percentiles. The generated users share a few first and last names, so every
+ * name word matches many users and each search examines as many candidates as
+ * it is allowed to. The queries are a short prefix, two terms, a typo that
+ * only the trigram index finds and two terms that match nobody.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@Threads(1)
+@State(Scope.Benchmark)
+public class UserSearchBenchmark {
+
+    @Param({ "100000", "1000000" })
+    private int users;
+
+    @Param({ "an", "anna sch", "hofman", "anna xyz" })
+    private String query;
+
+    private InProcessRepository repository;
+    private RepositoryService service;
+
+    @Setup
+    public void setUp() {
+        repository = new InProcessRepository();
+        service = repository.service();
+        service.load(RepositoryData.users(users, 42), List.of());
+    }
+
+    @TearDown
+    public void tearDown() {
+        repository.close();
+    }
+
+    @Benchmark
+    public List<User> search() {
+        return service.searchUsers(query, 10);
+    }
+}
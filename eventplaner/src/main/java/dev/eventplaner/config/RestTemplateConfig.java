@@ -0,0 +1,40 @@
+package dev.eventplaner.config;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class RestTemplateConfig {
+
+    /**
+     * Creates the RestTemplate for calls to the event service. Templates built
+     * by the RestTemplateBuilder record the latency of every request, so the
+     * calls show up in the http.client.requests metrics tagged with
+     * service=eventservice.
+     *
+     * @param builder The builder configured by Spring Boot.
+     * @return The RestTemplate for the event service.
+     */
+    @Bean
+    public RestTemplate eventServiceRestTemplate(RestTemplateBuilder builder) {
+        RestTemplate restTemplate = builder.build();
+        restTemplate.setObservationConvention(new DownstreamObservationConvention("eventservice"));
+        return restTemplate;
+    }
+
+    /**
+     * Creates the RestTemplate for calls to the user service, tagged with
+     * service=userservice.
+     *
+     * @param builder The builder configured by Spring Boot.
+     * @return The RestTemplate for the user service.
+     */
+    @Bean
+    public RestTemplate userServiceRestTemplate(RestTemplateBuilder builder) {
+        RestTemplate restTemplate = builder.build();
+        restTemplate.setObservationConvention(new DownstreamObservationConvention("userservice"));
+        return restTemplate;
+    }
+}
@@ -1,13 +1,18 @@
 package dev.eventplaner.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +22,19 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import dev.eventplaner.model.ImportReport;
 import dev.eventplaner.model.User;
 import dev.eventplaner.model.UserDTO;
 import dev.eventplaner.model.Event;
+import dev.eventplaner.model.LoginRequest;
+import dev.eventplaner.model.RatingEntry;
+import dev.eventplaner.security.PasswordHasher;
 import dev.eventplaner.service.EventService;
+import dev.eventplaner.service.UserImportService;
 import dev.eventplaner.service.UserService;
 import org.springframework.web.bind.annotation.PutMapping;
 
@@ -39,6 +51,31 @@ public class ApiController {
     private EventService eventService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private UserImportService userImportService;
+
+    /**
+     * Hashes the plain password of a user on the password hashing pool, so
+     * only the hash is passed on to the user service.
+     *
+     * @param user The user whose password is to be hashed.
+     * @return null if the password was hashed or no password was given, or a
+     *         too many requests response if the hashing pool is saturated.
+     */
+    private ResponseEntity<?> hashPassword(User user) {
+        if (user.getPassword() == null) {
+            return null;
+        }
+        try {
+            user.setPasswordHash(passwordHasher.hash(user.getPassword()));
+            return null;
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing pool saturated, rejecting user {}", user.getID());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body("Too many requests, try again later.");
+        }
+    }
 
     /**
      * Retrieves all users.
@@ -58,6 +95,41 @@ public class ApiController {
         return response;
     }
 
+    /**
+     * Searches users by name for type-ahead lookups.
+     *
+     * Mapped to a GET request at '/users/search'. Every term of the query must
+     * match the start of a first or last name; users with similar names are
+     * added if there are not enough matches.
+     *
+     * @param q     The search terms.
+     * @param limit The maximum number of users to return.
+     * @return ResponseEntity containing the matching users in JSON format.
+     */
+    @GetMapping(value = "users/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> searchUsers(@RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        log.info("GET localhost:8080/users/search?q={}&limit={} -> searchUsers() is called", q, limit);
+
+        return userService.search(q, limit);
+    }
+
+    /**
+     * Retrieves a user's details based on their email address.
+     *
+     * Mapped to a GET request at '/users/by-email/{email}'. The lookup ignores
+     * case. The response is in JSON format.
+     *
+     * @param email The email address of the user.
+     * @return ResponseEntity containing the user's details in JSON format.
+     */
+    @GetMapping(value = "users/by-email/{email}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getUserByEmail(@PathVariable("email") String email) {
+        log.info("GET localhost:8080/users/by-email -> getUserByEmail() is called");
+
+        return userService.getUserByEmail(email);
+    }
+
     /**
      * Retrieves a user's details based on their UUID.
      *
@@ -77,11 +149,59 @@ public class ApiController {
         return response;
     }
 
+    /**
+     * Retrieves the events a user participates in or organizes.
+     *
+     * Mapped to a GET request at '/users/{userID}/events', this method returns
+     * the events of the user ordered by date. The events are looked up through
+     * the repository's membership index instead of scanning all events.
+     *
+     * @param userID The UUID of the user whose events are to be retrieved.
+     * @param role   Either 'participant' or 'organizer'.
+     * @param from   The earliest date of the returned events in ISO format,
+     *               optional.
+     * @param limit  The maximum number of events to return.
+     * @return ResponseEntity containing the events in JSON format, or the
+     *         corresponding error response.
+     */
+    @GetMapping(value = "users/{userID}/events", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getUserEvents(@PathVariable("userID") UUID userID,
+            @RequestParam(value = "role", defaultValue = "participant") String role,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.info("GET localhost:8080/users/{}/events?role={} -> getUserEvents({}, {}) is called", userID, role, userID,
+                role);
+
+        return userService.getUserEvents(userID, role, from, limit);
+    }
+
+    /**
+     * Verifies the credentials of a user.
+     *
+     * Mapped to the POST request at '/auth/login', this method passes the login
+     * on to the user service, which verifies the password on a separate
+     * fixed-size pool. When that pool is saturated, the login is rejected with
+     * HttpStatus.TOO_MANY_REQUESTS instead of delaying other traffic; after too
+     * many failed logins the account is locked for a while.
+     *
+     * @param login The email address and password of the user.
+     * @return ResponseEntity containing the ID of the user if the login is valid,
+     *         or the corresponding error response.
+     */
+    @PostMapping(value = "auth/login", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> login(@RequestBody LoginRequest login) {
+        log.info("POST localhost:8080/auth/login -> login() is called");
+
+        return userService.login(login);
+    }
+
     /**
      * Creates a new user.
      *
      * Mapped to the POST request at '/users', this method creates a new user with
      * the details provided in the request body. It consumes and produces JSON.
+     * The password is hashed here once, on the password hashing pool, and only
+     * the hash is passed on.
      *
      * @param user The User object containing the information for the new user.
      * @return ResponseEntity representing the outcome of the user creation
@@ -92,9 +212,40 @@ public class ApiController {
         String fullname = user.getFirstName() + " " + user.getLastName();
         log.info("POST localhost:8080/users -> createUser(Name: {}) is called", fullname);
 
+        ResponseEntity<?> rejected = hashPassword(user);
+        if (rejected != null) {
+            return rejected;
+        }
         return userService.create(user);
     }
 
+    /**
+     * Imports many users from a stream.
+     *
+     * Mapped to the POST request at '/users:import', this method reads NDJSON
+     * (one user object per line) or CSV (with a header line naming the columns)
+     * from the request body. Lines are validated and their passwords hashed in
+     * parallel, and the users are created in batches. The stream is processed
+     * in chunks, so its size is not limited by memory.
+     *
+     * @param contentType Either 'application/x-ndjson' or 'text/csv'.
+     * @param body        The stream of users.
+     * @return ResponseEntity containing the per-line errors and a throughput
+     *         summary.
+     * @throws IOException          If the stream cannot be read.
+     * @throws InterruptedException If the import is interrupted.
+     */
+    @PostMapping(value = "users:import", consumes = { MediaType.APPLICATION_NDJSON_VALUE,
+            UserImportService.CSV }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReport> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException, InterruptedException {
+        log.info("POST localhost:8080/users:import -> importUsers({}) is called", contentType);
+        boolean csv = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(MediaType.parseMediaType(UserImportService.CSV));
+
+        return ResponseEntity.ok(userImportService.importUsers(body, csv));
+    }
+
     /**
      * Replaces a user with updated information.
      *
@@ -110,6 +261,10 @@ public class ApiController {
     public ResponseEntity<?> replaceUser(@PathVariable("userID") UUID userID, @RequestBody User user) {
         String fullname = user.getFirstName() + " " + user.getLastName();
         log.info("PUT localhost:8080/users/{} -> replaceUser({}, Name: {}) is called", userID, userID, fullname);
+        ResponseEntity<?> rejected = hashPassword(user);
+        if (rejected != null) {
+            return rejected;
+        }
         ResponseEntity<?> response = userService.replace(user.setID(userID));
 
         return response;
@@ -134,6 +289,10 @@ public class ApiController {
     public ResponseEntity<?> updateUser(@PathVariable("userID") UUID userID, @RequestBody User user) {
         String fullname = user.getFirstName() + " " + user.getLastName();
         log.info("PATCH localhost:8080/users/{} -> updateUser({}, Name: {}) is called", userID, userID, fullname);
+        ResponseEntity<?> rejected = hashPassword(user);
+        if (rejected != null) {
+            return rejected;
+        }
         ResponseEntity<?> response = userService.update(user.setID(userID));
 
         return response;
@@ -250,7 +409,8 @@ public class ApiController {
      * Mapped to the PUT request at '/events/{eventID}/add/{userID}',
      * adds the specified user
      * as a participant to the specified event. It checks if the user exists before
-     * adding to the event.
+     * adding to the event. If the event is full, the user is put on the event's
+     * waitlist and the waitlist position is returned with HttpStatus.ACCEPTED.
      *
      * @param eventID The UUID of the event to add the participant to.
      * @param userID  The UUID of the user to be added as a participant.
@@ -280,7 +440,9 @@ public class ApiController {
      *
      * Mapped to the DELETE request at '/users/{userID}', this method removes the
      * specified user.
-     * It first removes the user from all events and then deletes the user record.
+     * The repository removes the user's participation, ratings and waitlist
+     * places from all events in the same operation and returns the affected
+     * counts.
      *
      * @param userID The UUID of the user to be deleted.
      * @return ResponseEntity reflecting the outcome of the delete operation.
@@ -289,7 +451,6 @@ public class ApiController {
     public ResponseEntity<?> deleteUser(@PathVariable("userID") UUID userID) {
         log.info("PUT localhost:8080/users/{} -> deleteUser({})", userID, userID);
 
-        eventService.removeUserFromAllEvents(userID);
         ResponseEntity<?> response = userService.delete(userID);
 
         return response;
@@ -401,4 +562,188 @@ public class ApiController {
 
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * Adds many users as participants to an event in one request.
+     *
+     * Mapped to the POST request at '/events/{eventID}/participants:batch', this
+     * method takes a list of user IDs and admits them to the event in one atomic
+     * repository operation, in the given order, as long as the event has free
+     * places. The response lists which users were admitted and why others were
+     * rejected.
+     *
+     * @param eventID The UUID of the event to add the participants to.
+     * @param userIDs The UUIDs of the users to be added as participants.
+     * @return A ResponseEntity containing the result for every user in JSON
+     *         format, or the corresponding error response if the event is not
+     *         found or the batch is invalid.
+     */
+    @PostMapping(value = "events/{eventID}/participants:batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> addParticipantBatch(@PathVariable("eventID") UUID eventID,
+            @RequestBody List<UUID> userIDs) {
+        log.info("POST localhost:8080/events/{}/participants:batch -> addParticipantBatch({}, {} users) is called",
+                eventID, eventID, userIDs.size());
+
+        return eventService.addUsers(eventID, userIDs);
+    }
+
+    /**
+     * Rates an event by many users in one request.
+     *
+     * Mapped to the POST request at '/events/{eventID}/ratings:batch', this
+     * method takes a list of user IDs and ratings and applies them to the event
+     * in one atomic repository operation. Every rating is validated on its own;
+     * the response lists which ratings were applied and why others were rejected.
+     *
+     * @param eventID The UUID of the event to be rated.
+     * @param ratings The user IDs and ratings to be applied.
+     * @return A ResponseEntity containing the result of every rating in JSON
+     *         format, or the corresponding error response if the event is not
+     *         found or the batch is invalid.
+     */
+    @PostMapping(value = "events/{eventID}/ratings:batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> rateEventBatch(@PathVariable("eventID") UUID eventID,
+            @RequestBody List<RatingEntry> ratings) {
+        log.info("POST localhost:8080/events/{}/ratings:batch -> rateEventBatch({}, {} ratings) is called", eventID,
+                eventID, ratings.size());
+
+        return eventService.addRatings(eventID, ratings);
+    }
+
+    /**
+     * Searches events by text.
+     *
+     * Mapped to the GET request at '/events/search', this method returns the
+     * events whose name or description contain the query terms, ranked by
+     * relevance. Names weigh more than descriptions. The search is served from
+     * the repository's full-text index.
+     *
+     * @param q     The search text.
+     * @param limit The maximum number of events to return, between 1 and 100.
+     * @return A ResponseEntity containing the matching events in JSON format, or
+     *         a bad request response if the limit is invalid.
+     */
+    @GetMapping(value = "events/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> searchEvents(@RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.info("GET localhost:8080/events/search?q={}&limit={} -> searchEvents() is called", q, limit);
+
+        return eventService.search(q, limit);
+    }
+
+    /**
+     * Retrieves the top ranked events.
+     *
+     * Mapped to the GET request at '/events/top', this method returns the k
+     * highest rated events (only events with a minimum number of ratings are
+     * ranked) or the k events with the most participants. The ranking is
+     * maintained incrementally by the repository, so no events are scanned.
+     *
+     * @param by The ranking criterion, either 'rating' or 'participants'.
+     * @param k  The number of events to be returned, between 1 and 100.
+     * @return A ResponseEntity containing the ranked events in JSON format, or a
+     *         bad request response if the parameters are invalid.
+     */
+    @GetMapping(value = "events/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getTopEvents(@RequestParam(value = "by", defaultValue = "rating") String by,
+            @RequestParam(value = "k", defaultValue = "10") int k) {
+        log.info("GET localhost:8080/events/top?by={}&k={} -> getTopEvents({}, {}) is called", by, k, by, k);
+
+        return eventService.getTopEvents(by, k);
+    }
+
+    /**
+     * Retrieves the rating distribution of a specific event.
+     *
+     * Mapped to the GET request at '/events/{eventID}/ratings/summary', this
+     * method returns the 1-5 star distribution, average, median, percentiles and
+     * the number of ratings submitted within the last hour. The summary is
+     * computed by the repository from the event's rating histogram.
+     *
+     * @param eventID The UUID of the event whose ratings are summarized.
+     * @return A ResponseEntity containing the rating summary in JSON format, or
+     *         the corresponding error response if the event is not found.
+     */
+    @GetMapping(value = "events/{eventID}/ratings/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getRatingSummary(@PathVariable("eventID") UUID eventID) {
+        log.info("GET localhost:8080/events/{}/ratings/summary -> getRatingSummary({}) is called", eventID, eventID);
+
+        return eventService.getRatingSummary(eventID);
+    }
+
+    /**
+     * Retrieves the rating distribution over all events.
+     *
+     * Mapped to the GET request at '/events/ratings/summary', this method returns
+     * the merged rating histogram of all events together with the derived
+     * statistics.
+     *
+     * @return A ResponseEntity containing the merged rating summary in JSON format.
+     */
+    @GetMapping(value = "events/ratings/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getRatingSummary() {
+        log.info("GET localhost:8080/events/ratings/summary -> getRatingSummary() is called");
+
+        return eventService.getRatingSummary();
+    }
+
+    /**
+     * Retrieves the waitlist of an event.
+     *
+     * Mapped to the GET request at '/events/{eventID}/waitlist', this method
+     * returns the IDs of the users waiting for a seat of the event in the order
+     * in which they will be admitted.
+     *
+     * @param eventID The UUID of the event whose waitlist is retrieved.
+     * @return A ResponseEntity containing the waiting users in JSON format, or
+     *         the corresponding error response if the event is not found.
+     */
+    @GetMapping(value = "events/{eventID}/waitlist", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getWaitlist(@PathVariable("eventID") UUID eventID) {
+        log.info("GET localhost:8080/events/{}/waitlist -> getWaitlist({}) is called", eventID, eventID);
+
+        return eventService.getWaitlist(eventID);
+    }
+
+    /**
+     * Retrieves the waitlist position of a user.
+     *
+     * Mapped to the GET request at '/events/{eventID}/waitlist/{userID}', this
+     * method returns the 1-based position of the user on the waitlist of the
+     * event, so clients can poll their position instead of retrying to join.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return A ResponseEntity containing the waitlist position in JSON format, or
+     *         the corresponding error response if the event is not found or the
+     *         user is not waiting.
+     */
+    @GetMapping(value = "events/{eventID}/waitlist/{userID}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getWaitlistPosition(@PathVariable("eventID") UUID eventID,
+            @PathVariable("userID") UUID userID) {
+        log.info("GET localhost:8080/events/{}/waitlist/{} -> getWaitlistPosition({}, {}) is called", eventID, userID,
+                eventID, userID);
+
+        return eventService.getWaitlistPosition(eventID, userID);
+    }
+
+    /**
+     * Removes a user from the waitlist of an event.
+     *
+     * Mapped to the DELETE request at '/events/{eventID}/waitlist/{userID}', this
+     * method gives up the user's place on the waitlist of the event.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return An empty ResponseEntity on success, or the corresponding error
+     *         response if the event is not found or the user is not waiting.
+     */
+    @DeleteMapping(value = "events/{eventID}/waitlist/{userID}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> leaveWaitlist(@PathVariable("eventID") UUID eventID,
+            @PathVariable("userID") UUID userID) {
+        log.info("DELETE localhost:8080/events/{}/waitlist/{} -> leaveWaitlist({}, {}) is called", eventID, userID,
+                eventID, userID);
+
+        return eventService.leaveWaitlist(eventID, userID);
+    }
+}
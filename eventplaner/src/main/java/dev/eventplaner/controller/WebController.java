@@ -14,8 +14,10 @@ import dev.eventplaner.model.Geolocation;
 import dev.eventplaner.model.User;
 import dev.eventplaner.model.UserDTO;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Controller
@@ -319,8 +321,8 @@ public class WebController {
      * identified by
      * their userID. It fetches user data using an API call, processes the response,
      * and then
-     * populates the model with the user's information if the retrieval is
-     * successful. In case
+     * populates the model with the user's information and the events the user
+     * participates in or organizes if the retrieval is successful. In case
      * of an error in fetching user data, a warning is logged.
      *
      * @param userID The unique identifier (UUID) of the user whose details are to
@@ -337,6 +339,8 @@ public class WebController {
         if (userResponse.getStatusCode() == HttpStatus.OK) {
             User user = User.userFromJson(userResponse.getBody().toString());
             model.addAttribute("user", user);
+            model.addAttribute("participatingEvents", getUserEvents(userID, "participant"));
+            model.addAttribute("organizedEvents", getUserEvents(userID, "organizer"));
         } else {
             log.warn("WebController: Error retrieving user ID: {}. Status code: {}", userID,
                     userResponse.getStatusCode());
@@ -345,6 +349,26 @@ public class WebController {
         return "user-details";
     }
 
+    /**
+     * Retrieves the upcoming events of a user for the user details page, from
+     * the start of today on, so events later today are still listed.
+     *
+     * @param userID The unique identifier (UUID) of the user.
+     * @param role   Either 'participant' or 'organizer'.
+     * @return The events ordered by date, or an empty collection if they could
+     *         not be retrieved.
+     */
+    private Collection<Event> getUserEvents(UUID userID, String role) {
+        ResponseEntity<?> response = apiController.getUserEvents(userID, role,
+                LocalDate.now().atStartOfDay().toString(), 20);
+        if (response.getStatusCode() != HttpStatus.OK) {
+            log.warn("WebController: Error retrieving {} events of user ID: {}. Status code: {}", role, userID,
+                    response.getStatusCode());
+            return List.of();
+        }
+        return Event.collectionFromJson(response.getBody().toString());
+    }
+
     /**
      * Handles GET requests for the "manage/delete-user" endpoint.
      *
@@ -0,0 +1,98 @@
+package dev.eventplaner.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Decides before a log event is created whether it is logged at all, so
+ * dropped messages are never formatted or queued.
+ *
+ * Messages with the PAYLOAD marker dump request or response bodies. They are
+ * logged, whatever the level, only while the debug-payload MDC entry of the
+ * request is "true", and dropped otherwise.
+ *
+ * INFO and lower messages of the configured loggers are limited to
+ * maxPerSecond per logger and second; the rest of each second is dropped.
+ * Warnings and errors are never dropped.
+ */
+public class HotPathLogFilter extends TurboFilter {
+
+    public static final String PAYLOAD = "PAYLOAD";
+
+    private String[] loggers = new String[0];
+    private int maxPerSecond = 50;
+    private String debugKey = "debug-payload";
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        if (marker != null && marker.contains(PAYLOAD)) {
+            return "true".equals(MDC.get(debugKey)) ? FilterReply.ACCEPT : FilterReply.DENY;
+        }
+        // format is null for isInfoEnabled() and the like, which must not use up the rate
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !isLimited(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.computeIfAbsent(logger.getName(), name -> new Window());
+        return window.tryAcquire(maxPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isLimited(String name) {
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the loggers to be rate limited, as a comma-separated list of logger
+     * name prefixes.
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = loggers.trim().isEmpty() ? new String[0] : loggers.trim().split("\\s*,\\s*");
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setDebugKey(String debugKey) {
+        this.debugKey = debugKey;
+    }
+
+    /**
+     * Counts the messages of a logger in the current second.
+     */
+    private static final class Window {
+
+        private volatile long second = -1;
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(int max) {
+            long now = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+            if (now != second) {
+                synchronized (this) {
+                    if (now != second) {
+                        count.set(0);
+                        second = now;
+                    }
+                }
+            }
+            return count.incrementAndGet() <= max;
+        }
+    }
+}
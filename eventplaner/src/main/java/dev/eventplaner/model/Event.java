@@ -8,12 +8,15 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import dev.eventplaner.profiling.JsonEvent;
+
 public class Event {
 
     @JsonProperty("id")
@@ -26,7 +29,9 @@ public class Event {
     private int maxParticipants;
     private Map<UUID, Integer> participants;
     private UUID organizerUserID;
-    private double rating;
+    private long ratingSum;
+    private int ratingCount;
+    private int[] ratingHistogram;
 
     public Event() {
         this.eventID = UUID.randomUUID();
@@ -37,7 +42,9 @@ public class Event {
         this.maxParticipants = 10;
         this.participants = new HashMap<>();
         this.organizerUserID = null;
-        this.rating = 0;
+        this.ratingSum = 0;
+        this.ratingCount = 0;
+        this.ratingHistogram = new int[5];
     }
 
     public Event(UUID eventID) {
@@ -49,6 +56,7 @@ public class Event {
         this.maxParticipants = 10;
         this.participants = new HashMap<>();
         this.organizerUserID = null;
+        this.ratingHistogram = new int[5];
     }
 
     public Event(String name, String description, LocalDateTime dateTime, Geolocation geolocation, int maxParticipants,
@@ -61,6 +69,7 @@ public class Event {
         this.maxParticipants = maxParticipants;
         this.participants = new HashMap<>();
         this.organizerUserID = organizerUserID;
+        this.ratingHistogram = new int[5];
     }
 
     /**
@@ -73,7 +82,7 @@ public class Event {
      */
     public synchronized boolean addParticipant(UUID participantID) {
         if (participantID != null && participants.size() < maxParticipants
-                || !participants.containsKey(participantID)) {
+                && !participants.containsKey(participantID)) {
             this.participants.put(participantID, null);
             return true;
         }
@@ -95,14 +104,17 @@ public class Event {
         if (!participants.containsKey(participantID)) {
             return false;
         }
-        participants.remove(participantID);
+        unrate(participants.remove(participantID));
         return true;
     }
 
     /**
-     * Returns the average rating of the event.
+     * Recomputes the average rating of the event by iterating over all
+     * participants. {@link #getRating()} is maintained incrementally and should be
+     * preferred; this method is kept as the reference implementation.
      *
      * @return The average rating of the event. If no rating is available, 0 is
+     *         returned.
      */
     public double calcRating() {
         double rating = 0;
@@ -133,16 +145,57 @@ public class Event {
         if (userID == null || (rating < 1 || rating > 5)) {
             return false;
         }
-        participants.put(userID, rating);
-        this.rating = calcRating();
+        unrate(participants.put(userID, rating));
+        this.ratingSum += rating;
+        this.ratingCount++;
+        this.ratingHistogram[rating - 1]++;
         return true;
     }
 
+    /**
+     * Removes a previous rating from the running sum, count and histogram.
+     *
+     * @param previous the rating that was replaced or removed, may be null
+     */
+    private void unrate(Integer previous) {
+        if (previous != null) {
+            this.ratingSum -= previous;
+            this.ratingCount--;
+            if (previous >= 1 && previous <= 5) {
+                this.ratingHistogram[previous - 1]--;
+            }
+        }
+    }
+
+    /**
+     * Sets the participants when the event is deserialized and rebuilds the
+     * running rating sum, count and histogram once.
+     *
+     * @param participants the participants with their ratings
+     */
+    @JsonProperty("participants")
+    private void setParticipants(Map<UUID, Integer> participants) {
+        this.participants = participants != null ? new HashMap<>(participants) : new HashMap<>();
+        this.ratingSum = 0;
+        this.ratingCount = 0;
+        this.ratingHistogram = new int[5];
+        for (Integer i : this.participants.values()) {
+            if (i != null) {
+                this.ratingSum += i;
+                this.ratingCount++;
+                if (i >= 1 && i <= 5) {
+                    this.ratingHistogram[i - 1]++;
+                }
+            }
+        }
+    }
+
     public boolean contains(UUID userID) {
         return this.participants.containsKey(userID);
     }
 
     public static Collection<Event> collectionFromJson(String s) {
+        JsonEvent json = JsonEvent.begin("parse", "Collection<Event>");
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         Collection<Event> values = new ArrayList<>();
@@ -153,6 +206,7 @@ public class Event {
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
+        json.end(s == null ? 0 : s.length());
         return values;
     }
 
@@ -272,8 +326,27 @@ public class Event {
         return this;
     }
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     public double getRating() {
-        return this.rating;
+        if (this.ratingCount == 0) {
+            return 0;
+        }
+        return ((double) this.ratingSum) / this.ratingCount;
+    }
+
+    @JsonIgnore
+    public int getRatingCount() {
+        return this.ratingCount;
+    }
+
+    /**
+     * Returns the number of ratings per star, index 0 holding the 1-star ratings.
+     *
+     * @return a copy of the 5-bucket rating histogram
+     */
+    @JsonIgnore
+    public int[] getRatingHistogram() {
+        return this.ratingHistogram.clone();
     }
 
     @Override
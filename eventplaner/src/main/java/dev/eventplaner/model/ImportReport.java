@@ -0,0 +1,87 @@
+package dev.eventplaner.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a bulk user import: how many lines were imported or failed,
+ * the errors of the failed lines and the throughput. Only the first errors are
+ * kept, so a large import of bad data does not fill the memory.
+ */
+public class ImportReport {
+
+    private final int maxErrors;
+    private int lines;
+    private int imported;
+    private int failed;
+    private final List<ImportError> errors;
+    private long durationMillis;
+
+    public ImportReport(int maxErrors) {
+        this.maxErrors = maxErrors;
+        this.errors = new ArrayList<>();
+    }
+
+    /**
+     * Records a line that was read and is about to be imported.
+     */
+    public void read() {
+        this.lines++;
+    }
+
+    /**
+     * Records a line whose user was created.
+     */
+    public void imported() {
+        this.imported++;
+    }
+
+    /**
+     * Records a line whose user was not created.
+     *
+     * @param line    the line number, starting at 1
+     * @param message why the user was not created
+     */
+    public void failed(int line, String message) {
+        this.failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new ImportError(line, message));
+        }
+    }
+
+    public void finish(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<ImportError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns whether errors were left out of the report.
+     */
+    public boolean isErrorsTruncated() {
+        return failed > errors.size();
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getUsersPerSecond() {
+        return durationMillis == 0 ? 0 : imported * 1000.0 / durationMillis;
+    }
+}
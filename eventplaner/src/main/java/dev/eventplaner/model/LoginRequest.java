@@ -0,0 +1,28 @@
+package dev.eventplaner.model;
+
+public class LoginRequest {
+
+    private String email;
+    private String password;
+
+    public LoginRequest() {
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public LoginRequest setEmail(String email) {
+        this.email = email;
+        return this;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public LoginRequest setPassword(String password) {
+        this.password = password;
+        return this;
+    }
+}
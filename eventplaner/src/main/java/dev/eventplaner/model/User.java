@@ -3,23 +3,25 @@ package dev.eventplaner.model;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import dev.eventplaner.profiling.JsonEvent;
+
 public class User {
 
-    private static final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
     @JsonProperty("id")
     private UUID userID;
     private String firstName;
     private String lastName;
     private String email;
     private String password;
+    private String passwordHash;
     private boolean organizer;
 
     public User() {
@@ -28,6 +30,7 @@ public class User {
         this.lastName = null;
         this.email = null;
         this.password = null;
+        this.passwordHash = null;
         this.organizer = false;
     }
 
@@ -45,31 +48,47 @@ public class User {
     }
 
     /**
-     * Sets the user's password.
-     * If the provided password is not null, it is encrypted and stored in the user
-     * object's password field.
+     * Sets the user's plain password as received from the client.
+     * The plain password is never serialized; it has to be hashed with the
+     * {@link dev.eventplaner.security.PasswordHasher} before the user is passed
+     * on, so the password is hashed only once.
      * If the provided password is null, the password field remains unchanged.
      *
      * @param password The password to be set
      */
-
+    @JsonProperty("password")
     public User setPassword(String password) {
         if (password != null) {
-            this.password = encoder.encode(password);
+            this.password = password;
         }
         return this;
     }
 
+    @JsonIgnore
+    public String getPassword() {
+        return password;
+    }
+
     /**
-     * Checks if the provided password matches the user's password.
+     * Sets the BCrypt hash of the user's password and drops the plain password.
      *
-     * @param password The password to be checked
-     * @return True if the provided password matches the user's password, false
-     *         otherwise
+     * @param passwordHash The hash to be set
      */
+    public User setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+        this.password = null;
+        return this;
+    }
 
-    public boolean checkPassword(String password) {
-        return encoder.matches(password, this.password);
+    /**
+     * Returns the BCrypt hash of the user's password. The hash is only written
+     * to the services behind the gateway and cannot be set by clients.
+     *
+     * @return The hash, or null if no password was set
+     */
+    @JsonProperty(value = "passwordHash", access = JsonProperty.Access.READ_ONLY)
+    public String getPasswordHash() {
+        return passwordHash;
     }
 
     /**
@@ -79,6 +98,7 @@ public class User {
      * @return a collection of User objects
      */
     public static Collection<User> collectionFromJson(String s) {
+        JsonEvent json = JsonEvent.begin("parse", "Collection<User>");
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         Collection<User> values = new ArrayList<>();
@@ -89,6 +109,7 @@ public class User {
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
+        json.end(s == null ? 0 : s.length());
         return values;
     }
 
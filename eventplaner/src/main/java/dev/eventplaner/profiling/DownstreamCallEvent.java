@@ -0,0 +1,39 @@
+package dev.eventplaner.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.eventplaner.DownstreamCall")
+@Label("Downstream Call")
+@Category({ "Eventplaner", "HTTP" })
+@Description("An outbound request to another service")
+@StackTrace(false)
+public class DownstreamCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Method")
+    String method;
+
+    @Label("URI Template")
+    String uriTemplate;
+
+    @Label("Status")
+    int status;
+
+    @Label("Request Size")
+    @Description("The Content-Length of the request, -1 if unknown")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Size")
+    @Description("The Content-Length of the response, -1 if unknown")
+    @DataAmount
+    long responseBytes;
+}
@@ -0,0 +1,163 @@
+package dev.eventplaner.profiling;
+
+import java.util.List;
+
+/**
+ * A request that took longer than the slow request threshold, with the time it
+ * spent in downstream calls and in JSON processing. Times are in milliseconds.
+ */
+public class SlowRequest {
+
+    private final String startTime;
+    private final String traceId;
+    private final String method;
+    private final String route;
+    private final String uri;
+    private final int status;
+    private final double durationMillis;
+    private final long responseBytes;
+    private final List<Hop> hops;
+    private final List<JsonTiming> json;
+
+    SlowRequest(String startTime, String traceId, String method, String route, String uri, int status,
+            double durationMillis, long responseBytes, List<Hop> hops, List<JsonTiming> json) {
+        this.startTime = startTime;
+        this.traceId = traceId;
+        this.method = method;
+        this.route = route;
+        this.uri = uri;
+        this.status = status;
+        this.durationMillis = durationMillis;
+        this.responseBytes = responseBytes;
+        this.hops = hops;
+        this.json = json;
+    }
+
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * Returns the requested path with its query string, so the parameters of
+     * the request are included.
+     */
+    public String getUri() {
+        return uri;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Returns the Content-Length of the response, -1 if unknown.
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public List<Hop> getHops() {
+        return hops;
+    }
+
+    public List<JsonTiming> getJson() {
+        return json;
+    }
+
+    /**
+     * A downstream call made while handling the request.
+     */
+    public static class Hop {
+
+        private final String service;
+        private final String method;
+        private final String uriTemplate;
+        private final int status;
+        private final double durationMillis;
+        private final long responseBytes;
+
+        Hop(String service, String method, String uriTemplate, int status, double durationMillis,
+                long responseBytes) {
+            this.service = service;
+            this.method = method;
+            this.uriTemplate = uriTemplate;
+            this.status = status;
+            this.durationMillis = durationMillis;
+            this.responseBytes = responseBytes;
+        }
+
+        public String getService() {
+            return service;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUriTemplate() {
+            return uriTemplate;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        public long getResponseBytes() {
+            return responseBytes;
+        }
+    }
+
+    /**
+     * JSON parsed or serialized while handling the request.
+     */
+    public static class JsonTiming {
+
+        private final String operation;
+        private final String type;
+        private final long bytes;
+        private final double durationMillis;
+
+        JsonTiming(String operation, String type, long bytes, double durationMillis) {
+            this.operation = operation;
+            this.type = type;
+            this.bytes = bytes;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package dev.eventplaner.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Hashes passwords with BCrypt on a dedicated, bounded pool. Passwords are
+ * hashed exactly once here at the edge; the other services only ever receive
+ * the hash. The pool keeps hashing from using up the request threads and the
+ * CPU: when its queue is full, further requests are rejected instead of
+ * piling up.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates the hashing pool and registers its queue depth and active thread
+     * count as gauges.
+     *
+     * @param cost          the BCrypt cost factor (log2 of the rounds)
+     * @param threads       the number of hashing threads
+     * @param queueCapacity the number of hashing requests that may wait for a
+     *                      thread before further requests are rejected
+     * @param registry      the registry for the pool metrics
+     */
+    @Autowired
+    public PasswordHasher(@Value("${security.password.bcrypt-cost:10}") int cost,
+            @Value("${security.password.hash-threads:2}") int threads,
+            @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+            MeterRegistry registry) {
+        this(new BCryptPasswordEncoder(cost), threads, queueCapacity, registry);
+        log.info("Password hashing pool: cost={}, threads={}, queue={}", cost, threads, queueCapacity);
+    }
+
+    /**
+     * Creates the hashing pool with the given encoder instead of BCrypt.
+     *
+     * @param encoder       the encoder that hashes the passwords
+     * @param threads       the number of hashing threads
+     * @param queueCapacity the number of hashing requests that may wait for a
+     *                      thread before further requests are rejected
+     * @param registry      the registry for the pool metrics
+     */
+    public PasswordHasher(PasswordEncoder encoder, int threads, int queueCapacity, MeterRegistry registry) {
+        this.encoder = encoder;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(registry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing requests being processed")
+                .register(registry);
+    }
+
+    /**
+     * Hashes a password on the hashing pool and waits for the result.
+     *
+     * @param password the plain password
+     * @return the BCrypt hash of the password
+     * @throws RejectedExecutionException if the hashing queue is full
+     */
+    public String hash(String password) {
+        Future<String> hash = executor.submit(() -> encoder.encode(password));
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    /**
+     * Hashes a password on the calling thread. Only for callers that run on a
+     * bounded pool of their own, such as the bulk import, so they do not compete
+     * with single requests for the hashing pool.
+     *
+     * @param password the plain password
+     * @return the BCrypt hash of the password
+     */
+    public String encode(String password) {
+        return encoder.encode(password);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,9 +1,12 @@
 package dev.eventplaner.service;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -15,6 +18,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import dev.eventplaner.model.Event;
+import dev.eventplaner.model.RatingEntry;
 
 @Service
 public class EventService {
@@ -25,6 +29,10 @@ public class EventService {
     @Value("${eventservice.url}")
     String apiUrl;
 
+    @Autowired
+    @Qualifier("eventServiceRestTemplate")
+    private RestTemplate restTemplate;
+
     /**
      * Creates a new event by making a POST request to the
      * specified API endpoint.
@@ -39,7 +47,6 @@ public class EventService {
     public ResponseEntity<?> create(Event event) {
         log.info("create() is called: {}", event.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/events";
 
         HttpHeaders headers = new HttpHeaders();
@@ -67,7 +74,6 @@ public class EventService {
     public ResponseEntity<?> getAllDTO() {
         log.info("getAllDTO() is called");
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/events";
 
         HttpHeaders headers = new HttpHeaders();
@@ -95,8 +101,248 @@ public class EventService {
     public ResponseEntity<?> getEvent(UUID eventID) {
         log.info("getEvent() is called: {}", eventID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID;
+        String url = apiUrl + "/events/{eventID}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Adds many ratings to an event in one request by making a POST request to
+     * the specified API endpoint.
+     *
+     * @param eventID The UUID of the event to which the ratings will be added.
+     * @param ratings The user IDs and ratings to be added.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the result of every rating
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> addRatings(UUID eventID, List<RatingEntry> ratings) {
+        log.info("addRatings() is called: {} and {}", eventID, ratings.size());
+
+        String url = apiUrl + "/events/{eventID}/ratings:batch";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<RatingEntry>> request = new HttpEntity<>(ratings, headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Adds many users to an event in one request by making a POST request to the
+     * specified API endpoint.
+     *
+     * @param eventID The UUID of the event to which the users will be added.
+     * @param userIDs The UUIDs of the users to be added.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include which users were admitted and which were rejected
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> addUsers(UUID eventID, List<UUID> userIDs) {
+        log.info("addUsers() is called: {} and {}", eventID, userIDs.size());
+
+        String url = apiUrl + "/events/{eventID}/participants:batch";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<UUID>> request = new HttpEntity<>(userIDs, headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Searches the names and descriptions of all events by making a GET request
+     * to the specified API endpoint.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of events to return.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the matching events, best match first,
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> search(String query, int limit) {
+        log.info("search() is called: {} and {}", query, limit);
+
+        String url = apiUrl + "/events/search?q={q}&limit={limit}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, query, limit);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the top ranked events by making a GET request to the specified
+     * API endpoint.
+     *
+     * @param by The ranking criterion, either 'rating' or 'participants'.
+     * @param k  The number of events to be returned.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the ranked events
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getTopEvents(String by, int k) {
+        log.info("getTopEvents() is called: {} and {}", by, k);
+
+        String url = apiUrl + "/events/top?by={by}&k={k}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, by, k);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the users waiting for a seat of an event by making a GET request
+     * to the specified API endpoint, using the provided eventID.
+     *
+     * @param eventID The UUID of the event whose waitlist is retrieved.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the IDs of the waiting users in admission order
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getWaitlist(UUID eventID) {
+        log.info("getWaitlist() is called: {}", eventID);
+
+        String url = apiUrl + "/events/{eventID}/waitlist";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the waitlist position of a user by making a GET request to the
+     * specified API endpoint, using the provided eventID and userID.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the waitlist position
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getWaitlistPosition(UUID eventID, UUID userID) {
+        log.info("getWaitlistPosition() is called: {}, {}", eventID, userID);
+
+        String url = apiUrl + "/events/{eventID}/waitlist/{userID}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Removes a user from the waitlist of an event by making a DELETE request to
+     * the specified API endpoint, using the provided eventID and userID.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         be empty on success
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> leaveWaitlist(UUID eventID, UUID userID) {
+        log.info("leaveWaitlist() is called: {}, {}", eventID, userID);
+
+        String url = apiUrl + "/events/{eventID}/waitlist/{userID}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class, eventID, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the rating distribution of an event by making a GET request to
+     * the specified API endpoint, using the provided eventID.
+     *
+     * @param eventID The UUID of the event whose ratings are summarized.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the rating summary
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getRatingSummary(UUID eventID) {
+        log.info("getRatingSummary() is called: {}", eventID);
+
+        String url = apiUrl + "/events/{eventID}/ratings/summary";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the rating distribution over all events by making a GET request
+     * to the specified API endpoint.
+     *
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the merged rating summary
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getRatingSummary() {
+        log.info("getRatingSummary() is called");
+
+        String url = apiUrl + "/events/ratings/summary";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
@@ -122,15 +368,14 @@ public class EventService {
     public ResponseEntity<?> replace(Event event) {
         log.info("replace() is called: {}", event.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + event.getID();
+        String url = apiUrl + "/events/{eventID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<Event> request = new HttpEntity<>(event, headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, event.getID());
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -150,15 +395,14 @@ public class EventService {
     public ResponseEntity<?> update(Event event) {
         log.info("update() is called: {}", event.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/update/" + event.getID();
+        String url = apiUrl + "/events/update/{eventID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<Event> request = new HttpEntity<>(event, headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, event.getID());
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -179,14 +423,13 @@ public class EventService {
     public ResponseEntity<?> delete(UUID eventID) {
         log.info("delete() is called: {}", eventID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID;
+        String url = apiUrl + "/events/{eventID}";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class, eventID);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -207,14 +450,13 @@ public class EventService {
     public ResponseEntity<?> addUser(UUID eventID, UUID userID) {
         log.info("addUser() is called: {} and {}", eventID, userID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID + "/add/" + userID;
+        String url = apiUrl + "/events/{eventID}/add/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, eventID, userID);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -235,42 +477,13 @@ public class EventService {
     public ResponseEntity<?> removeUser(UUID eventID, UUID userID) {
         log.info("removeUser() is called: {} and {}", eventID, userID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID + "/remove/" + userID;
-
-        HttpHeaders headers = new HttpHeaders();
-        HttpEntity<String> request = new HttpEntity<String>(headers);
-
-        try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
-        } catch (HttpClientErrorException e) {
-            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
-        }
-    }
-
-    /**
-     * Removes a user from all events where the user is a
-     * participant by making a PUT request
-     * to the specified API endpoint.
-     *
-     * @param userID The UUID of the user to be removed from all events.
-     * @return A ResponseEntity containing the response from the server, which may
-     *         include success information
-     *         or an error message in case of failure.
-     * @throws HttpClientErrorException If there is an issue with the HTTP request,
-     *                                  such as an invalid URL or server errors.
-     */
-    public ResponseEntity<?> removeUserFromAllEvents(UUID userID) {
-        log.info("removeUserFromAllEvents() is called: {}", userID);
-
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/remove/" + userID;
+        String url = apiUrl + "/events/{eventID}/remove/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, eventID, userID);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -292,13 +505,12 @@ public class EventService {
     public ResponseEntity<?> addRating(UUID eventID, UUID userID, int rating) {
         log.info("addRating() is called: {} and {} and {}", eventID, userID, rating);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID + "/" + userID + "/" + rating;
+        String url = apiUrl + "/events/{eventID}/{userID}/{rating}";
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, eventID, userID, rating);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
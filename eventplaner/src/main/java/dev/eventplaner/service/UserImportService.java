@@ -0,0 +1,266 @@
+package dev.eventplaner.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.eventplaner.model.ImportReport;
+import dev.eventplaner.model.User;
+import dev.eventplaner.security.PasswordHasher;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Imports users from NDJSON or CSV streams. The stream is read in chunks; the
+ * lines of a chunk are parsed, validated and hashed in parallel on a pool with
+ * one thread per core, and the valid users of the chunk are then created with
+ * one batch request. Only one chunk is held in memory at a time, whatever the
+ * size of the import.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    public static final String CSV = "text/csv";
+
+    @Value("${import.threads:0}")
+    private int threads;
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+    @Value("${import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private UserService userService;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ThreadPoolExecutor workers;
+
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        // concurrent imports that overflow the queue prepare their lines themselves
+        workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize), runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("User import: threads={}, batch size={}", size, batchSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Imports the users of a stream. NDJSON streams contain one user object per
+     * line; CSV streams start with a header naming the columns firstName,
+     * lastName, email, password and optionally organizer. Blank lines are
+     * skipped.
+     *
+     * @param in  the stream to be imported
+     * @param csv true for CSV, false for NDJSON
+     * @return the numbers of imported and failed lines, the errors of the failed
+     *         lines and the throughput
+     * @throws IOException          if the stream cannot be read
+     * @throws InterruptedException if the import is interrupted
+     */
+    public ImportReport importUsers(InputStream in, boolean csv) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        int lineNumber = 0;
+        List<String> header = null;
+        if (csv) {
+            String line = reader.readLine();
+            lineNumber++;
+            header = line == null ? List.of() : parseCsv(line.toLowerCase(Locale.ROOT));
+        }
+
+        List<Line> chunk = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            report.read();
+            chunk.add(new Line(lineNumber, line));
+            if (chunk.size() == batchSize) {
+                importChunk(chunk, header, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, header, report);
+        }
+
+        report.finish((System.nanoTime() - start) / 1_000_000);
+        log.info("imported {} of {} users in {} ms ({} users/s)", report.getImported(), report.getLines(),
+                report.getDurationMillis(), String.format(Locale.ROOT, "%.1f", report.getUsersPerSecond()));
+        return report;
+    }
+
+    /**
+     * Prepares the lines of a chunk in parallel and creates the valid users with
+     * one batch request.
+     */
+    private void importChunk(List<Line> chunk, List<String> header, ImportReport report)
+            throws InterruptedException, JsonProcessingException {
+        List<Future<User>> prepared = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            prepared.add(workers.submit(() -> prepare(line.text, header)));
+        }
+
+        List<User> users = new ArrayList<>(chunk.size());
+        List<Integer> lineNumbers = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                users.add(prepared.get(i).get());
+                lineNumbers.add(chunk.get(i).number);
+            } catch (ExecutionException e) {
+                report.failed(chunk.get(i).number, e.getCause().getMessage());
+            }
+        }
+        if (users.isEmpty()) {
+            return;
+        }
+
+        ResponseEntity<String> response = userService.createAll(users);
+        // invalid users are rejected one by one, so this is a failure of the whole request
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            for (int number : lineNumbers) {
+                report.failed(number, "Batch failed: " + response.getBody());
+            }
+            return;
+        }
+        // the results are in the order of the users
+        JsonNode results = mapper.readTree(response.getBody()).path("results");
+        for (int i = 0; i < users.size(); i++) {
+            JsonNode result = results.path(i);
+            if (result.path("accepted").asBoolean()) {
+                report.imported();
+            } else {
+                report.failed(lineNumbers.get(i), result.path("reason").asText("Not created"));
+            }
+        }
+    }
+
+    /**
+     * Parses, validates and hashes the user of a line.
+     *
+     * @throws IllegalArgumentException if the line is not a valid user
+     */
+    private User prepare(String text, List<String> header) {
+        User user = header == null ? fromJson(text) : fromCsv(text, header);
+        String detail = User.isValid(user);
+        if (detail != null) {
+            throw new IllegalArgumentException(detail);
+        }
+        if (user.getPassword() == null || user.getPassword().isEmpty()) {
+            throw new IllegalArgumentException("User password must not be empty");
+        }
+        return user.setPasswordHash(passwordHasher.encode(user.getPassword()));
+    }
+
+    private User fromJson(String text) {
+        try {
+            return mapper.readValue(text, User.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static User fromCsv(String text, List<String> header) {
+        List<String> values = parseCsv(text);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + header.size() + " columns but found " + values.size());
+        }
+        User user = new User();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i);
+            switch (header.get(i)) {
+                case "firstname" -> user.setFirstName(value);
+                case "lastname" -> user.setLastName(value);
+                case "email" -> user.setEmail(value);
+                case "password" -> user.setPassword(value);
+                case "organizer" -> user.setOrganizer(Boolean.parseBoolean(value));
+                default -> throw new IllegalArgumentException("Unknown column: " + header.get(i));
+            }
+        }
+        return user;
+    }
+
+    /**
+     * Splits a CSV line at commas. Values may be enclosed in double quotes, in
+     * which case they may contain commas and doubled quotes.
+     */
+    static List<String> parseCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    private static final class Line {
+
+        final int number;
+        final String text;
+
+        Line(int number, String text) {
+            this.number = number;
+            this.text = text;
+        }
+    }
+}
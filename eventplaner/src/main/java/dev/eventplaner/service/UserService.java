@@ -1,10 +1,14 @@
 package dev.eventplaner.service;
 
+import dev.eventplaner.model.LoginRequest;
 import dev.eventplaner.model.User;
 
+import java.util.List;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -24,6 +28,10 @@ public class UserService {
     @Value("${userservice.url}")
     String apiUrl;
 
+    @Autowired
+    @Qualifier("userServiceRestTemplate")
+    private RestTemplate restTemplate;
+
     /**
      * Retrieves user information by making a GET request to
      * the specified API endpoint.
@@ -38,14 +46,92 @@ public class UserService {
     public ResponseEntity<?> getUser(UUID userID) {
         log.info("getUser() is called: {}", userID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/users/" + userID;
+        String url = apiUrl + "/users/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.GET, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves user information by making a GET request to the specified API
+     * endpoint, using the provided email address. The comparison ignores case.
+     *
+     * @param email The email address of the user.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include user data or a not found status if no user has the email
+     *         address.
+     */
+    public ResponseEntity<?> getUserByEmail(String email) {
+        log.info("getUserByEmail() is called");
+
+        String url = apiUrl + "/users/by-email/{email}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, email);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the events a user participates in or organizes by making a GET
+     * request to the specified API endpoint.
+     *
+     * @param userID The UUID of the user whose events are to be retrieved.
+     * @param role   Either 'participant' or 'organizer'.
+     * @param from   The earliest date of the returned events in ISO format, may
+     *               be null.
+     * @param limit  The maximum number of events to return.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the events ordered by date
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getUserEvents(UUID userID, String role, String from, int limit) {
+        log.info("getUserEvents() is called: {}, {}", userID, role);
+
+        String url = apiUrl + "/users/{userID}/events?role={role}&from={from}&limit={limit}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, userID, role,
+                    from == null ? "" : from, limit);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Creates many users by making a POST request to the specified API endpoint.
+     *
+     * @param users The users to be created, with hashed passwords.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include which users were created and which were rejected
+     *         or an error message in case of failure.
+     */
+    public ResponseEntity<String> createAll(List<User> users) {
+        log.info("createAll() is called: {}", users.size());
+
+        String url = apiUrl + "/users:batch";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<User>> request = new HttpEntity<>(users, headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST, request, String.class);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -65,7 +151,6 @@ public class UserService {
     public ResponseEntity<?> create(User user) {
         log.info("create() is called: {}", user.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/users";
 
         HttpHeaders headers = new HttpHeaders();
@@ -79,6 +164,39 @@ public class UserService {
         }
     }
 
+    /**
+     * Verifies the credentials of a user by making a POST request to the
+     * specified API endpoint.
+     *
+     * @param login The email address and password of the user.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the ID of the user
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> login(LoginRequest login) {
+        log.info("login() is called");
+
+        String url = apiUrl + "/auth/login";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<LoginRequest> request = new HttpEntity<LoginRequest>(login, headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST, request, String.class);
+        } catch (HttpClientErrorException e) {
+            // keep the Retry-After of locked accounts and a saturated verification pool
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(e.getStatusCode());
+            HttpHeaders responseHeaders = e.getResponseHeaders();
+            if (responseHeaders != null && responseHeaders.getFirst(HttpHeaders.RETRY_AFTER) != null) {
+                response.header(HttpHeaders.RETRY_AFTER, responseHeaders.getFirst(HttpHeaders.RETRY_AFTER));
+            }
+            return response.body(e.getResponseBodyAsString());
+        }
+    }
+
     /**
      * Deletes a user by making a DELETE request to the specified
      * API endpoint.
@@ -93,14 +211,13 @@ public class UserService {
     public ResponseEntity<?> delete(UUID userID) {
         log.info("delete() is called: {}", userID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/users/" + userID;
+        String url = apiUrl + "/users/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class, userID);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -121,15 +238,14 @@ public class UserService {
     public ResponseEntity<?> replace(User user) {
         log.info("replace() is called: {}", user.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/users/" + user.getID();
+        String url = apiUrl + "/users/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<User> request = new HttpEntity<User>(user, headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, user.getID());
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -149,15 +265,38 @@ public class UserService {
     public ResponseEntity<?> update(User user) {
         log.info("update() is called: {}", user.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/users/update/" + user.getID();
+        String url = apiUrl + "/users/update/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<User> request = new HttpEntity<User>(user, headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, user.getID());
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Searches users by name by making a GET request to the specified API
+     * endpoint.
+     *
+     * @param query The search terms, each matching the start of a name.
+     * @param limit The maximum number of users to return.
+     * @return A ResponseEntity containing the matching users as DTOs, best matches
+     *         first, or an error message in case of failure.
+     */
+    public ResponseEntity<?> search(String query, int limit) {
+        log.info("search() is called: {}", query);
+
+        String url = apiUrl + "/users/search?q={q}&limit={limit}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, query, limit);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -177,7 +316,6 @@ public class UserService {
     public ResponseEntity<?> getAllDTO() {
         log.info("getAllDTO() is called");
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/users";
 
         HttpHeaders headers = new HttpHeaders();
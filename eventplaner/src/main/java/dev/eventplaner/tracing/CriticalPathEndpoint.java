@@ -0,0 +1,132 @@
+package dev.eventplaner.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Exposes the critical path of a trace at /actuator/criticalpath/{traceId}.
+ * The spans of the trace are collected from the gateway and from the spans
+ * endpoints of the downstream services.
+ */
+@Component
+@Endpoint(id = "criticalpath")
+public class CriticalPathEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(CriticalPathEndpoint.class);
+
+    @Value("${eventservice.url}")
+    private String eventServiceUrl;
+    @Value("${userservice.url}")
+    private String userServiceUrl;
+    @Value("${repository.url}")
+    private String repositoryUrl;
+
+    @Autowired
+    private SpanRecorder spanRecorder;
+
+    // not built by the RestTemplateBuilder, so fetching a trace is not traced itself
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    /**
+     * Returns the critical path of a trace: starting at its root span, the chain
+     * of child spans that finished last, and within each of them the spans
+     * that kept it from finishing earlier.
+     *
+     * @param traceId the ID of the trace
+     * @return the spans on the critical path in the order they started, or null
+     *         (404) if no spans of the trace were recorded
+     */
+    @ReadOperation
+    public List<PathSegment> criticalPath(@Selector String traceId) {
+        // spans are keyed by ID, since a service may hold the span of another
+        Map<String, RecordedSpan> spans = new LinkedHashMap<>();
+        for (RecordedSpan span : spanRecorder.getTrace(traceId)) {
+            spans.put(span.getSpanId(), span);
+        }
+        for (String url : new String[] { eventServiceUrl, userServiceUrl, repositoryUrl }) {
+            for (RecordedSpan span : fetch(url, traceId)) {
+                spans.putIfAbsent(span.getSpanId(), span);
+            }
+        }
+        if (spans.isEmpty()) {
+            return null;
+        }
+        return criticalPath(spans.values());
+    }
+
+    private List<RecordedSpan> fetch(String url, String traceId) {
+        try {
+            RecordedSpan[] spans = restTemplate.getForObject(url + "/actuator/spans/{traceId}",
+                    RecordedSpan[].class, traceId);
+            return spans == null ? List.of() : List.of(spans);
+        } catch (RestClientException e) {
+            log.debug("No spans of trace {} from {}: {}", traceId, url, e.getMessage());
+            return List.of();
+        }
+    }
+
+    static List<PathSegment> criticalPath(Iterable<RecordedSpan> spans) {
+        Set<String> spanIds = new HashSet<>();
+        for (RecordedSpan span : spans) {
+            spanIds.add(span.getSpanId());
+        }
+        Map<String, List<RecordedSpan>> children = new HashMap<>();
+        RecordedSpan root = null;
+        for (RecordedSpan span : spans) {
+            if (span.getParentId() != null && spanIds.contains(span.getParentId())) {
+                children.computeIfAbsent(span.getParentId(), parentId -> new ArrayList<>()).add(span);
+            } else if (root == null || span.getStartMicros() < root.getStartMicros()) {
+                root = span;
+            }
+        }
+
+        List<PathSegment> path = new ArrayList<>();
+        walk(root, root.getEndMicros(), root.getStartMicros(), children, path);
+        path.sort(Comparator.comparingDouble(PathSegment::getStartMillis));
+        return path;
+    }
+
+    /**
+     * Adds a span and, walking back from its end, the children that finished
+     * last before the previously added child started. A child that outlives
+     * its span, such as asynchronous work, counts only up to the span's end.
+     */
+    private static void walk(RecordedSpan span, long until, long origin, Map<String, List<RecordedSpan>> children,
+            List<PathSegment> path) {
+        long end = Math.min(span.getEndMicros(), until);
+        List<RecordedSpan> latestFirst = new ArrayList<>(children.getOrDefault(span.getSpanId(), List.of()));
+        latestFirst.sort(Comparator.comparingLong(RecordedSpan::getEndMicros).reversed());
+
+        long cursor = end;
+        long covered = 0;
+        for (RecordedSpan child : latestFirst) {
+            long childEnd = Math.min(child.getEndMicros(), end);
+            if (childEnd <= cursor && child.getStartMicros() >= span.getStartMicros()
+                    && child.getStartMicros() <= childEnd) {
+                walk(child, cursor, origin, children, path);
+                covered += childEnd - child.getStartMicros();
+                cursor = child.getStartMicros();
+            }
+        }
+        long duration = end - span.getStartMicros();
+        path.add(new PathSegment(span.getService(), span.getName(), (span.getStartMicros() - origin) / 1000.0,
+                duration / 1000.0, (duration - covered) / 1000.0));
+    }
+}
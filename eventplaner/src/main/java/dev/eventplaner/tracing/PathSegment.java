@@ -0,0 +1,44 @@
+package dev.eventplaner.tracing;
+
+/**
+ * A span on the critical path of a trace. Times are in milliseconds; the start
+ * is relative to the start of the trace. The self time is the part of the
+ * duration not spent in spans further down the critical path.
+ */
+public class PathSegment {
+
+    private final String service;
+    private final String name;
+    private final double startMillis;
+    private final double durationMillis;
+    private final double selfMillis;
+
+    public PathSegment(String service, String name, double startMillis, double durationMillis,
+            double selfMillis) {
+        this.service = service;
+        this.name = name;
+        this.startMillis = startMillis;
+        this.durationMillis = durationMillis;
+        this.selfMillis = selfMillis;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getStartMillis() {
+        return startMillis;
+    }
+
+    public double getDurationMillis() {
+        return durationMillis;
+    }
+
+    public double getSelfMillis() {
+        return selfMillis;
+    }
+}
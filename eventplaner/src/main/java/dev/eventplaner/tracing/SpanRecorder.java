@@ -0,0 +1,141 @@
+package dev.eventplaner.tracing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the spans of the most recent traces in memory, so traces can be
+ * inspected without an external collector. If tracing.recorder.file is set,
+ * every finished span is also appended to that file as one line of JSON.
+ */
+@Component
+public class SpanRecorder extends SpanHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(SpanRecorder.class);
+
+    @Value("${tracing.recorder.max-traces:1000}")
+    private int maxTraces;
+    @Value("${tracing.recorder.file:}")
+    private String file;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    // in the order their first span finished, so the oldest trace is dropped first
+    private final LinkedHashMap<String, List<RecordedSpan>> traces = new LinkedHashMap<>();
+    private Writer writer;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!file.isEmpty()) {
+            writer = Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+            log.info("Writing spans to {}", file);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        RecordedSpan recorded = new RecordedSpan(context.traceIdString(), context.spanIdString(),
+                context.parentIdString(), span.localServiceName(), span.name(),
+                span.kind() == null ? null : span.kind().name(), span.startTimestamp(),
+                span.finishTimestamp() - span.startTimestamp(), span.tags());
+
+        synchronized (traces) {
+            traces.computeIfAbsent(recorded.getTraceId(), traceId -> new ArrayList<>()).add(recorded);
+            if (traces.size() > maxTraces) {
+                Iterator<String> oldest = traces.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+            }
+        }
+        if (writer != null) {
+            write(recorded);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the spans this service recorded for a trace.
+     *
+     * @param traceId the ID of the trace
+     * @return the spans, or an empty list if the trace is unknown or was dropped
+     */
+    public List<RecordedSpan> getTrace(String traceId) {
+        synchronized (traces) {
+            return new ArrayList<>(traces.getOrDefault(traceId, List.of()));
+        }
+    }
+
+    /**
+     * Returns the slowest requests among the recorded traces. A request is
+     * represented by its local root span, the first span of the trace in this
+     * service.
+     *
+     * @param limit the maximum number of spans to return
+     * @return the local root spans, slowest first
+     */
+    public List<RecordedSpan> getSlowest(int limit) {
+        List<RecordedSpan> roots = new ArrayList<>();
+        synchronized (traces) {
+            for (List<RecordedSpan> spans : traces.values()) {
+                Set<String> spanIds = new HashSet<>();
+                for (RecordedSpan span : spans) {
+                    spanIds.add(span.getSpanId());
+                }
+                for (RecordedSpan span : spans) {
+                    if (span.getParentId() == null || !spanIds.contains(span.getParentId())) {
+                        roots.add(span);
+                    }
+                }
+            }
+        }
+        roots.sort(Comparator.comparingLong(RecordedSpan::getDurationMicros).reversed());
+        return roots.subList(0, Math.min(limit, roots.size()));
+    }
+
+    private void write(RecordedSpan span) {
+        try {
+            String line = mapper.writeValueAsString(span);
+            synchronized (writer) {
+                writer.write(line);
+                writer.write('\n');
+                writer.flush();
+            }
+        } catch (IOException e) {
+            log.warn("Could not write span {}: {}", span.getSpanId(), e.getMessage());
+        }
+    }
+}
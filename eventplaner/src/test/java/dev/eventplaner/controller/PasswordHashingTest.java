@@ -0,0 +1,88 @@
+package dev.eventplaner.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import dev.eventplaner.model.User;
+import dev.eventplaner.security.PasswordHasher;
+import dev.eventplaner.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingTest {
+
+	/**
+	 * Counts the passwords it hashes instead of hashing them with BCrypt.
+	 */
+	static class CountingEncoder implements PasswordEncoder {
+
+		final AtomicInteger encoded = new AtomicInteger();
+
+		@Override
+		public String encode(CharSequence password) {
+			encoded.incrementAndGet();
+			return "hash:" + password;
+		}
+
+		@Override
+		public boolean matches(CharSequence password, String hash) {
+			return hash.equals("hash:" + password);
+		}
+	}
+
+	/**
+	 * Keeps the users that would be sent to the user service.
+	 */
+	static class RecordingUserService extends UserService {
+
+		User created;
+		User updated;
+
+		@Override
+		public ResponseEntity<?> create(User user) {
+			created = user;
+			return ResponseEntity.ok().build();
+		}
+
+		@Override
+		public ResponseEntity<?> update(User user) {
+			updated = user;
+			return ResponseEntity.ok().build();
+		}
+	}
+
+	private final CountingEncoder encoder = new CountingEncoder();
+	private final RecordingUserService userService = new RecordingUserService();
+
+	private ApiController controller() {
+		ApiController controller = new ApiController();
+		ReflectionTestUtils.setField(controller, "passwordHasher",
+				new PasswordHasher(encoder, 1, 1, new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(controller, "userService", userService);
+		return controller;
+	}
+
+	@Test
+	void createUserHashesPasswordOnce() {
+		controller().createUser(new User("Max", "Mustermann", "max@example.com", "secret"));
+
+		assertEquals(1, encoder.encoded.get());
+		assertEquals("hash:secret", userService.created.getPasswordHash());
+		assertNull(userService.created.getPassword());
+	}
+
+	@Test
+	void updateUserWithoutPasswordDoesNotHash() {
+		controller().updateUser(UUID.randomUUID(), new User().setFirstName("Erika"));
+
+		assertEquals(0, encoder.encoded.get());
+		assertNull(userService.updated.getPasswordHash());
+	}
+}
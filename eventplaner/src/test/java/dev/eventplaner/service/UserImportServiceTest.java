@@ -0,0 +1,157 @@
+package dev.eventplaner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import dev.eventplaner.model.ImportError;
+import dev.eventplaner.model.ImportReport;
+import dev.eventplaner.model.User;
+import dev.eventplaner.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * This class contains the unit tests for the bulk import of users.
+ */
+class UserImportServiceTest {
+
+	private static final String TAKEN = "taken@example.com";
+
+	/**
+	 * Creates every user of a batch except those with the taken email address,
+	 * like the user service.
+	 */
+	static class BatchUserService extends UserService {
+
+		final List<User> created = new ArrayList<>();
+
+		@Override
+		public ResponseEntity<String> createAll(List<User> users) {
+			ObjectMapper mapper = new ObjectMapper();
+			ObjectNode batch = mapper.createObjectNode();
+			ArrayNode results = batch.putArray("results");
+			for (User user : users) {
+				if (TAKEN.equals(user.getEmail())) {
+					results.addObject().put("accepted", false).put("reason", "Email address is already taken");
+				} else {
+					created.add(user);
+					results.addObject().put("accepted", true);
+				}
+			}
+			return ResponseEntity.ok(batch.toString());
+		}
+	}
+
+	static class PlainEncoder implements PasswordEncoder {
+
+		@Override
+		public String encode(CharSequence password) {
+			return "hash:" + password;
+		}
+
+		@Override
+		public boolean matches(CharSequence password, String hash) {
+			return hash.equals("hash:" + password);
+		}
+	}
+
+	private final BatchUserService userService = new BatchUserService();
+
+	private UserImportService importService() {
+		UserImportService importService = new UserImportService();
+		ReflectionTestUtils.setField(importService, "threads", 2);
+		ReflectionTestUtils.setField(importService, "batchSize", 2);
+		ReflectionTestUtils.setField(importService, "maxReportedErrors", 100);
+		ReflectionTestUtils.setField(importService, "passwordHasher",
+				new PasswordHasher(new PlainEncoder(), 1, 1, new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(importService, "userService", userService);
+		importService.init();
+		return importService;
+	}
+
+	private ImportReport importUsers(String body, boolean csv) throws Exception {
+		UserImportService importService = importService();
+		try {
+			return importService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), csv);
+		} finally {
+			importService.shutdown();
+		}
+	}
+
+	private static Map<Integer, String> errors(ImportReport report) {
+		Map<Integer, String> errors = new TreeMap<>();
+		for (ImportError error : report.getErrors()) {
+			errors.put(error.getLine(), error.getMessage());
+		}
+		return errors;
+	}
+
+	@Test
+	void parseCsvHandlesQuotes() {
+		assertEquals(List.of("Anna", "Becker, Jr.", "anna@example.com"),
+				UserImportService.parseCsv("Anna,\"Becker, Jr.\",anna@example.com"));
+		assertEquals(List.of("say \"hi\"", "x"), UserImportService.parseCsv("\"say \"\"hi\"\"\",x"));
+		assertEquals(List.of("a", "", ""), UserImportService.parseCsv(" a , ,"));
+		assertEquals(List.of(""), UserImportService.parseCsv(""));
+	}
+
+	@Test
+	void csvImportReportsErrorsPerLine() throws Exception {
+		String csv = """
+				firstName,lastName,email,password
+				Anna,"Becker, Jr.",anna@example.com,"se""cret"
+
+				Ben,Koch,ben@example.com
+				Clara,Weber,taken@example.com,secret
+				,Meyer,david@example.com,secret
+				Emma,Schulz,emma@example.com,secret
+				""";
+
+		ImportReport report = importUsers(csv, true);
+
+		assertEquals(5, report.getLines());
+		assertEquals(2, report.getImported());
+		assertEquals(3, report.getFailed());
+		assertEquals(Map.of(
+				4, "Expected 4 columns but found 3",
+				5, "Email address is already taken",
+				6, "User firstname must be between 1 and 30 characters long"), errors(report));
+
+		User anna = userService.created.get(0);
+		assertEquals("Becker, Jr.", anna.getLastName());
+		assertEquals("hash:se\"cret", anna.getPasswordHash());
+		assertEquals("emma@example.com", userService.created.get(1).getEmail());
+	}
+
+	@Test
+	void ndjsonImportReportsErrorsPerLine() throws Exception {
+		String ndjson = """
+				{"firstName":"Anna","lastName":"Schmidt","email":"anna@example.com","password":"secret"}
+				{"firstName":"Ben",
+				{"firstName":"Clara","lastName":"Koch","email":"clara@example.com"}
+				""";
+
+		ImportReport report = importUsers(ndjson, false);
+
+		assertEquals(1, report.getImported());
+		Map<Integer, String> errors = errors(report);
+		assertTrue(errors.get(2).startsWith("Invalid JSON"), errors.get(2));
+		assertEquals("User password must not be empty", errors.get(3));
+		assertEquals(2, errors.size());
+	}
+}
@@ -0,0 +1,86 @@
+package dev.eventplaner.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CriticalPathEndpointTest {
+
+	/**
+	 * Builds a span of the gateway, with times in milliseconds.
+	 */
+	private static RecordedSpan span(String id, String parentId, long startMillis, long endMillis) {
+		return new RecordedSpan("trace", id, parentId, "gateway", id, "SERVER", startMillis * 1000,
+				(endMillis - startMillis) * 1000, null);
+	}
+
+	/**
+	 * Describes each segment as name, start, duration and self time.
+	 */
+	private static List<String> describe(List<PathSegment> path) {
+		List<String> segments = new ArrayList<>();
+		for (PathSegment segment : path) {
+			segments.add(segment.getName() + " " + segment.getStartMillis() + " " + segment.getDurationMillis() + " "
+					+ segment.getSelfMillis());
+		}
+		return segments;
+	}
+
+	@Test
+	void sequentialChildrenAreAllOnThePath() {
+		List<PathSegment> path = CriticalPathEndpoint.criticalPath(List.of(
+				span("root", null, 0, 100),
+				span("a", "root", 10, 40),
+				span("b", "root", 40, 90),
+				span("c", "b", 50, 80)));
+
+		assertEquals(List.of(
+				"root 0.0 100.0 20.0",
+				"a 10.0 30.0 30.0",
+				"b 40.0 50.0 20.0",
+				"c 50.0 30.0 30.0"), describe(path));
+	}
+
+	@Test
+	void overlappingChildrenOnlyCountTheOneThatFinishedLast() {
+		List<PathSegment> path = CriticalPathEndpoint.criticalPath(List.of(
+				span("root", null, 0, 100),
+				span("a", "root", 10, 90),
+				span("b", "root", 20, 60),
+				span("c", "root", 2, 8)));
+
+		assertEquals(List.of(
+				"root 0.0 100.0 14.0",
+				"c 2.0 6.0 6.0",
+				"a 10.0 80.0 80.0"), describe(path));
+	}
+
+	@Test
+	void childrenThatOutliveTheirParentAreClamped() {
+		List<PathSegment> path = CriticalPathEndpoint.criticalPath(List.of(
+				span("root", null, 0, 100),
+				span("p", "root", 10, 50),
+				span("q", "p", 30, 120),
+				span("r", "root", 90, 150)));
+
+		assertEquals(List.of(
+				"root 0.0 100.0 50.0",
+				"p 10.0 40.0 20.0",
+				"q 30.0 20.0 20.0",
+				"r 90.0 10.0 10.0"), describe(path));
+	}
+
+	@Test
+	void spansWithUnknownParentsAreRoots() {
+		List<PathSegment> path = CriticalPathEndpoint.criticalPath(List.of(
+				span("child", "root", 10, 20),
+				span("grandchild", "child", 12, 18)));
+
+		assertEquals(List.of(
+				"child 0.0 10.0 4.0",
+				"grandchild 2.0 6.0 6.0"), describe(path));
+	}
+}
@@ -0,0 +1,26 @@
+package dev.eventcreator.config;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class RestTemplateConfig {
+
+    /**
+     * Creates the RestTemplate for calls to the repository. Templates built by
+     * the RestTemplateBuilder record the latency of every request, so the calls
+     * show up in the http.client.requests metrics tagged with
+     * service=repository.
+     *
+     * @param builder The builder configured by Spring Boot.
+     * @return The RestTemplate for the repository.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        RestTemplate restTemplate = builder.build();
+        restTemplate.setObservationConvention(new DownstreamObservationConvention("repository"));
+        return restTemplate;
+    }
+}
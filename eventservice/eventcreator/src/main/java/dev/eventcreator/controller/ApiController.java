@@ -1,12 +1,12 @@
 package dev.eventcreator.controller;
 
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
@@ -16,10 +16,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import dev.eventcreator.model.Event;
+import dev.eventcreator.model.RatingEntry;
 import dev.eventcreator.service.EventService;
 
 import org.springframework.web.bind.annotation.PutMapping;
@@ -203,18 +205,20 @@ public class ApiController {
      *
      * This method is mapped to a PUT request at '/events/{eventID}/add/{userID}'
      * and handles adding a user
-     * as a participant to an event. It first checks if the event can accommodate
-     * more participants based on the
-     * maximum allowed participants. If the event is at capacity or the event
-     * doesn't exist, the method returns
-     * an appropriate error response. Otherwise, it adds the user to the event.
+     * as a participant to an event. The admission is done atomically by the
+     * repository, which checks the
+     * maximum allowed participants. If the event is at capacity, the user is
+     * already a participant or the event
+     * doesn't exist, the repository's error response is returned. If the event is
+     * full, the user is put on the event's waitlist. Otherwise, the user is added
+     * to the event.
      *
      * @param eventID The UUID of the event to which the participant is to be added.
      * @param userID  The UUID of the user to be added as a participant.
      * @return A ResponseEntity object. If successful, it includes the updated Event
-     *         object in the response with an OK status.
-     *         Otherwise, it returns a bad request or the status from the event
-     *         retrieval attempt.
+     *         object in the response with an OK status. If the user was put on
+     *         the waitlist, it includes the waitlist position with an accepted
+     *         status. Otherwise, it returns a not found or conflict status.
      */
     @PutMapping(value = "/events/{eventID}/add/{userID}", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
@@ -223,17 +227,7 @@ public class ApiController {
         log.info("PUT localhost:8081/events/{}/add/{} -> addParticipant({}, {}) is called", eventID, userID, eventID,
                 userID);
 
-        ResponseEntity<?> response = eventService.getEvent(eventID);
-        if (response.getStatusCode() != HttpStatus.OK) {
-            return response;
-        }
-
-        try {
-            Event event = eventService.addUser(eventID, userID);
-            return new ResponseEntity<Event>(event, HttpStatus.OK);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        }
+        return eventService.addUser(eventID, userID);
     }
 
     /**
@@ -241,10 +235,9 @@ public class ApiController {
      *
      * This method handles a PUT request at '/events/{eventID}/remove/{userID}' and
      * is responsible for removing a user
-     * as a participant from a specified event. It first checks if the event exists.
-     * If the event is not found or other
-     * errors occur, it returns an appropriate response. If the event exists, it
-     * proceeds to remove the specified user.
+     * as a participant from a specified event. The removal is done atomically by
+     * the repository. If the event is not found or other
+     * errors occur, it returns an appropriate response.
      *
      * @param eventID The UUID of the event from which the participant is to be
      *                removed.
@@ -261,41 +254,7 @@ public class ApiController {
         log.info("PUT localhost:8081/events/{}/remove/{} -> removeParticipant({}, {}) is called", eventID, userID,
                 eventID, userID);
 
-        ResponseEntity<?> response = eventService.getEvent(eventID);
-        if (response.getStatusCode() != HttpStatus.OK) {
-            return response;
-        }
-
-        Event event = eventService.removeUser(eventID, userID);
-        if (event == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not in Event.");
-        }
-        return new ResponseEntity<Event>(event, HttpStatus.OK);
-    }
-
-    /**
-     * Removes a participant from all events.
-     *
-     * This method, mapped to a PUT request at '/events/remove/{userID}', is
-     * responsible for removing a user,
-     * identified by userID, from all events they are participating in. The
-     * operation is executed by the
-     * eventService's 'removeUser' method. After successfully removing the user from
-     * all events, it returns a
-     * no content status as confirmation.
-     *
-     * @param userID The UUID of the user to be removed from all events.
-     * @return A ResponseEntity with HttpStatus.NO_CONTENT, indicating that the user
-     *         has been successfully
-     *         removed from all events.
-     */
-    @PutMapping(value = "/events/remove/{userID}", produces = MediaType.APPLICATION_JSON_VALUE)
-    @ResponseBody
-    public ResponseEntity<?> removeParticipantFromAllEvents(@PathVariable("userID") UUID userID) {
-        log.info("PUT localhost:8081/events/remove/{} -> removeParticipant({}) is called", userID, userID);
-
-        eventService.removeUser(userID);
-        return ResponseEntity.noContent().build();
+        return eventService.removeUser(eventID, userID);
     }
 
     /**
@@ -303,13 +262,11 @@ public class ApiController {
      *
      * This method, mapped to a PUT request at
      * '/events/{eventID}/{userID}/{rating}', allows a user
-     * to rate an event. It first validates that the rating is within an acceptable
-     * range (e.g., 1 to 5).
-     * If the rating is not valid, it returns a bad request response. It then checks
-     * if the event exists.
-     * If the event exists and the rating is valid, it proceeds to add the rating to
-     * the event. If the
-     * event is not found or other errors occur, it returns an appropriate response.
+     * to rate an event. The rating is applied atomically by the repository,
+     * which checks that the rating is within the acceptable range (1 to 5) and
+     * that the user is a participant. If the rating is not valid, it returns a
+     * bad request response. If the event is not found, the user is not a
+     * participant or other errors occur, it returns an appropriate response.
      *
      * @param eventID The UUID of the event to be rated.
      * @param userID  The UUID of the user giving the rating.
@@ -328,19 +285,199 @@ public class ApiController {
         log.info("PUT localhost:8081/events/{}/{}/{} -> rateEvent({}, {}, {}) is called", eventID, userID, rating,
                 eventID, userID, rating);
 
-        ResponseEntity<?> response = eventService.getEvent(eventID);
-        if (response.getStatusCode() != HttpStatus.OK) {
-            return response;
-        }
+        return eventService.addRating(eventID, userID, rating);
+    }
 
-        try {
-            Event event = eventService.addRating(eventID, userID, rating);
-            return new ResponseEntity<Event>(event, HttpStatus.OK);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
-        } catch (NotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not in Event.");
-        }
+    /**
+     * Adds many users as participants to an event in one request.
+     *
+     * Mapped to the POST request at '/events/{eventID}/participants:batch', this
+     * method takes a list of user IDs and admits them to the event in one atomic
+     * repository operation, in the given order, as long as the event has free
+     * places. The response lists which users were admitted and why others were
+     * rejected.
+     *
+     * @param eventID The UUID of the event to add the participants to.
+     * @param userIDs The UUIDs of the users to be added as participants.
+     * @return A ResponseEntity containing the result for every user in JSON
+     *         format, or the corresponding error response if the event is not
+     *         found or the batch is invalid.
+     */
+    @PostMapping(value = "/events/{eventID}/participants:batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> addParticipantBatch(@PathVariable("eventID") UUID eventID,
+            @RequestBody List<UUID> userIDs) {
+        log.info("POST localhost:8081/events/{}/participants:batch -> addParticipantBatch({}, {} users) is called",
+                eventID, eventID, userIDs.size());
+
+        return eventService.addUsers(eventID, userIDs);
     }
 
+    /**
+     * Rates an event by many users in one request.
+     *
+     * Mapped to the POST request at '/events/{eventID}/ratings:batch', this
+     * method takes a list of user IDs and ratings and applies them to the event
+     * in one atomic repository operation. Every rating is validated on its own;
+     * the response lists which ratings were applied and why others were rejected.
+     *
+     * @param eventID The UUID of the event to be rated.
+     * @param ratings The user IDs and ratings to be applied.
+     * @return A ResponseEntity containing the result of every rating in JSON
+     *         format, or the corresponding error response if the event is not
+     *         found or the batch is invalid.
+     */
+    @PostMapping(value = "/events/{eventID}/ratings:batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> rateEventBatch(@PathVariable("eventID") UUID eventID,
+            @RequestBody List<RatingEntry> ratings) {
+        log.info("POST localhost:8081/events/{}/ratings:batch -> rateEventBatch({}, {} ratings) is called", eventID,
+                eventID, ratings.size());
+
+        return eventService.addRatings(eventID, ratings);
+    }
+
+    /**
+     * Searches events by text.
+     *
+     * Mapped to the GET request at '/events/search', this method returns the
+     * events whose name or description contain the query terms, ranked by
+     * relevance. Names weigh more than descriptions. The search is served from
+     * the repository's full-text index.
+     *
+     * @param q     The search text.
+     * @param limit The maximum number of events to return, between 1 and 100.
+     * @return A ResponseEntity containing the matching events in JSON format, or
+     *         a bad request response if the limit is invalid.
+     */
+    @GetMapping(value = "/events/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> searchEvents(@RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.info("GET localhost:8081/events/search?q={}&limit={} -> searchEvents() is called", q, limit);
+
+        return eventService.search(q, limit);
+    }
+
+    /**
+     * Retrieves the top ranked events.
+     *
+     * Mapped to the GET request at '/events/top', this method returns the k
+     * highest rated events (only events with a minimum number of ratings are
+     * ranked) or the k events with the most participants. The ranking is
+     * maintained incrementally by the repository, so no events are scanned.
+     *
+     * @param by The ranking criterion, either 'rating' or 'participants'.
+     * @param k  The number of events to be returned, between 1 and 100.
+     * @return A ResponseEntity containing the ranked events in JSON format, or a
+     *         bad request response if the parameters are invalid.
+     */
+    @GetMapping(value = "/events/top", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> getTopEvents(@RequestParam(value = "by", defaultValue = "rating") String by,
+            @RequestParam(value = "k", defaultValue = "10") int k) {
+        log.info("GET localhost:8081/events/top?by={}&k={} -> getTopEvents({}, {}) is called", by, k, by, k);
+
+        return eventService.getTopEvents(by, k);
+    }
+
+    /**
+     * Retrieves the rating distribution of a specific event.
+     *
+     * Mapped to the GET request at '/events/{eventID}/ratings/summary', this
+     * method returns the 1-5 star distribution, average, median, percentiles and
+     * the number of ratings submitted within the last hour. The summary is
+     * computed by the repository from the event's rating histogram.
+     *
+     * @param eventID The UUID of the event whose ratings are summarized.
+     * @return A ResponseEntity containing the rating summary in JSON format, or
+     *         the corresponding error response if the event is not found.
+     */
+    @GetMapping(value = "/events/{eventID}/ratings/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> getRatingSummary(@PathVariable("eventID") UUID eventID) {
+        log.info("GET localhost:8081/events/{}/ratings/summary -> getRatingSummary({}) is called", eventID, eventID);
+
+        return eventService.getRatingSummary(eventID);
+    }
+
+    /**
+     * Retrieves the rating distribution over all events.
+     *
+     * Mapped to the GET request at '/events/ratings/summary', this method returns
+     * the merged rating histogram of all events together with the derived
+     * statistics.
+     *
+     * @return A ResponseEntity containing the merged rating summary in JSON format.
+     */
+    @GetMapping(value = "/events/ratings/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> getRatingSummary() {
+        log.info("GET localhost:8081/events/ratings/summary -> getRatingSummary() is called");
+
+        return eventService.getRatingSummary();
+    }
+
+    /**
+     * Retrieves the waitlist of an event.
+     *
+     * Mapped to the GET request at '/events/{eventID}/waitlist', this method
+     * returns the IDs of the users waiting for a seat of the event in the order
+     * in which they will be admitted.
+     *
+     * @param eventID The UUID of the event whose waitlist is retrieved.
+     * @return A ResponseEntity containing the waiting users in JSON format, or
+     *         the corresponding error response if the event is not found.
+     */
+    @GetMapping(value = "/events/{eventID}/waitlist", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> getWaitlist(@PathVariable("eventID") UUID eventID) {
+        log.info("GET localhost:8081/events/{}/waitlist -> getWaitlist({}) is called", eventID, eventID);
+
+        return eventService.getWaitlist(eventID);
+    }
+
+    /**
+     * Retrieves the waitlist position of a user.
+     *
+     * Mapped to the GET request at '/events/{eventID}/waitlist/{userID}', this
+     * method returns the 1-based position of the user on the waitlist of the
+     * event.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return A ResponseEntity containing the waitlist position in JSON format, or
+     *         the corresponding error response if the event is not found or the
+     *         user is not waiting.
+     */
+    @GetMapping(value = "/events/{eventID}/waitlist/{userID}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> getWaitlistPosition(@PathVariable("eventID") UUID eventID,
+            @PathVariable("userID") UUID userID) {
+        log.info("GET localhost:8081/events/{}/waitlist/{} -> getWaitlistPosition({}, {}) is called", eventID, userID,
+                eventID, userID);
+
+        return eventService.getWaitlistPosition(eventID, userID);
+    }
+
+    /**
+     * Removes a user from the waitlist of an event.
+     *
+     * Mapped to the DELETE request at '/events/{eventID}/waitlist/{userID}', this
+     * method gives up the user's place on the waitlist of the event.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return An empty ResponseEntity on success, or the corresponding error
+     *         response if the event is not found or the user is not waiting.
+     */
+    @DeleteMapping(value = "/events/{eventID}/waitlist/{userID}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> leaveWaitlist(@PathVariable("eventID") UUID eventID,
+            @PathVariable("userID") UUID userID) {
+        log.info("DELETE localhost:8081/events/{}/waitlist/{} -> leaveWaitlist({}, {}) is called", eventID, userID,
+                eventID, userID);
+
+        return eventService.leaveWaitlist(eventID, userID);
+    }
 }
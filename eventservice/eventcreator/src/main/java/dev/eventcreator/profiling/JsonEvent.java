@@ -0,0 +1,60 @@
+package dev.eventcreator.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.eventcreator.Json")
+@Label("JSON Processing")
+@Category({ "Eventcreator", "JSON" })
+@Description("JSON parsed into or serialized from Java objects")
+@StackTrace(false)
+public class JsonEvent extends Event {
+
+    @Label("Operation")
+    @Description("parse or serialize")
+    String operation;
+
+    @Label("Type")
+    String type;
+
+    @Label("Size")
+    @Description("The length of the JSON text, -1 if unknown")
+    @DataAmount
+    long bytes;
+
+    // not recorded by JFR, times the processing for the slow request log
+    private transient long startNanos;
+
+    /**
+     * Starts timing the parsing or serialization of a type.
+     *
+     * @param operation parse or serialize
+     * @param type      the type being parsed or serialized
+     * @return the started event, to be ended with {@link #end(long)}
+     */
+    public static JsonEvent begin(String operation, String type) {
+        JsonEvent event = new JsonEvent();
+        event.operation = operation;
+        event.type = type;
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the event if a recording is enabled for it and adds it to the
+     * breakdown of the current request.
+     *
+     * @param bytes the length of the JSON text
+     */
+    public void end(long bytes) {
+        this.bytes = bytes;
+        commit();
+        SlowRequestRecorder.json(operation, type, bytes, System.nanoTime() - startNanos);
+    }
+}
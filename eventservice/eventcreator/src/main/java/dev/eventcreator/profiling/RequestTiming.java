@@ -0,0 +1,45 @@
+package dev.eventcreator.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the downstream calls and JSON processing of the request being
+ * handled by the current thread, so a slow request can be broken down. Lists
+ * are only created once something is recorded.
+ */
+class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    final long startNanos = System.nanoTime();
+    final long startMillis = System.currentTimeMillis();
+    List<SlowRequest.Hop> hops;
+    List<SlowRequest.JsonTiming> json;
+
+    static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    static void start(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void hop(SlowRequest.Hop hop) {
+        if (hops == null) {
+            hops = new ArrayList<>();
+        }
+        hops.add(hop);
+    }
+
+    void json(SlowRequest.JsonTiming timing) {
+        if (json == null) {
+            json = new ArrayList<>();
+        }
+        json.add(timing);
+    }
+}
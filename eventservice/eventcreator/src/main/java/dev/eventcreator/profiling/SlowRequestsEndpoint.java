@@ -0,0 +1,40 @@
+package dev.eventcreator.profiling;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the recently captured slow requests at /actuator/slowrequests.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    @Autowired
+    private SlowRequestRecorder slowRequestRecorder;
+
+    /**
+     * Lists the captured slow requests with their downstream calls and JSON
+     * processing.
+     *
+     * @return the slow requests, slowest first
+     */
+    @ReadOperation
+    public List<SlowRequest> slowRequests() {
+        return slowRequestRecorder.getSlowRequests();
+    }
+
+    /**
+     * Discards the captured slow requests, for example after a fix was
+     * deployed.
+     */
+    @DeleteOperation
+    public void clear() {
+        slowRequestRecorder.clear();
+    }
+}
@@ -2,12 +2,17 @@ package dev.eventcreator.service;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.crossstore.ChangeSetPersister.NotFoundException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -20,15 +25,21 @@ import org.springframework.web.client.RestTemplate;
 
 import dev.eventcreator.model.Event;
 import dev.eventcreator.model.EventDTO;
+import dev.eventcreator.model.RatingEntry;
 
 @Service
 public class EventService {
 
     private static final Logger log = LoggerFactory.getLogger(EventService.class);
+    // logged only for requests with the debug-payload flag, see HotPathLogFilter
+    private static final Marker PAYLOAD = MarkerFactory.getMarker("PAYLOAD");
 
     @Value("${repository.url}")
     private String apiUrl;
 
+    @Autowired
+    private RestTemplate restTemplate;
+
     /**
      * Creates a new event by making a POST request to the
      * specified API endpoint.
@@ -43,7 +54,6 @@ public class EventService {
     public ResponseEntity<?> create(Event event) {
         log.info("Event Created: {}, {}", event.getName(), event.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/events";
 
         HttpHeaders headers = new HttpHeaders();
@@ -69,7 +79,6 @@ public class EventService {
      */
     public String getAll() {
         log.info("get all Events");
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/events";
 
         HttpHeaders headers = new HttpHeaders();
@@ -96,7 +105,6 @@ public class EventService {
     public ResponseEntity<?> getAllDTO() {
         log.info("get all Events as DTO");
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/events";
 
         HttpHeaders headers = new HttpHeaders();
@@ -116,17 +124,18 @@ public class EventService {
         String body = response.getBody();
         Collection<Event> values = Event.collectionFromJson(body);
 
-        log.info("values: {}", body);
-
-        for (Event event : values) {
-            log.info("Event: {}", event.toString());
+        if (log.isDebugEnabled(PAYLOAD)) {
+            log.debug(PAYLOAD, "values: {}", body);
+            for (Event event : values) {
+                log.debug(PAYLOAD, "Event: {}", event);
+            }
         }
 
         Collection<EventDTO> eventDTO = new ArrayList<>();
         if (values != null) {
             for (Event event : values) {
                 EventDTO newEvent = new EventDTO(event);
-                log.info("newEvent: {}", newEvent.getID());
+                log.debug(PAYLOAD, "newEvent: {}", newEvent.getID());
                 eventDTO.add(newEvent);
             }
         }
@@ -149,14 +158,13 @@ public class EventService {
     public String getEventString(UUID eventID) {
         log.info("get event by eventID: {}", eventID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID;
+        String url = apiUrl + "/events/{eventID}";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.GET, request, String.class).getBody().toString();
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID).getBody().toString();
         } catch (HttpClientErrorException e) {
             return e.getResponseBodyAsString();
         }
@@ -177,8 +185,168 @@ public class EventService {
     public ResponseEntity<?> getEvent(UUID eventID) {
         log.info("get event by eventID: {}", eventID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID;
+        String url = apiUrl + "/events/{eventID}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Adds many ratings to an event in one request by making a POST request to
+     * the specified API endpoint.
+     *
+     * @param eventID The UUID of the event to which the ratings will be added.
+     * @param ratings The user IDs and ratings to be added.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the result of every rating
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> addRatings(UUID eventID, List<RatingEntry> ratings) {
+        log.info("addRatings: eventID={}, ratings={}", eventID, ratings.size());
+
+        String url = apiUrl + "/events/{eventID}/ratings:batch";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<RatingEntry>> request = new HttpEntity<>(ratings, headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Adds many users to an event in one request by making a POST request to the
+     * specified API endpoint.
+     *
+     * @param eventID The UUID of the event to which the users will be added.
+     * @param userIDs The UUIDs of the users to be added.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include which users were admitted and which were rejected
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> addUsers(UUID eventID, List<UUID> userIDs) {
+        log.info("addUsers: eventID={}, users={}", eventID, userIDs.size());
+
+        String url = apiUrl + "/events/{eventID}/participants:batch";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<List<UUID>> request = new HttpEntity<>(userIDs, headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Searches the names and descriptions of all events by making a GET request
+     * to the specified API endpoint.
+     *
+     * @param query The search text.
+     * @param limit The maximum number of events to return.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the matching events, best match first,
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> search(String query, int limit) {
+        log.info("search Events: {}, limit {}", query, limit);
+
+        String url = apiUrl + "/events/search?q={q}&limit={limit}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, query, limit);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the top ranked events by making a GET request to the specified
+     * API endpoint.
+     *
+     * @param by The ranking criterion, either 'rating' or 'participants'.
+     * @param k  The number of events to be returned.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the ranked events
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getTopEvents(String by, int k) {
+        log.info("get top {} Events by {}", k, by);
+
+        String url = apiUrl + "/events/top?by={by}&k={k}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, by, k);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the rating distribution of an event by making a GET request to
+     * the specified API endpoint, using the provided eventID.
+     *
+     * @param eventID The UUID of the event whose ratings are summarized.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the rating summary
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getRatingSummary(UUID eventID) {
+        log.info("get rating summary by eventID: {}", eventID);
+
+        String url = apiUrl + "/events/{eventID}/ratings/summary";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the rating distribution over all events by making a GET request
+     * to the specified API endpoint.
+     *
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the merged rating summary
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getRatingSummary() {
+        log.info("get rating summary of all Events");
+
+        String url = apiUrl + "/events/ratings/summary";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
@@ -190,6 +358,86 @@ public class EventService {
         }
     }
 
+    /**
+     * Retrieves the users waiting for a seat of an event by making a GET request
+     * to the specified API endpoint, using the provided eventID.
+     *
+     * @param eventID The UUID of the event whose waitlist is retrieved.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the IDs of the waiting users in admission order
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getWaitlist(UUID eventID) {
+        log.info("get waitlist by eventID: {}", eventID);
+
+        String url = apiUrl + "/events/{eventID}/waitlist";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the waitlist position of a user by making a GET request to the
+     * specified API endpoint, using the provided eventID and userID.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the waitlist position
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getWaitlistPosition(UUID eventID, UUID userID) {
+        log.info("get waitlist position: eventID={}, userID={}", eventID, userID);
+
+        String url = apiUrl + "/events/{eventID}/waitlist/{userID}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, eventID, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Removes a user from the waitlist of an event by making a DELETE request to
+     * the specified API endpoint, using the provided eventID and userID.
+     *
+     * @param eventID The UUID of the event.
+     * @param userID  The UUID of the waiting user.
+     * @return A ResponseEntity containing the response from the server, which is
+     *         empty on success
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> leaveWaitlist(UUID eventID, UUID userID) {
+        log.info("leave waitlist: eventID={}, userID={}", eventID, userID);
+
+        String url = apiUrl + "/events/{eventID}/waitlist/{userID}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class, eventID, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
     /**
      * Replaces an existing event with updated event data by
      * making a PUT request to the specified API endpoint.
@@ -204,15 +452,14 @@ public class EventService {
     public ResponseEntity<?> replace(Event event) {
         log.info("update event: {}", event.getID());
         log.info("event Participants: {}", event.getParticipants());
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + event.getID();
+        String url = apiUrl + "/events/{eventID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<Event> request = new HttpEntity<Event>(event, headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, event.getID());
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -233,153 +480,153 @@ public class EventService {
     public ResponseEntity<?> delete(UUID eventID) {
         log.info("delete eventID: {}", eventID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/events/" + eventID;
+        String url = apiUrl + "/events/{eventID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class, eventID);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
     }
 
     /**
-     * Adds a user to an event by making necessary checks and
-     * updates.
+     * Adds a user to an event by making a PUT request to the
+     * specified API endpoint. The repository admits the user
+     * atomically, so the event can not be overbooked by
+     * concurrent joins.
      *
      * @param eventID The UUID of the event to which the user will be added.
      * @param userID  The UUID of the user to be added to the event.
-     * @return The Event object representing the updated event after adding the
-     *         user.
-     * @throws IllegalArgumentException If the user is already a participant in the
-     *                                  event or if the participant limit is
-     *                                  reached.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the updated event
+     *         or an error message in case of failure, e.g. a conflict if the user
+     *         is already a participant or the participant limit is reached.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
      */
-    public Event addUser(UUID eventID, UUID userID) throws IllegalArgumentException {
+    public ResponseEntity<?> addUser(UUID eventID, UUID userID) {
         log.info("addUser: eventID={}, userID={}", eventID, userID);
-        String eventString = getEventString(eventID);
-        Event event = Event.eventFromJson(eventString).setID(eventID);
 
-        if (event.contains(userID)) {
-            throw new IllegalArgumentException("User is already event participant.");
-        }
-        if (!event.addParticipant(userID)) {
-            throw new IllegalArgumentException("Participant limit reached.");
+        String url = apiUrl + "/events/{eventID}/participants/{userID}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, eventID, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
-        log.info("addUser, participants: {}", event.getParticipants());
-        replace(event);
-        return event;
     }
 
     /**
-     * Removes a user from an event by making necessary checks
-     * and updates.
+     * Removes a user from an event by making a DELETE request
+     * to the specified API endpoint.
      *
      * @param eventID The UUID of the event from which the user will be removed.
      * @param userID  The UUID of the user to be removed from the event.
-     * @return The Event object representing the updated event after removing the
-     *         user, or null if the user was not a participant.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the updated event
+     *         or an error message in case of failure, e.g. if the user is not a
+     *         participant.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
      */
-    public Event removeUser(UUID eventID, UUID userID) {
+    public ResponseEntity<?> removeUser(UUID eventID, UUID userID) {
         log.info("removeUser: eventID={}, user={}", eventID, userID);
-        String eventString = getEventString(eventID);
-        Event event = Event.eventFromJson(eventString);
 
-        if (!event.removeParticipant(userID)) {
-            return null;
-        }
+        String url = apiUrl + "/events/{eventID}/participants/{userID}";
 
-        log.info("removeUser: participants{}", event.getParticipants());
-        replace(event);
-        return event;
-    }
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
 
-    /**
-     * Removes a user with the given userID from all events on a remote server where
-     * the user is a participant.
-     *
-     * @param userID The UUID of the user to be removed from all events.
-     */
-    public void removeUser(UUID userID) {
-        log.info("removeUser: userId={}", userID);
-        for (Event event : Event.collectionFromJson(getAll())) {
-            if (event.removeParticipant(userID)) {
-                replace(event);
-            }
+        try {
+            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class, eventID, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
     }
 
     /**
-     * Adds a rating for a user on a specific event, making
-     * necessary checks and updates.
+     * Rates an event by one of its participants by making a PUT request to the
+     * specified API endpoint. The repository applies the rating atomically, so
+     * concurrent joins, leaves and ratings of the event are kept.
      *
-     * @param eventID The UUID of the event to which the rating will be added.
-     * @param userID  The UUID of the user for whom the rating is being added.
-     * @param rating  The rating value to be added.
-     * @return The Event object representing the updated event after adding the
-     *         rating.
-     * @throws NotFoundException        If the event or user is not found, or the
-     *                                  user is not a participant.
-     * @throws IllegalArgumentException If the rating value is not valid.
+     * @param eventID The UUID of the event to be rated.
+     * @param userID  The UUID of the participant giving the rating.
+     * @param rating  The rating value between 1 and 5.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the updated event
+     *         or an error message in case of failure, e.g. a bad request if the
+     *         rating is not valid or not found if the user is not a participant.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
      */
-    public Event addRating(UUID eventID, UUID userID, int rating) throws NotFoundException, IllegalArgumentException {
+    public ResponseEntity<?> addRating(UUID eventID, UUID userID, int rating) {
         log.info("addRating: eventID={}, userID={}, rating={}", eventID, userID, rating);
-        String eventString = getEventString(eventID);
-        Event event = Event.eventFromJson(eventString);
-        if (event == null || !event.contains(userID)) {
-            throw new NotFoundException();
-        }
 
-        if (!event.rate(userID, rating)) {
-            throw new IllegalArgumentException("Rating not valid.");
+        String url = apiUrl + "/events/{eventID}/ratings/{userID}?rating={rating}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, eventID, userID, rating);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
-        replace(event);
-        return event;
     }
 
     /**
-     * Updates an existing event with new event data, making
-     * necessary checks and updates.
+     * Updates the given fields of an existing event by making a POST request to
+     * the specified API endpoint. The repository changes only these fields
+     * while the event is locked, so the participants and ratings are never
+     * overwritten.
      *
      * @param newEvent The Event object representing the updated event data.
      * @return A ResponseEntity containing the response from the server, which may
      *         include updated event data
      *         or an error message in case of failure.
-     * @throws IllegalArgumentException If the new event data contains invalid
-     *                                  values.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
      */
     public ResponseEntity<?> updateEvent(Event newEvent) {
         log.info("update Event: {}", newEvent.getID());
 
-        Event event = Event.eventFromJson(getEvent(newEvent.getID()).getBody().toString());
-
-        if (event == null) {
-            return replace(newEvent);
-        }
-
+        Map<String, Object> patch = new HashMap<>();
         if (newEvent.getName() != null) {
-            event.setName(newEvent.getName());
+            patch.put("name", newEvent.getName());
         }
         if (newEvent.getDescription() != null) {
-            event.setDescription(newEvent.getDescription());
+            patch.put("description", newEvent.getDescription());
         }
         if (newEvent.getDateTime() != null) {
-            event.setDateTime(newEvent.getDateTime());
+            patch.put("dateTime", newEvent.getDateTime());
         }
         if (newEvent.getLocation() != null) {
-            event.setLocation(newEvent.getLocation());
+            patch.put("location", newEvent.getLocation());
         }
         if (newEvent.getMaxParticipants() != 10) {
-            event.setMaxParticipants(newEvent.getMaxParticipants());
+            patch.put("maxParticipants", newEvent.getMaxParticipants());
         }
         if (newEvent.getOrganizerUserID() != null) {
-            event.setOrganizerUserID(newEvent.getOrganizerUserID());
+            patch.put("organizerUserID", newEvent.getOrganizerUserID());
         }
 
-        return replace(event);
+        String url = apiUrl + "/events/{eventID}:patch";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(patch, headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.POST, request, String.class, newEvent.getID());
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
     }
 }
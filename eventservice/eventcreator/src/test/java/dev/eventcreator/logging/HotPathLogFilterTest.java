@@ -0,0 +1,82 @@
+package dev.eventcreator.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+
+class HotPathLogFilterTest {
+
+	private static final Marker PAYLOAD = MarkerFactory.getMarker(HotPathLogFilter.PAYLOAD);
+
+	private final LoggerContext context = new LoggerContext();
+	private final Logger service = context.getLogger("dev.eventcreator.service.EventService");
+	private final Logger other = context.getLogger("dev.eventcreator.config.RestTemplateConfig");
+
+	private HotPathLogFilter filter(int maxPerSecond) {
+		HotPathLogFilter filter = new HotPathLogFilter();
+		filter.setContext(context);
+		filter.setLoggers("dev.eventcreator.controller, dev.eventcreator.service");
+		filter.setMaxPerSecond(maxPerSecond);
+		filter.start();
+		return filter;
+	}
+
+	private static FilterReply decide(HotPathLogFilter filter, Marker marker, Logger logger, Level level,
+			String format) {
+		return filter.decide(marker, logger, level, format, null, null);
+	}
+
+	@Test
+	void payloadIsLoggedOnlyWithDebugFlag() {
+		HotPathLogFilter filter = filter(50);
+
+		assertEquals(FilterReply.DENY, decide(filter, PAYLOAD, service, Level.DEBUG, "values: {}"));
+		assertEquals(FilterReply.DENY, decide(filter, PAYLOAD, service, Level.DEBUG, null));
+
+		MDC.put("debug-payload", "true");
+		try {
+			assertEquals(FilterReply.ACCEPT, decide(filter, PAYLOAD, service, Level.DEBUG, "values: {}"));
+			assertEquals(FilterReply.ACCEPT, decide(filter, PAYLOAD, service, Level.DEBUG, null));
+		} finally {
+			MDC.remove("debug-payload");
+		}
+	}
+
+	@Test
+	void infoIsRateLimitedButWarningsAreNot() {
+		HotPathLogFilter filter = filter(2);
+
+		int logged = 0;
+		for (int i = 0; i < 100; i++) {
+			if (decide(filter, null, service, Level.INFO, "get all Events") == FilterReply.NEUTRAL) {
+				logged++;
+			}
+		}
+		// a new second may start during the loop and allow another two
+		assertTrue(logged >= 2 && logged <= 4, "logged " + logged);
+
+		assertEquals(FilterReply.NEUTRAL, decide(filter, null, service, Level.WARN, "request failed"));
+		assertEquals(FilterReply.NEUTRAL, decide(filter, null, service, Level.ERROR, "request failed"));
+	}
+
+	@Test
+	void levelChecksAndOtherLoggersAreNotLimited() {
+		HotPathLogFilter filter = filter(1);
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(FilterReply.NEUTRAL, decide(filter, null, service, Level.INFO, null));
+			assertEquals(FilterReply.NEUTRAL, decide(filter, null, other, Level.INFO, "started"));
+		}
+		assertEquals(FilterReply.NEUTRAL, decide(filter, null, service, Level.INFO, "get all Events"));
+	}
+
+}
@@ -0,0 +1,66 @@
+package dev.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import dev.repoplaner.config.DatasetGenerator;
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.User;
+import dev.repoplaner.service.RepositoryService;
+
+/**
+ * The users and events the traffic works on. They are generated like the
+ * repository's startup dataset and loaded straight into the repository
+ * service, because creating thousands of users through the gateway would
+ * mostly measure password hashing.
+ */
+class Dataset {
+
+    private static final String PASSWORD_HASH = "$2a$10$" + "x".repeat(53);
+
+    final List<UUID> users = new ArrayList<>();
+    final IdPool events = new IdPool();
+
+    /**
+     * Generates and stores users and events.
+     *
+     * @param repository   the repository service to be seeded
+     * @param users        the number of users
+     * @param events       the number of events
+     * @param participants the median number of participants per event
+     * @param seed         the seed, the same seed gives the same dataset
+     * @return the IDs of the stored users and events
+     */
+    static Dataset seed(RepositoryService repository, int users, int events, int participants, long seed) {
+        dev.repoplaner.config.Dataset generated = new DatasetGenerator()
+                .setSeed(seed)
+                .setUsers(users)
+                .setEvents(events)
+                .setParticipantsMedian(participants)
+                .setPasswordHash(PASSWORD_HASH)
+                .generate();
+        repository.load(generated.getUsers(), generated.getEvents());
+
+        Dataset dataset = new Dataset();
+        for (User user : generated.getUsers()) {
+            dataset.users.add(user.getID());
+        }
+        for (Event event : generated.getEvents()) {
+            dataset.events.add(event.getID());
+        }
+        return dataset;
+    }
+
+    /**
+     * Returns a random topic of the generated events, so searches find them.
+     */
+    static String word(Random random) {
+        return DatasetGenerator.TOPICS.get(random.nextInt(DatasetGenerator.TOPICS.size()));
+    }
+
+    UUID randomUser(Random random) {
+        return users.get(random.nextInt(users.size()));
+    }
+}
@@ -0,0 +1,70 @@
+package dev.loadtest;
+
+import java.io.IOException;
+
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * Records the latency of every downstream call a service makes, named after
+ * the calling service, the called service and the uri template, for example
+ * "eventplaner > eventservice GET /events/{eventID}". The harness registers
+ * one per service context.
+ */
+class HopRecorder implements ObservationHandler<ClientRequestObservationContext> {
+
+    private static final String START = HopRecorder.class.getName() + ".start";
+
+    private final String application;
+    private final LatencyRecorder hops;
+
+    HopRecorder(String application, LatencyRecorder hops) {
+        this.application = application;
+        this.hops = hops;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ClientRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(ClientRequestObservationContext context) {
+        context.put(START, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(ClientRequestObservationContext context) {
+        Long start = context.get(START);
+        if (start == null) {
+            return;
+        }
+        KeyValue service = context.getLowCardinalityKeyValue("service");
+        String method = context.getCarrier() == null ? "" : context.getCarrier().getMethod().name() + " ";
+        String uri = context.getUriTemplate() == null ? "" : context.getUriTemplate().replaceFirst("^https?://[^/]+", "");
+        String name = application + " > " + (service == null ? "?" : service.getValue()) + " " + method + uri;
+        if (failed(context)) {
+            hops.error(name);
+        } else {
+            hops.record(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns whether the call got no response or a server error. Client errors
+     * such as 404 are answers the services expect, so they count as latencies.
+     */
+    private static boolean failed(ClientRequestObservationContext context) {
+        if (context.getResponse() == null) {
+            return true;
+        }
+        try {
+            return context.getResponse().getStatusCode().is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package dev.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The IDs of the events that currently exist, so the traffic only refers to
+ * events the services know. Creates and deletes change the pool while requests
+ * are sent, so it is synchronized.
+ */
+class IdPool {
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    synchronized void add(UUID id) {
+        ids.add(id);
+    }
+
+    /**
+     * Returns a random ID, or null if the pool is empty.
+     */
+    synchronized UUID pick() {
+        return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * Removes and returns a random ID, or null if the pool is empty.
+     */
+    synchronized UUID take() {
+        if (ids.isEmpty()) {
+            return null;
+        }
+        int i = ThreadLocalRandom.current().nextInt(ids.size());
+        UUID id = ids.get(i);
+        ids.set(i, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
@@ -0,0 +1,55 @@
+package dev.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Records latencies in microseconds per name, such as an endpoint or a hop,
+ * into HdrHistogram recorders, which many threads can write without locking.
+ * Failed calls are counted separately and not recorded as latencies.
+ */
+public class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String name, long nanos) {
+        recorders.computeIfAbsent(name, n -> new Recorder(SIGNIFICANT_DIGITS))
+                .recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    public void error(String name) {
+        errors.computeIfAbsent(name, n -> new LongAdder()).increment();
+    }
+
+    /**
+     * Discards everything recorded so far, for example the warmup.
+     */
+    public void reset() {
+        recorders.values().forEach(Recorder::getIntervalHistogram);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Returns the latencies recorded since the last reset or snapshot, by name.
+     */
+    public Map<String, Histogram> snapshot() {
+        Map<String, Histogram> histograms = new TreeMap<>();
+        recorders.forEach((name, recorder) -> histograms.put(name, recorder.getIntervalHistogram()));
+        errors.keySet().forEach(name -> histograms.computeIfAbsent(name, n -> new Histogram(SIGNIFICANT_DIGITS)));
+        return histograms;
+    }
+
+    public long errors(String name) {
+        LongAdder count = errors.get(name);
+        return count == null ? 0 : count.sum();
+    }
+}
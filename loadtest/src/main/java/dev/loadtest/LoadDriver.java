@@ -0,0 +1,213 @@
+package dev.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Sends the traffic mix to the gateway as an open model: requests start at
+ * exponentially distributed intervals at the configured rate, independent of
+ * how fast earlier requests complete. The latency of a request is measured
+ * from its planned start, so when the driver falls behind, the delay counts
+ * against the system instead of being hidden.
+ */
+public class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String gatewayUrl;
+    private final Dataset dataset;
+    private final LoadTestConfig config;
+    private final LatencyRecorder endpoints = new LatencyRecorder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Random random;
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final HttpClient client;
+
+    LoadDriver(String gatewayUrl, Dataset dataset, LoadTestConfig config) {
+        this.gatewayUrl = gatewayUrl;
+        this.dataset = dataset;
+        this.config = config;
+        this.random = new Random(config.getSeed());
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * Seeds the services, runs the warmup and the measurement and returns the
+     * latencies of the measurement.
+     *
+     * @param cluster the running services
+     * @param config  the settings of the run
+     * @return the report of the measurement
+     * @throws InterruptedException if interrupted while waiting for requests
+     */
+    public static LoadReport run(ServiceCluster cluster, LoadTestConfig config) throws InterruptedException {
+        Dataset dataset = Dataset.seed(cluster.repositoryService(), config.getUsers(), config.getEvents(),
+                config.getParticipants(), config.getSeed());
+        LoadDriver driver = new LoadDriver(cluster.gatewayUrl(), dataset, config);
+        try {
+            driver.drive(config.getWarmup());
+            driver.awaitCompletion();
+            driver.reset();
+            cluster.hops().reset();
+
+            long start = System.nanoTime();
+            driver.drive(config.getDuration());
+            driver.awaitCompletion();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return new LoadReport(config, driver.sent.sum() / seconds, driver.dropped.sum(),
+                    driver.endpoints, cluster.hops());
+        } finally {
+            driver.executor.shutdownNow();
+        }
+    }
+
+    private void drive(Duration duration) {
+        double meanIntervalNanos = 1e9 / config.getRate();
+        long next = System.nanoTime();
+        long end = next + duration.toNanos();
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(next);
+            next += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+    }
+
+    private void send(long plannedStart) {
+        Request request = request(config.getMix().next(random));
+        if (inFlight.get() >= config.getMaxInFlight()) {
+            dropped.increment();
+            endpoints.error(request.name);
+            return;
+        }
+        inFlight.incrementAndGet();
+        sent.increment();
+        client.sendAsync(request.http, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - plannedStart;
+            inFlight.decrementAndGet();
+            if (error != null || response.statusCode() >= 500) {
+                endpoints.error(request.name);
+                return;
+            }
+            endpoints.record(request.name, latency);
+            if (request.name.equals("create") && response.statusCode() < 300) {
+                created(response.body());
+            }
+        });
+    }
+
+    /**
+     * Builds the request for an action. Browsing is split between the pages
+     * a visitor opens: mostly single events, then search, the top list and
+     * sometimes the list of all events. Deletes take their event out of the
+     * pool before they are sent, so no later request picks it.
+     */
+    private Request request(TrafficMix.Action action) {
+        UUID event = dataset.events.pick();
+        if (event == null || dataset.users.isEmpty()) {
+            action = TrafficMix.Action.CREATE;
+        }
+        switch (action) {
+        case JOIN:
+            return new Request("join", put("/events/" + event + "/add/" + dataset.randomUser(random)));
+        case RATE:
+            return new Request("rate", put("/events/" + event + "/" + dataset.randomUser(random) + "/"
+                    + (1 + random.nextInt(5))));
+        case CREATE:
+            return new Request("create", HttpRequest.newBuilder(uri("/events")).timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(newEvent())).build());
+        case DELETE:
+            UUID deleted = dataset.events.size() > 1 ? dataset.events.take() : event;
+            return new Request("delete", HttpRequest.newBuilder(uri("/events/" + deleted)).timeout(REQUEST_TIMEOUT)
+                    .DELETE().build());
+        default:
+            int page = random.nextInt(100);
+            if (page < 60) {
+                return new Request("browse.event", get("/events/" + event));
+            } else if (page < 80) {
+                return new Request("browse.search", get("/events/search?q=" + Dataset.word(random)));
+            } else if (page < 95) {
+                return new Request("browse.top", get("/events/top?by=rating&k=10"));
+            }
+            return new Request("browse.list", get("/events"));
+        }
+    }
+
+    private String newEvent() {
+        return "{\"name\":\"" + Dataset.word(random) + " " + Dataset.word(random) + "\","
+                + "\"description\":\"created by the load test\","
+                + "\"dateTime\":\"" + LocalDateTime.of(2025, 1, 1, 18, 0).plusDays(random.nextInt(365)) + "\","
+                + "\"location\":{\"latitude\":50.13,\"longitude\":8.69},"
+                + "\"maxParticipants\":" + (10 + random.nextInt(90)) + "}";
+    }
+
+    private void created(String body) {
+        try {
+            JsonNode id = mapper.readTree(body).get("id");
+            if (id != null) {
+                dataset.events.add(UUID.fromString(id.asText()));
+            }
+        } catch (Exception e) {
+            // a created event that cannot be read is simply not used again
+        }
+    }
+
+    private void awaitCompletion() throws InterruptedException {
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private void reset() {
+        endpoints.reset();
+        sent.reset();
+        dropped.reset();
+    }
+
+    private URI uri(String path) {
+        return URI.create(gatewayUrl + path);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest put(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static final class Request {
+
+        final String name;
+        final HttpRequest http;
+
+        Request(String name, HttpRequest http) {
+            this.name = name;
+            this.http = http;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package dev.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * The latencies of a measurement per gateway endpoint and per hop between the
+ * services, with the percentiles the thresholds are checked against.
+ */
+public class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadTestConfig config;
+    private final double achievedRate;
+    private final long dropped;
+    private final Map<String, Histogram> endpoints;
+    private final Map<String, Histogram> hops;
+    private final LatencyRecorder endpointErrors;
+    private final LatencyRecorder hopErrors;
+
+    LoadReport(LoadTestConfig config, double achievedRate, long dropped, LatencyRecorder endpoints,
+            LatencyRecorder hops) {
+        this.config = config;
+        this.achievedRate = achievedRate;
+        this.dropped = dropped;
+        this.endpoints = endpoints.snapshot();
+        this.hops = hops.snapshot();
+        this.endpointErrors = endpoints;
+        this.hopErrors = hops;
+    }
+
+    /**
+     * Prints a table with count, errors and latency percentiles in milliseconds
+     * of every endpoint and hop.
+     */
+    public void print(PrintStream out) {
+        out.println("load test: " + config);
+        out.printf("sent %.1f requests/s, %d dropped%n", achievedRate, dropped);
+        print(out, "endpoint", endpoints, endpointErrors);
+        print(out, "hop", hops, hopErrors);
+    }
+
+    private static void print(PrintStream out, String title, Map<String, Histogram> histograms,
+            LatencyRecorder errors) {
+        out.printf("%n%-60s %8s %7s %9s %9s %9s %9s %9s%n", title, "count", "errors", "p50", "p90", "p99",
+                "p99.9", "max");
+        histograms.forEach((name, histogram) -> out.printf("%-60s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), errors.errors(name), millis(histogram, 50), millis(histogram, 90),
+                millis(histogram, 99), millis(histogram, 99.9), histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    /**
+     * Writes the full percentile distribution of every endpoint and hop in
+     * milliseconds as .hgrm files, which the HdrHistogram plotter can compare
+     * between runs.
+     */
+    public void writeHistograms(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        write(dir, "endpoint", endpoints);
+        write(dir, "hop", hops);
+    }
+
+    private static void write(Path dir, String prefix, Map<String, Histogram> histograms) throws IOException {
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            String file = prefix + "-" + entry.getKey().replaceAll("[^A-Za-z0-9.]+", "_") + ".hgrm";
+            try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(file)))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Checks the endpoints against the thresholds.
+     *
+     * @return a description of every exceeded threshold, empty if all are met
+     */
+    public List<String> violations(Thresholds thresholds) {
+        List<String> violations = new ArrayList<>();
+        endpoints.forEach((name, histogram) -> {
+            double p99 = millis(histogram, 99);
+            double maxP99 = thresholds.p99Millis(name);
+            if (p99 > maxP99) {
+                violations.add(String.format("%s: p99 %.2f ms exceeds %.2f ms", name, p99, maxP99));
+            }
+            long errors = endpointErrors.errors(name);
+            long total = histogram.getTotalCount() + errors;
+            double errorRate = total == 0 ? 0 : (double) errors / total;
+            if (errorRate > thresholds.errorRate()) {
+                violations.add(String.format("%s: error rate %.4f exceeds %.4f (%d of %d)", name, errorRate,
+                        thresholds.errorRate(), errors, total));
+            }
+        });
+        return violations;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,106 @@
+package dev.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * The settings of a load test run, read from system properties with the
+ * prefix "loadtest.", so they can be passed to mvn test with -D.
+ */
+public class LoadTestConfig {
+
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final TrafficMix mix;
+    private final int users;
+    private final int events;
+    private final int participants;
+    private final int maxInFlight;
+    private final long seed;
+    private final String logLevel;
+    private final Path reportDir;
+
+    private LoadTestConfig() {
+        rate = Double.parseDouble(property("rate", "100"));
+        warmup = Duration.parse(property("warmup", "PT10S"));
+        duration = Duration.parse(property("duration", "PT30S"));
+        mix = new TrafficMix(property("mix", "browse=70,join=10,rate=10,create=5,delete=5"));
+        users = Integer.parseInt(property("users", "1000"));
+        events = Integer.parseInt(property("events", "500"));
+        participants = Integer.parseInt(property("participants", "10"));
+        maxInFlight = Integer.parseInt(property("max-in-flight", "256"));
+        seed = Long.parseLong(property("seed", "42"));
+        logLevel = property("log-level", "WARN");
+        reportDir = Path.of(property("report-dir", "target/loadtest"));
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    /**
+     * Returns the mean number of requests started per second. Requests are
+     * started at random intervals at this rate whether or not earlier requests
+     * have completed.
+     */
+    public double getRate() {
+        return rate;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    TrafficMix getMix() {
+        return mix;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getEvents() {
+        return events;
+    }
+
+    public int getParticipants() {
+        return participants;
+    }
+
+    /**
+     * Returns the number of requests that may be outstanding at once. Requests
+     * beyond it are not sent and count as errors, so an overloaded system fails
+     * the run instead of exhausting the load generator.
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getLogLevel() {
+        return logLevel;
+    }
+
+    public Path getReportDir() {
+        return reportDir;
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, warmup=" + warmup + ", duration=" + duration + ", mix=" + mix + ", users="
+                + users + ", events=" + events + ", participants=" + participants + ", maxInFlight=" + maxInFlight
+                + ", seed=" + seed;
+    }
+}
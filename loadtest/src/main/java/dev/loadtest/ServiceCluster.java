@@ -0,0 +1,131 @@
+package dev.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import dev.eventcreator.eventcreatorApplication;
+import dev.eventplaner.EventplanerApplication;
+import dev.repoplaner.repoplanerApplication;
+import dev.repoplaner.service.RepositoryService;
+import dev.userplaner.userplanerApplication;
+
+/**
+ * Starts the repository, the event service, the user service and the gateway
+ * in this JVM, each in its own application context on a free port, wired to
+ * each other through the same url properties as when they run on 8080-8083.
+ * Every context gets a {@link HopRecorder}, so the latency of each downstream
+ * call is recorded.
+ */
+public class ServiceCluster implements AutoCloseable {
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final LatencyRecorder hops = new LatencyRecorder();
+    private final int gatewayPort;
+    private final RepositoryService repositoryService;
+
+    private ServiceCluster(String logLevel) throws IOException {
+        int[] ports = freePorts(4);
+        gatewayPort = ports[0];
+        List<String> urls = List.of(
+                "--eventplaner.url=http://localhost:" + ports[0],
+                "--eventservice.url=http://localhost:" + ports[1],
+                "--repository.url=http://localhost:" + ports[2],
+                "--userservice.url=http://localhost:" + ports[3]);
+        try {
+            ConfigurableApplicationContext repository = start(repoplanerApplication.class, "repoplaner", ports[2],
+                    urls, logLevel);
+            start(eventcreatorApplication.class, "eventcreator", ports[1], urls, logLevel);
+            start(userplanerApplication.class, "userplaner", ports[3], urls, logLevel);
+            start(EventplanerApplication.class, "eventplaner", ports[0], urls, logLevel);
+            repositoryService = repository.getBean(RepositoryService.class);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the four services.
+     *
+     * @param logLevel the level of the root logger, WARN keeps the per-request
+     *                 INFO logging of the services out of the measurement
+     * @return the running services
+     * @throws IOException if no free ports are found
+     */
+    public static ServiceCluster start(String logLevel) throws IOException {
+        return new ServiceCluster(logLevel);
+    }
+
+    public String gatewayUrl() {
+        return "http://localhost:" + gatewayPort;
+    }
+
+    /**
+     * Returns the repository service of the running repository, to seed it
+     * without going through the API.
+     */
+    public RepositoryService repositoryService() {
+        return repositoryService;
+    }
+
+    /**
+     * Returns the latencies of the downstream calls between the services.
+     */
+    public LatencyRecorder hops() {
+        return hops;
+    }
+
+    @Override
+    public void close() {
+        // the gateway first, so no calls reach services that are already stopped
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+    }
+
+    /**
+     * Starts one service. All services share one classpath, so only one of their
+     * application.properties is found; the properties that differ between the
+     * services are therefore passed as arguments, which take precedence.
+     */
+    private ConfigurableApplicationContext start(Class<?> application, String name, int port, List<String> urls,
+            String logLevel) {
+        List<String> args = new ArrayList<>(urls);
+        args.add("--server.port=" + port);
+        args.add("--spring.application.name=" + name);
+        args.add("--logging.level.root=" + logLevel);
+        // the load test seeds the repository itself
+        args.add("--dataset.load=false");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .bannerMode(Banner.Mode.OFF)
+                .initializers(c -> c.getBeanFactory().registerSingleton("loadTestHopRecorder",
+                        new HopRecorder(name, hops)))
+                .run(args.toArray(new String[0]));
+        contexts.add(context);
+        return context;
+    }
+
+    private static int[] freePorts(int count) throws IOException {
+        List<ServerSocket> sockets = new ArrayList<>();
+        try {
+            int[] ports = new int[count];
+            for (int i = 0; i < count; i++) {
+                ServerSocket socket = new ServerSocket(0);
+                sockets.add(socket);
+                ports[i] = socket.getLocalPort();
+            }
+            return ports;
+        } finally {
+            for (ServerSocket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+}
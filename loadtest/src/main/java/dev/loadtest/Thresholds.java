@@ -0,0 +1,55 @@
+package dev.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * The p99 latency in milliseconds each endpoint may reach and the share of
+ * requests that may fail, loaded from a properties file on the classpath:
+ *
+ * <pre>
+ * default.p99-ms=500
+ * browse.event.p99-ms=100
+ * error-rate=0.01
+ * </pre>
+ *
+ * Every value can be overridden with a system property of the same name
+ * prefixed with "loadtest.threshold.".
+ */
+public class Thresholds {
+
+    private static final String OVERRIDE_PREFIX = "loadtest.threshold.";
+
+    private final Properties properties = new Properties();
+
+    private Thresholds() {
+    }
+
+    public static Thresholds load(String resource) {
+        Thresholds thresholds = new Thresholds();
+        try (InputStream in = Thresholds.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Thresholds not found: " + resource);
+            }
+            thresholds.properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return thresholds;
+    }
+
+    double p99Millis(String endpoint) {
+        String value = value(endpoint + ".p99-ms");
+        return Double.parseDouble(value != null ? value : value("default.p99-ms"));
+    }
+
+    double errorRate() {
+        return Double.parseDouble(value("error-rate"));
+    }
+
+    private String value(String key) {
+        return System.getProperty(OVERRIDE_PREFIX + key, properties.getProperty(key));
+    }
+}
@@ -0,0 +1,56 @@
+package dev.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The share of each kind of user action in the traffic, parsed from a list
+ * like "browse=70,join=10,rate=10,create=5,delete=5". The weights do not have
+ * to add up to 100.
+ */
+class TrafficMix {
+
+    enum Action {
+        BROWSE, JOIN, RATE, CREATE, DELETE
+    }
+
+    private final Map<Action, Integer> weights = new EnumMap<>(Action.class);
+    private final int total;
+
+    TrafficMix(String mix) {
+        int sum = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid traffic mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in traffic mix: " + entry);
+            }
+            weights.put(Action.valueOf(parts[0].trim().toUpperCase()), weight);
+            sum += weight;
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("The traffic mix has no actions: " + mix);
+        }
+        total = sum;
+    }
+
+    Action next(Random random) {
+        int r = random.nextInt(total);
+        for (Map.Entry<Action, Integer> entry : weights.entrySet()) {
+            r -= entry.getValue();
+            if (r < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package dev.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs all four services in this JVM, drives the configured traffic mix
+ * through the gateway and fails if an endpoint exceeds its latency or error
+ * thresholds. The settings are read from loadtest.* system properties, for
+ * example mvn test -Dloadtest.rate=500 -Dloadtest.duration=PT2M; the
+ * thresholds are in loadtest-thresholds.properties.
+ */
+class LoadTest {
+
+	@Test
+	void trafficMixStaysWithinThresholds() throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+		LoadReport report;
+		try (ServiceCluster cluster = ServiceCluster.start(config.getLogLevel())) {
+			report = LoadDriver.run(cluster, config);
+		}
+
+		report.print(System.out);
+		report.writeHistograms(config.getReportDir());
+		List<String> violations = report.violations(Thresholds.load("loadtest-thresholds.properties"));
+		assertTrue(violations.isEmpty(), "Thresholds exceeded:\n" + String.join("\n", violations));
+	}
+}
@@ -0,0 +1,155 @@
+package dev.repoplaner.config;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.User;
+
+/**
+ * Users and events that are loaded into the repository as a whole, such as a
+ * generated dataset. A dataset can be written to a snapshot file with one JSON
+ * document per line: a header with the counts, then the users, then the
+ * events. Files ending in .gz are compressed. Unlike the API, a snapshot
+ * includes the IDs, password hashes and organizers, so reading it gives an
+ * exact copy.
+ */
+public class Dataset {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final List<User> users;
+    private final List<Event> events;
+
+    public Dataset(List<User> users, List<Event> events) {
+        this.users = users;
+        this.events = events;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Writes the dataset to a snapshot file, replacing an existing file.
+     *
+     * @param file the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        ObjectMapper mapper = snapshotMapper();
+        ObjectWriter userWriter = mapper.writerFor(User.class);
+        ObjectWriter eventWriter = mapper.writerFor(Event.class);
+        try (BufferedWriter writer = new BufferedWriter(
+                new OutputStreamWriter(output(file), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write(mapper.writeValueAsString(Map.of("users", users.size(), "events", events.size())));
+            writer.newLine();
+            for (User user : users) {
+                writer.write(userWriter.writeValueAsString(user));
+                writer.newLine();
+            }
+            for (Event event : events) {
+                writer.write(eventWriter.writeValueAsString(event));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads a dataset from a snapshot file.
+     *
+     * @param file the snapshot file
+     * @return the dataset
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static Dataset read(Path file) throws IOException {
+        ObjectMapper mapper = snapshotMapper();
+        ObjectReader userReader = mapper.readerFor(User.class);
+        ObjectReader eventReader = mapper.readerFor(Event.class);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input(file), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String header = reader.readLine();
+            JsonNode counts = header == null ? null : mapper.readTree(header);
+            if (counts == null || !counts.has("users") || !counts.has("events")) {
+                throw new IOException("Not a dataset snapshot: " + file);
+            }
+            List<User> users = new ArrayList<>(counts.get("users").asInt());
+            for (int i = counts.get("users").asInt(); i > 0; i--) {
+                users.add(userReader.readValue(line(reader, file)));
+            }
+            List<Event> events = new ArrayList<>(counts.get("events").asInt());
+            for (int i = counts.get("events").asInt(); i > 0; i--) {
+                events.add(eventReader.readValue(line(reader, file)));
+            }
+            return new Dataset(users, events);
+        }
+    }
+
+    private static String line(BufferedReader reader, Path file) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IOException("Dataset snapshot is truncated: " + file);
+        }
+        return line;
+    }
+
+    private static OutputStream output(Path file) throws IOException {
+        OutputStream out = Files.newOutputStream(file);
+        return compressed(file) ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+    }
+
+    private static InputStream input(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        return compressed(file) ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+
+    private static boolean compressed(Path file) {
+        return file.getFileName().toString().endsWith(".gz");
+    }
+
+    /**
+     * Returns a mapper that ignores the read-only and write-only restrictions
+     * of the API, so IDs, password hashes and organizers are kept.
+     */
+    private static ObjectMapper snapshotMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        mapper.setAnnotationIntrospector(new JacksonAnnotationIntrospector() {
+            @Override
+            public JsonProperty.Access findPropertyAccess(Annotated annotated) {
+                return JsonProperty.Access.AUTO;
+            }
+        });
+        return mapper;
+    }
+}
@@ -0,0 +1,328 @@
+package dev.repoplaner.config;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.Geolocation;
+import dev.repoplaner.model.User;
+
+/**
+ * Generates a synthetic dataset of users and events for development and
+ * performance work. Every user and event is derived from the seed and its own
+ * index only, so the entities are built in parallel and the same settings
+ * always give the same dataset, regardless of the number of threads.
+ * <p>
+ * The first users are organizers and organize all events. The participant
+ * counts follow a Pareto distribution, so most events are small and a few are
+ * very large. Every event has a quality around which its ratings scatter.
+ * Events are placed around German cities, weighted by population, and dated
+ * between 8:00 and 21:45 on a range of days.
+ */
+public class DatasetGenerator {
+
+    /**
+     * A city events are placed around, with its population in thousands as
+     * weight.
+     */
+    public record City(String name, double latitude, double longitude, int weight) {
+    }
+
+    public static final List<City> CITIES = List.of(
+            new City("Berlin", 52.5200, 13.4050, 3_878),
+            new City("Hamburg", 53.5511, 9.9937, 1_892),
+            new City("Muenchen", 48.1351, 11.5820, 1_512),
+            new City("Koeln", 50.9375, 6.9603, 1_084),
+            new City("Frankfurt", 50.1109, 8.6821, 773),
+            new City("Stuttgart", 48.7758, 9.1829, 633),
+            new City("Duesseldorf", 51.2277, 6.7735, 629),
+            new City("Leipzig", 51.3397, 12.3731, 616),
+            new City("Dortmund", 51.5136, 7.4653, 595),
+            new City("Essen", 51.4556, 7.0116, 586),
+            new City("Bremen", 53.0793, 8.8017, 577),
+            new City("Dresden", 51.0504, 13.7373, 563),
+            new City("Hannover", 52.3759, 9.7320, 545),
+            new City("Nuernberg", 49.4521, 11.0767, 523),
+            new City("Darmstadt", 49.8728, 8.6512, 162));
+
+    public static final List<String> TOPICS = List.of("Statistik", "Webanwendung", "Datenbanken", "Java", "Python",
+            "Spring", "Cloud", "Sicherheit", "Fotografie", "Yoga", "Jazz", "Schach", "Laufen", "Kochen", "Startup",
+            "Design", "Robotik", "Gaming", "Literatur", "Klettern");
+
+    private static final String[] FORMATS = { "Vorlesung", "Workshop", "Meetup", "Seminar", "Kurs", "Stammtisch",
+            "Konzert", "Lauftreff", "Hackathon", "Vortrag" };
+    private static final String[] FIRST_NAMES = { "Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta",
+            "Hannah", "Jonas", "Lena", "Leon", "Lina", "Luca", "Marie", "Mia", "Noah", "Paul", "Sophie", "Tim",
+            "Yannis" };
+    private static final String[] LAST_NAMES = { "Bauer", "Becker", "Buls", "Fischer", "Hoffmann", "Klein",
+            "Koch", "Koerner", "Meyer", "Mueller", "Richter", "Schaefer", "Schmidt", "Schneider", "Schor",
+            "Schulz", "Wagner", "Weber", "Wolf", "Zimmermann" };
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final double KM_PER_DEGREE = 111.2;
+
+    // separate the random streams of users and events
+    private static final long USERS = 0x75736572L;
+    private static final long EVENTS = 0x6576656eL;
+
+    private long seed = 42;
+    private int users = 1_000;
+    private int events = 200;
+    private double organizerShare = 0.1;
+    private double participantsMedian = 10;
+    private double participantsSkew = 1.5;
+    private int participantsMax = 1_000;
+    private double ratingShare = 0.5;
+    private double ratingSpread = 0.8;
+    private List<City> cities = CITIES;
+    private double radiusKm = 10;
+    private LocalDate from = LocalDate.of(2024, 1, 1);
+    private int days = 365;
+    private String passwordHash;
+
+    /**
+     * Generates the users and then the events, each in parallel.
+     *
+     * @return the generated dataset
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public Dataset generate() {
+        validate();
+        User[] generatedUsers = new User[users];
+        int organizers = users == 0 ? 0 : Math.max(1, (int) Math.round(users * organizerShare));
+        IntStream.range(0, users).parallel()
+                .forEach(i -> generatedUsers[i] = user(i, i < organizers));
+
+        double[] cumulative = new double[cities.size()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += cities.get(i).weight();
+            cumulative[i] = total;
+        }
+        Event[] generatedEvents = new Event[events];
+        IntStream.range(0, events).parallel()
+                .forEach(i -> generatedEvents[i] = event(i, generatedUsers, organizers, cumulative));
+        return new Dataset(Arrays.asList(generatedUsers), Arrays.asList(generatedEvents));
+    }
+
+    private void validate() {
+        require(users >= 0, "users must not be negative, but is " + users);
+        require(events >= 0, "events must not be negative, but is " + events);
+        require(days > 0, "days must be positive, but is " + days);
+        require(organizerShare >= 0 && organizerShare <= 1,
+                "organizer-share must be between 0 and 1, but is " + organizerShare);
+        require(participantsMedian >= 0, "participants.median must not be negative, but is " + participantsMedian);
+        require(participantsSkew > 0, "participants.skew must be positive, but is " + participantsSkew);
+        require(participantsMax >= 0, "participants.max must not be negative, but is " + participantsMax);
+        require(ratingShare >= 0 && ratingShare <= 1, "ratings.share must be between 0 and 1, but is " + ratingShare);
+        require(ratingSpread >= 0, "ratings.spread must not be negative, but is " + ratingSpread);
+        require(radiusKm >= 0, "radius-km must not be negative, but is " + radiusKm);
+    }
+
+    private static void require(boolean valid, String message) {
+        if (!valid) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private User user(int index, boolean organizer) {
+        SplittableRandom random = random(USERS, index);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return new User(uuid(random))
+                .setFirstName(firstName)
+                .setLastName(lastName)
+                .setEmail(firstName.toLowerCase(Locale.ROOT) + "." + lastName.toLowerCase(Locale.ROOT) + "."
+                        + index + "@example.org")
+                .setPasswordHash(passwordHash)
+                .setOrganizer(organizer);
+    }
+
+    private Event event(int index, User[] users, int organizers, double[] cumulative) {
+        SplittableRandom random = random(EVENTS, index);
+        String title = TOPICS.get(random.nextInt(TOPICS.size())) + " " + FORMATS[random.nextInt(FORMATS.length)];
+        City city = city(random, cumulative);
+        LocalDateTime dateTime = from.plusDays(random.nextInt(days))
+                .atTime(8 + random.nextInt(14), 15 * random.nextInt(4));
+        int participants = Math.min(participants(random), users.length);
+        // a quarter of the events is full
+        int maxParticipants = random.nextInt(4) == 0 ? participants : participants + random.nextInt(participants + 1);
+
+        Event event = new Event(uuid(random))
+                .setName(title + " " + city.name())
+                .setDescription(title + " in " + city.name() + " am " + DATE.format(dateTime) + " um "
+                        + TIME.format(dateTime) + " Uhr.")
+                .setDateTime(dateTime)
+                .setLocation(location(random, city))
+                .setMaxParticipants(Math.max(1, maxParticipants))
+                .setOrganizerUserID(organizers == 0 ? null : users[random.nextInt(organizers)].getID());
+
+        // Floyd's sampling picks distinct users without a retry loop
+        double quality = Math.max(1, Math.min(5, 3.5 + random.nextGaussian()));
+        for (int j = users.length - participants; j < users.length; j++) {
+            UUID userID = users[random.nextInt(j + 1)].getID();
+            if (!event.addParticipant(userID)) {
+                userID = users[j].getID();
+                event.addParticipant(userID);
+            }
+            if (random.nextDouble() < ratingShare) {
+                int rating = (int) Math.round(quality + random.nextGaussian() * ratingSpread);
+                event.rate(userID, Math.max(1, Math.min(5, rating)));
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Draws a participant count from a Pareto distribution with the configured
+     * median and shape, capped at the maximum.
+     */
+    private int participants(SplittableRandom random) {
+        double scale = participantsMedian / Math.pow(2, 1 / participantsSkew);
+        double count = scale * Math.pow(1 - random.nextDouble(), -1 / participantsSkew);
+        return (int) Math.min(participantsMax, count);
+    }
+
+    private City city(SplittableRandom random, double[] cumulative) {
+        int i = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+        return cities.get(Math.min(i < 0 ? -i - 1 : i, cumulative.length - 1));
+    }
+
+    private Geolocation location(SplittableRandom random, City city) {
+        double north = random.nextGaussian() * radiusKm;
+        double east = random.nextGaussian() * radiusKm;
+        return new Geolocation(city.latitude() + north / KM_PER_DEGREE,
+                city.longitude() + east / (KM_PER_DEGREE * Math.cos(Math.toRadians(city.latitude()))));
+    }
+
+    private SplittableRandom random(long stream, int index) {
+        return new SplittableRandom(new SplittableRandom(seed ^ stream).nextLong() + index);
+    }
+
+    /**
+     * Builds a random version 4 UUID from the generator.
+     */
+    private static UUID uuid(SplittableRandom random) {
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~(3L << 62)) | (1L << 63);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public DatasetGenerator setSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public DatasetGenerator setUsers(int users) {
+        this.users = users;
+        return this;
+    }
+
+    public DatasetGenerator setEvents(int events) {
+        this.events = events;
+        return this;
+    }
+
+    /**
+     * Sets the share of users that are organizers, at least one organizer is
+     * generated.
+     */
+    public DatasetGenerator setOrganizerShare(double organizerShare) {
+        this.organizerShare = organizerShare;
+        return this;
+    }
+
+    /**
+     * Sets the participant count half of the events stay below.
+     */
+    public DatasetGenerator setParticipantsMedian(double participantsMedian) {
+        this.participantsMedian = participantsMedian;
+        return this;
+    }
+
+    /**
+     * Sets the shape of the participant count distribution. Smaller values give
+     * more very large events; 1.5 gives a mean of about twice the median.
+     */
+    public DatasetGenerator setParticipantsSkew(double participantsSkew) {
+        this.participantsSkew = participantsSkew;
+        return this;
+    }
+
+    public DatasetGenerator setParticipantsMax(int participantsMax) {
+        this.participantsMax = participantsMax;
+        return this;
+    }
+
+    /**
+     * Sets the share of participants that rate their event.
+     */
+    public DatasetGenerator setRatingShare(double ratingShare) {
+        this.ratingShare = ratingShare;
+        return this;
+    }
+
+    /**
+     * Sets the standard deviation of the ratings around the quality of their
+     * event.
+     */
+    public DatasetGenerator setRatingSpread(double ratingSpread) {
+        this.ratingSpread = ratingSpread;
+        return this;
+    }
+
+    /**
+     * Restricts the events to the given cities of {@link #CITIES}.
+     *
+     * @param names the names of the cities, or an empty list for all
+     * @throws IllegalArgumentException if a city is unknown
+     */
+    public DatasetGenerator setCities(List<String> names) {
+        if (names.isEmpty()) {
+            this.cities = CITIES;
+            return this;
+        }
+        List<City> selected = new ArrayList<>();
+        for (String name : names) {
+            selected.add(CITIES.stream().filter(city -> city.name().equalsIgnoreCase(name.trim())).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown city: " + name)));
+        }
+        this.cities = selected;
+        return this;
+    }
+
+    /**
+     * Sets the standard deviation of the distance of events from their city.
+     */
+    public DatasetGenerator setRadiusKm(double radiusKm) {
+        this.radiusKm = radiusKm;
+        return this;
+    }
+
+    public DatasetGenerator setFrom(LocalDate from) {
+        this.from = from;
+        return this;
+    }
+
+    public DatasetGenerator setDays(int days) {
+        this.days = days;
+        return this;
+    }
+
+    /**
+     * Sets the password hash all generated users share.
+     */
+    public DatasetGenerator setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+        return this;
+    }
+}
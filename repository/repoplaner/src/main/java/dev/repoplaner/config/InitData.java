@@ -3,16 +3,28 @@ package dev.repoplaner.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 
-import dev.repoplaner.model.Event;
-import dev.repoplaner.model.Geolocation;
-import dev.repoplaner.model.User;
 import dev.repoplaner.service.RepositoryService;
 import jakarta.annotation.PostConstruct;
 
-import java.time.LocalDateTime;
-
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Fills the repository at startup with a synthetic dataset, see
+ * {@link DatasetGenerator}. The dataset is generated from the dataset.*
+ * properties, or read from the snapshot file dataset.snapshot.read. It is
+ * written to the snapshot file dataset.snapshot.write if set, and loaded into
+ * the repository if dataset.load is true. The dataset is off by default, so
+ * the repository starts empty, also in tests. All generated users share the
+ * password dataset.password.
+ */
 @Component
 public class InitData {
 
@@ -21,68 +33,105 @@ public class InitData {
         @Autowired
         RepositoryService repositoryService;
 
+        @Value("${dataset.seed:42}")
+        private long seed;
+        @Value("${dataset.users:1000}")
+        private int users;
+        @Value("${dataset.events:200}")
+        private int events;
+        @Value("${dataset.organizer-share:0.1}")
+        private double organizerShare;
+        @Value("${dataset.participants.median:10}")
+        private double participantsMedian;
+        @Value("${dataset.participants.skew:1.5}")
+        private double participantsSkew;
+        @Value("${dataset.participants.max:1000}")
+        private int participantsMax;
+        @Value("${dataset.ratings.share:0.5}")
+        private double ratingShare;
+        @Value("${dataset.ratings.spread:0.8}")
+        private double ratingSpread;
+        @Value("${dataset.cities:}")
+        private String cities;
+        @Value("${dataset.radius-km:10}")
+        private double radiusKm;
+        @Value("${dataset.dates.from:2024-01-01}")
+        private String from;
+        @Value("${dataset.dates.days:365}")
+        private int days;
+        @Value("${dataset.password:password}")
+        private String password;
+        @Value("${dataset.snapshot.read:}")
+        private String snapshotRead;
+        @Value("${dataset.snapshot.write:}")
+        private String snapshotWrite;
+        @Value("${dataset.load:false}")
+        private boolean load;
+
         @PostConstruct
-        public void init() {
+        public void init() throws IOException {
                 log.debug("### Initialize Data ###");
+                if (!load && snapshotWrite.isBlank()) {
+                        return;
+                }
+
+                long start = System.nanoTime();
+                Dataset dataset;
+                if (!snapshotRead.isBlank()) {
+                        dataset = Dataset.read(Path.of(snapshotRead));
+                        log.info("read dataset snapshot {}: {} users and {} events in {} ms", snapshotRead,
+                                        dataset.getUsers().size(), dataset.getEvents().size(), millisSince(start));
+                } else {
+                        dataset = generate();
+                        log.info("generated dataset with seed {}: {} users and {} events in {} ms", seed, users,
+                                        events, millisSince(start));
+                }
+
+                if (!snapshotWrite.isBlank()) {
+                        start = System.nanoTime();
+                        dataset.write(Path.of(snapshotWrite));
+                        log.info("wrote dataset snapshot {} in {} ms", snapshotWrite, millisSince(start));
+                }
+                if (load) {
+                        repositoryService.load(dataset.getUsers(), dataset.getEvents());
+                }
+        }
 
-                log.debug("create user \"Yannis Koerner\"");
-                User yannis = new User()
-                                .setFirstName("Yannis")
-                                .setLastName("Koerner")
-                                .setEmail("yannis.koerner@stud.fra-uas.de")
-                                .setPassword("123");
-
-                repositoryService.putUser(yannis);
-
-                log.debug("create user \"Tristan Buls\"");
-                User tristan = new User()
-                                .setFirstName("Tristan")
-                                .setLastName("Buls")
-                                .setEmail("tristan.buls@stud.fra-uas.de")
-                                .setPassword("456");
-
-                repositoryService.putUser(tristan);
-
-                log.debug("create user \"Daniel Schor\"");
-                User daniel = new User()
-                                .setFirstName("Daniel")
-                                .setLastName("Schor")
-                                .setEmail("daniel.schor@stud.fra-uas.de")
-                                .setPassword("789")
-                                .setOrganizer(true);
-
-                repositoryService.putUser(daniel);
-
-                log.debug("create event \"Statistik Vorlesung\"");
-                Event statistik = new Event()
-                                .setName("Statistik Vorlesung")
-                                .setDescription("Statistik Vorlesung am 25.01.2024 um 08:15 Uhr.")
-                                .setDateTime(LocalDateTime.of(2024, 1, 25, 8, 15, 0));
-
-                statistik.addParticipant(daniel.getID());
-                statistik.addParticipant(tristan.getID());
-
-                statistik.rate(daniel.getID(), 2);
-                statistik.rate(tristan.getID(), 3);
-
-                repositoryService.putEvent(statistik);
-
-                log.debug("create event \"Webanwendung Vorlesung\"");
-                Event webanwendung = new Event()
-                                .setName("Webanwendung Vorlesung")
-                                .setDescription("Webanwendung Vorlesung am 22.01.2024 um 16:00 Uhr.")
-                                .setDateTime(LocalDateTime.of(2024, 1, 22, 16, 0, 0));
-
-                webanwendung.addParticipant(yannis.getID());
-                webanwendung.addParticipant(tristan.getID());
-                webanwendung.addParticipant(daniel.getID());
-
-                webanwendung.rate(yannis.getID(), 1);
-                webanwendung.rate(tristan.getID(), 3);
-                webanwendung.rate(daniel.getID(), 4);
+        /**
+         * Generates the dataset from the dataset.* properties.
+         *
+         * @throws IllegalStateException if a property is out of range
+         */
+        private Dataset generate() {
+                try {
+                        // generated users bypass the gateway, so the shared password is hashed here
+                        return new DatasetGenerator()
+                                        .setSeed(seed)
+                                        .setUsers(users)
+                                        .setEvents(events)
+                                        .setOrganizerShare(organizerShare)
+                                        .setParticipantsMedian(participantsMedian)
+                                        .setParticipantsSkew(participantsSkew)
+                                        .setParticipantsMax(participantsMax)
+                                        .setRatingShare(ratingShare)
+                                        .setRatingSpread(ratingSpread)
+                                        .setCities(cityNames())
+                                        .setRadiusKm(radiusKm)
+                                        .setFrom(LocalDate.parse(from))
+                                        .setDays(days)
+                                        .setPasswordHash(new BCryptPasswordEncoder().encode(password))
+                                        .generate();
+                } catch (IllegalArgumentException e) {
+                        throw new IllegalStateException("Invalid dataset.* properties: " + e.getMessage(), e);
+                }
+        }
 
-                repositoryService.putEvent(webanwendung);
+        private List<String> cityNames() {
+                return cities.isBlank() ? List.of() : Arrays.asList(cities.split(","));
+        }
 
+        private static long millisSince(long start) {
+                return (System.nanoTime() - start) / 1_000_000;
         }
 
 }
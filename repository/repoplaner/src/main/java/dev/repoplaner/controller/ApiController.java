@@ -2,12 +2,16 @@ package dev.repoplaner.controller;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,16 +20,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import dev.repoplaner.model.User;
+import dev.repoplaner.model.UserRemoval;
+import dev.repoplaner.model.BatchResult;
+import dev.repoplaner.model.Credentials;
 import dev.repoplaner.model.Event;
+import dev.repoplaner.model.EventPatch;
+import dev.repoplaner.model.RatingEntry;
+import dev.repoplaner.model.RatingSummary;
+import dev.repoplaner.model.WaitlistPosition;
 import dev.repoplaner.service.RepositoryService;
+import dev.repoplaner.service.WaitlistedException;
 
 @RestController
 public class ApiController {
 
     private static final Logger log = LoggerFactory.getLogger(ApiController.class);
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     @Autowired
     private RepositoryService repositoryService;
 
@@ -77,6 +92,26 @@ public class ApiController {
         return ResponseEntity.ok(repositoryService.putEvent(event.setID(eventID)));
     }
 
+    /**
+     * Changes the set fields of the event with the given event ID in one atomic
+     * step. The participants and ratings are kept. This is a POST, because the
+     * RestTemplate of the event service can not send PATCH requests.
+     *
+     * @param eventID The ID of the event to be changed.
+     * @param patch   The fields to be changed, null fields are kept.
+     * @return The ResponseEntity containing the updated event object if successful,
+     *         or a not found response if the event does not exist.
+     */
+    @PostMapping("/events/{eventID}:patch")
+    public ResponseEntity<?> patchEvent(@PathVariable UUID eventID, @RequestBody EventPatch patch) {
+        log.info("POST localhost:8082/events/{}:patch -> patchEvent() is called", eventID);
+        Event event = repositoryService.patchEvent(eventID, patch);
+        if (event == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+        }
+        return ResponseEntity.ok(event);
+    }
+
     /**
      * Retrieves all events from the repository.
      *
@@ -93,6 +128,47 @@ public class ApiController {
         return ResponseEntity.ok(events);
     }
 
+    /**
+     * Retrieves the top k events ordered by rating or by participant count.
+     *
+     * @param by the ranking criterion, either 'rating' or 'participants'
+     * @param k  the number of events to return, between 1 and 100
+     * @return the ResponseEntity containing the ranked events, or a bad request
+     *         response if the criterion or k is invalid
+     */
+    @GetMapping("/events/top")
+    public ResponseEntity<?> getTopEvents(@RequestParam(defaultValue = "rating") String by,
+            @RequestParam(defaultValue = "10") int k) {
+        log.info("GET localhost:8082/events/top?by={}&k={} -> getTopEvents() is called", by, k);
+        if (k < 1 || k > 100) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("k must be between 1 and 100");
+        }
+        if (by.equals("rating")) {
+            return ResponseEntity.ok(repositoryService.getTopEventsByRating(k));
+        }
+        if (by.equals("participants")) {
+            return ResponseEntity.ok(repositoryService.getTopEventsByParticipants(k));
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("by must be 'rating' or 'participants'");
+    }
+
+    /**
+     * Searches the names and descriptions of all events, ranked by relevance.
+     *
+     * @param q     the search text
+     * @param limit the maximum number of events to return, between 1 and 100
+     * @return the ResponseEntity containing the matching events, best match
+     *         first, or a bad request response if the limit is invalid
+     */
+    @GetMapping("/events/search")
+    public ResponseEntity<?> searchEvents(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET localhost:8082/events/search?q={}&limit={} -> searchEvents() is called", q, limit);
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("limit must be between 1 and 100");
+        }
+        return ResponseEntity.ok(repositoryService.searchEvents(q, limit));
+    }
+
     /**
      * Retrieves the event with the specified event ID.
      *
@@ -127,35 +203,290 @@ public class ApiController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Adds a user as participant to the event with the specified event ID.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the user to be added
+     * @return the ResponseEntity containing the updated event, an accepted
+     *         response containing the waitlist position if the event is full, a
+     *         not found response if the event or user does not exist, or a
+     *         conflict response if the user is already a participant
+     */
+    @PutMapping("/events/{eventID}/participants/{userID}")
+    public ResponseEntity<?> addParticipant(@PathVariable UUID eventID, @PathVariable UUID userID) {
+        log.info("PUT localhost:8082/events/{}/participants/{} -> addParticipant() is called", eventID, userID);
+        try {
+            Event event = repositoryService.addParticipant(eventID, userID);
+            if (event == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+            }
+            return ResponseEntity.ok(event);
+        } catch (WaitlistedException e) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(new WaitlistPosition(eventID, userID, e.getPosition()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Removes a user from the participants of the event with the specified event
+     * ID.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the user to be removed
+     * @return the ResponseEntity containing the updated event, or a not found
+     *         response if the event does not exist or the user is not a
+     *         participant
+     */
+    @DeleteMapping("/events/{eventID}/participants/{userID}")
+    public ResponseEntity<?> removeParticipant(@PathVariable UUID eventID, @PathVariable UUID userID) {
+        log.info("DELETE localhost:8082/events/{}/participants/{} -> removeParticipant() is called", eventID, userID);
+        try {
+            Event event = repositoryService.removeParticipant(eventID, userID);
+            if (event == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+            }
+            return ResponseEntity.ok(event);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the users waiting for a seat of the event with the specified event
+     * ID.
+     *
+     * @param eventID the ID of the event
+     * @return the ResponseEntity containing the IDs of the waiting users in
+     *         admission order, or a not found response if the event does not
+     *         exist
+     */
+    @GetMapping("/events/{eventID}/waitlist")
+    public ResponseEntity<?> getWaitlist(@PathVariable UUID eventID) {
+        log.info("GET localhost:8082/events/{}/waitlist -> getWaitlist() is called", eventID);
+        List<UUID> waitlist = repositoryService.getWaitlist(eventID);
+        if (waitlist == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+        }
+        return ResponseEntity.ok(waitlist);
+    }
+
+    /**
+     * Returns the waitlist position of a user for the event with the specified
+     * event ID.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the waiting user
+     * @return the ResponseEntity containing the waitlist position, or a not found
+     *         response if the event does not exist or the user is not waiting
+     */
+    @GetMapping("/events/{eventID}/waitlist/{userID}")
+    public ResponseEntity<?> getWaitlistPosition(@PathVariable UUID eventID, @PathVariable UUID userID) {
+        log.info("GET localhost:8082/events/{}/waitlist/{} -> getWaitlistPosition() is called", eventID, userID);
+        try {
+            WaitlistPosition position = repositoryService.getWaitlistPosition(eventID, userID);
+            if (position == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+            }
+            return ResponseEntity.ok(position);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Removes a user from the waitlist of the event with the specified event ID.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the waiting user
+     * @return an empty ResponseEntity, or a not found response if the event does
+     *         not exist or the user is not waiting
+     */
+    @DeleteMapping("/events/{eventID}/waitlist/{userID}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable UUID eventID, @PathVariable UUID userID) {
+        log.info("DELETE localhost:8082/events/{}/waitlist/{} -> leaveWaitlist() is called", eventID, userID);
+        try {
+            if (repositoryService.leaveWaitlist(eventID, userID) == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+            }
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Rates the event with the specified event ID by one of its participants in
+     * one atomic step.
+     *
+     * @param eventID the ID of the event to be rated
+     * @param userID  the ID of the rating participant
+     * @param rating  the rating between 1 and 5
+     * @return the ResponseEntity containing the updated event, a bad request
+     *         response if the rating is not valid, or a not found response if the
+     *         event does not exist or the user is not a participant
+     */
+    @PutMapping("/events/{eventID}/ratings/{userID}")
+    public ResponseEntity<?> rateEvent(@PathVariable UUID eventID, @PathVariable UUID userID,
+            @RequestParam int rating) {
+        log.info("PUT localhost:8082/events/{}/ratings/{} -> rateEvent() is called: {}", eventID, userID, rating);
+        try {
+            Event event = repositoryService.putRating(eventID, userID, rating);
+            if (event == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+            }
+            return ResponseEntity.ok(event);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Applies many ratings to the event with the specified event ID in one atomic
+     * step.
+     *
+     * @param eventID the ID of the event to be rated
+     * @param ratings the user IDs and ratings to be applied
+     * @return the ResponseEntity containing the result of every rating, a bad
+     *         request response if the batch is empty or too large, or a not found
+     *         response if the event does not exist
+     */
+    @PostMapping("/events/{eventID}/ratings:batch")
+    public ResponseEntity<?> rateEventBatch(@PathVariable UUID eventID, @RequestBody List<RatingEntry> ratings) {
+        log.info("POST localhost:8082/events/{}/ratings:batch -> rateEventBatch() is called: {}", eventID,
+                ratings.size());
+        if (ratings.isEmpty() || ratings.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Batch must contain between 1 and " + MAX_BATCH_SIZE + " ratings");
+        }
+        BatchResult result = repositoryService.putRatings(eventID, ratings);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Admits many users to the event with the specified event ID in one atomic
+     * step, as far as the capacity of the event allows.
+     *
+     * @param eventID the ID of the event
+     * @param userIDs the IDs of the users to be admitted
+     * @return the ResponseEntity containing which users were admitted and which
+     *         were rejected, a bad request response if the batch is empty or too
+     *         large, or a not found response if the event does not exist
+     */
+    @PostMapping("/events/{eventID}/participants:batch")
+    public ResponseEntity<?> addParticipantBatch(@PathVariable UUID eventID, @RequestBody List<UUID> userIDs) {
+        log.info("POST localhost:8082/events/{}/participants:batch -> addParticipantBatch() is called: {}", eventID,
+                userIDs.size());
+        if (userIDs.isEmpty() || userIDs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Batch must contain between 1 and " + MAX_BATCH_SIZE + " users");
+        }
+        BatchResult result = repositoryService.putParticipants(eventID, userIDs);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves the rating distribution of the event with the specified event ID.
+     *
+     * @param eventID the ID of the event
+     * @return the ResponseEntity containing the rating summary if found, or a not
+     *         found response if the event does not exist
+     */
+    @GetMapping("/events/{eventID}/ratings/summary")
+    public ResponseEntity<?> getRatingSummary(@PathVariable UUID eventID) {
+        log.info("GET localhost:8082/events/{}/ratings/summary -> getRatingSummary() is called: {}", eventID, eventID);
+        RatingSummary summary = repositoryService.getRatingSummary(eventID);
+        if (summary == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Event not found");
+        }
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Retrieves the rating distribution over all events.
+     *
+     * @return the ResponseEntity containing the merged rating summary
+     */
+    @GetMapping("/events/ratings/summary")
+    public ResponseEntity<RatingSummary> getRatingSummary() {
+        log.info("GET localhost:8082/events/ratings/summary -> getRatingSummary() is called");
+        return ResponseEntity.ok(repositoryService.getRatingSummary());
+    }
+
     /**
      * Creates a new user.
      *
      * @param user the user object to be created
-     * @return the ResponseEntity containing the created user
+     * @return the ResponseEntity containing the created user, or a conflict
+     *         response if another user has the email address
      * @throws URISyntaxException if there is an error in the URI syntax
      */
     @PostMapping("/users")
-    public ResponseEntity<User> createUser(@RequestBody User user) throws URISyntaxException {
+    public ResponseEntity<?> createUser(@RequestBody User user) throws URISyntaxException {
         log.info("POST localhost:8082/users -> createUser() is called: {}", user.getID());
-        User createdUser = repositoryService.putUser(user);
+        User createdUser;
+        try {
+            createdUser = repositoryService.putUser(user);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
         URI url = new URI("/users/" + createdUser.getID());
         return ResponseEntity.created(url).body(createdUser);
     }
 
+    /**
+     * Creates many users in one request. Users whose email address is already
+     * taken are reported and the others are created.
+     *
+     * @param users the users to be created
+     * @return the ResponseEntity containing which users were created and which
+     *         were rejected, or a bad request response if the batch is empty or
+     *         too large
+     */
+    @PostMapping("/users:batch")
+    public ResponseEntity<?> createUsers(@RequestBody List<User> users) {
+        log.info("POST localhost:8082/users:batch -> createUsers() is called: {} users", users.size());
+        if (users.isEmpty() || users.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Batch must contain between 1 and " + MAX_BATCH_SIZE + " users");
+        }
+        return ResponseEntity.ok(repositoryService.putUsers(users));
+    }
+
     /**
      * Updates a user with the given userID.
      *
      * @param userID The ID of the user to be updated.
      * @param user   The updated user object.
-     * @return ResponseEntity<User> The response entity containing the updated user.
+     * @return ResponseEntity<User> The response entity containing the updated user,
+     *         a not found response if the user does not exist, or a conflict
+     *         response if another user has the email address.
      */
     @PutMapping("/users/{userID}")
     public ResponseEntity<?> updateUser(@PathVariable UUID userID, @RequestBody User user) {
         log.info("PUT localhost:8082/users/{} -> updateUser() is called: {}", userID, userID);
-        if (repositoryService.getUser(userID) == null) {
+        User updatedUser;
+        try {
+            updatedUser = repositoryService.updateUser(user.setID(userID));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+        if (updatedUser == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
         }
-        return ResponseEntity.ok(repositoryService.putUser(user.setID(userID)));
+        return ResponseEntity.ok(updatedUser);
     }
 
     /**
@@ -174,6 +505,62 @@ public class ApiController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Retrieves the credentials of the user with the specified email address.
+     * Used by the user service to verify logins; the password hash is not
+     * returned by any other endpoint.
+     *
+     * @param email the email address of the user
+     * @return the ResponseEntity containing the credentials, or a not found
+     *         response if no user has the email address
+     */
+    @GetMapping("/users/credentials")
+    public ResponseEntity<?> getCredentials(@RequestParam String email) {
+        log.info("GET localhost:8082/users/credentials -> getCredentials() is called");
+        Credentials credentials = repositoryService.getCredentials(email);
+        if (credentials == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+        }
+        return ResponseEntity.ok(credentials);
+    }
+
+    /**
+     * Retrieves the user with the specified email address. The comparison
+     * ignores case.
+     *
+     * @param email the email address of the user
+     * @return the ResponseEntity containing the user if found, or a not found
+     *         response if no user has the email address
+     */
+    @GetMapping("/users/by-email/{email}")
+    public ResponseEntity<?> getUserByEmail(@PathVariable String email) {
+        log.info("GET localhost:8082/users/by-email -> getUserByEmail() is called");
+        User user = repositoryService.getUserByEmail(email);
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+        }
+        return ResponseEntity.ok(user);
+    }
+
+    /**
+     * Searches users by name for type-ahead lookups. Every term of the query must
+     * match the start of the user's first or last name; if there are not enough
+     * such users, users with similar names are added.
+     *
+     * @param q     the search terms
+     * @param limit the maximum number of users to return, between 1 and 100
+     * @return the ResponseEntity containing the matching users, best matches
+     *         first, or a bad request response if the limit is invalid
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<?> searchUsers(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET localhost:8082/users/search?q={}&limit={} -> searchUsers() is called", q, limit);
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("limit must be between 1 and 100");
+        }
+        return ResponseEntity.ok(repositoryService.searchUsers(q, limit));
+    }
+
     /**
      * Retrieves a user with the specified userID.
      *
@@ -192,17 +579,51 @@ public class ApiController {
     }
 
     /**
-     * Deletes a user with the specified userID.
+     * Retrieves the events a user participates in or organizes, ordered by date.
+     *
+     * @param userID the ID of the user
+     * @param role   either 'participant' or 'organizer'
+     * @param from   the earliest date of the returned events, optional
+     * @param limit  the maximum number of events to return, between 1 and 100
+     * @return the ResponseEntity containing the events, a bad request response if
+     *         the role or limit is invalid, or a not found response if the user
+     *         does not exist
+     */
+    @GetMapping("/users/{userID}/events")
+    public ResponseEntity<?> getUserEvents(@PathVariable UUID userID,
+            @RequestParam(defaultValue = "participant") String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET localhost:8082/users/{}/events?role={}&from={}&limit={} -> getUserEvents() is called", userID,
+                role, from, limit);
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("limit must be between 1 and 100");
+        }
+        if (!role.equals("participant") && !role.equals("organizer")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("role must be 'participant' or 'organizer'");
+        }
+        List<Event> events = repositoryService.getUserEvents(userID, role.equals("organizer"), from, limit);
+        if (events == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
+        }
+        return ResponseEntity.ok(events);
+    }
+
+    /**
+     * Deletes a user with the specified userID and removes the user's
+     * participation, ratings and waitlist places from all events.
      * 
      * @param userID the UUID of the user to be deleted
-     * @return ResponseEntity<User> representing the HTTP response
+     * @return ResponseEntity<UserRemoval> containing the affected counts, or a
+     *         not found response if the user does not exist
      */
     @DeleteMapping("/users/{userID}")
     public ResponseEntity<?> deleteUsers(@PathVariable UUID userID) {
         log.info("DELETE localhost:8082/users/{} -> deleteUsers() is called: {}", userID, userID);
-        if (repositoryService.deleteUser(userID) == null) {
+        UserRemoval removal = repositoryService.deleteUser(userID);
+        if (removal == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found.");
         }
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(removal);
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private final UUID userID;
+    private final boolean accepted;
+    private final String reason;
+
+    public BatchItemResult(UUID userID, boolean accepted, String reason) {
+        this.userID = userID;
+        this.accepted = accepted;
+        this.reason = reason;
+    }
+
+    public UUID getUserID() {
+        return userID;
+    }
+
+    public boolean isAccepted() {
+        return accepted;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,69 @@
+package dev.repoplaner.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+
+    private final UUID eventID;
+    private int accepted;
+    private int rejected;
+    private final List<BatchItemResult> results;
+
+    public BatchResult(UUID eventID) {
+        this.eventID = eventID;
+        this.accepted = 0;
+        this.rejected = 0;
+        this.results = new ArrayList<>();
+    }
+
+    /**
+     * Creates the result of a batch that does not refer to an event, such as a
+     * batch of new users.
+     */
+    public BatchResult() {
+        this(null);
+    }
+
+    /**
+     * Records an item of the batch that was applied.
+     *
+     * @param userID the ID of the user the item refers to
+     */
+    public void accept(UUID userID) {
+        this.accepted++;
+        this.results.add(new BatchItemResult(userID, true, null));
+    }
+
+    /**
+     * Records an item of the batch that was not applied.
+     *
+     * @param userID the ID of the user the item refers to
+     * @param reason why the item was not applied
+     */
+    public void reject(UUID userID, String reason) {
+        this.rejected++;
+        this.results.add(new BatchItemResult(userID, false, reason));
+    }
+
+    public UUID getEventID() {
+        return eventID;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+}
@@ -0,0 +1,26 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+/**
+ * The stored password hash of a user, handed to the user service to verify a
+ * login.
+ */
+public class Credentials {
+
+    private final UUID userID;
+    private final String passwordHash;
+
+    public Credentials(UUID userID, String passwordHash) {
+        this.userID = userID;
+        this.passwordHash = passwordHash;
+    }
+
+    public UUID getUserID() {
+        return userID;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+}
@@ -0,0 +1,44 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+/**
+ * The estimated heap size of a stored event and what makes it large.
+ */
+public class EventFootprint {
+
+    private final UUID eventID;
+    private final String name;
+    private final int participants;
+    private final int descriptionLength;
+    private final long estimatedBytes;
+
+    public EventFootprint(UUID eventID, String name, int participants, int descriptionLength,
+            long estimatedBytes) {
+        this.eventID = eventID;
+        this.name = name;
+        this.participants = participants;
+        this.descriptionLength = descriptionLength;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public UUID getEventID() {
+        return eventID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getParticipants() {
+        return participants;
+    }
+
+    public int getDescriptionLength() {
+        return descriptionLength;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+}
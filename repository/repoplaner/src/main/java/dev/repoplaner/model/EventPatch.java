@@ -0,0 +1,91 @@
+package dev.repoplaner.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The fields of an event to be changed. Fields that are null are kept; the
+ * participants and ratings can not be patched, they are only changed through
+ * the participant and rating operations.
+ */
+public class EventPatch {
+
+    private String name;
+    private String description;
+    private LocalDateTime dateTime;
+    private Geolocation location;
+    private Integer maxParticipants;
+    private UUID organizerUserID;
+
+    /**
+     * Applies the set fields to an event.
+     *
+     * @param event the event to be changed
+     * @return the changed event
+     */
+    public Event applyTo(Event event) {
+        event.setName(name)
+                .setDescription(description)
+                .setDateTime(dateTime)
+                .setLocation(location)
+                .setOrganizerUserID(organizerUserID);
+        if (maxParticipants != null) {
+            event.setMaxParticipants(maxParticipants);
+        }
+        return event;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public EventPatch setName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public EventPatch setDescription(String description) {
+        this.description = description;
+        return this;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public EventPatch setDateTime(LocalDateTime dateTime) {
+        this.dateTime = dateTime;
+        return this;
+    }
+
+    public Geolocation getLocation() {
+        return location;
+    }
+
+    public EventPatch setLocation(Geolocation location) {
+        this.location = location;
+        return this;
+    }
+
+    public Integer getMaxParticipants() {
+        return maxParticipants;
+    }
+
+    public EventPatch setMaxParticipants(Integer maxParticipants) {
+        this.maxParticipants = maxParticipants;
+        return this;
+    }
+
+    public UUID getOrganizerUserID() {
+        return organizerUserID;
+    }
+
+    public EventPatch setOrganizerUserID(UUID organizerUserID) {
+        this.organizerUserID = organizerUserID;
+        return this;
+    }
+}
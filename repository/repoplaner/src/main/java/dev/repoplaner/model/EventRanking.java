@@ -0,0 +1,40 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+public class EventRanking {
+
+    private final UUID eventID;
+    private final String name;
+    private final double rating;
+    private final int ratingCount;
+    private final int participantCount;
+
+    public EventRanking(Event event) {
+        this.eventID = event.getID();
+        this.name = event.getName();
+        this.rating = event.getRating();
+        this.ratingCount = event.getRatingCount();
+        this.participantCount = event.getParticipants().size();
+    }
+
+    public UUID getID() {
+        return eventID;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public int getRatingCount() {
+        return ratingCount;
+    }
+
+    public int getParticipantCount() {
+        return participantCount;
+    }
+}
@@ -0,0 +1,121 @@
+package dev.repoplaner.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The estimated heap usage of the repository: the stores, the derived indexes,
+ * the distribution of participant counts and the largest events, next to the
+ * actual heap usage of the JVM.
+ */
+public class MemoryReport {
+
+    private long events;
+    private long users;
+    private long eventStoreBytes;
+    private long userStoreBytes;
+    private Map<String, Long> indexBytes;
+    private long totalBytes;
+    private long heapUsedBytes;
+    private long heapMaxBytes;
+    private Map<String, Long> participantDistribution;
+    private List<EventFootprint> largestEvents;
+
+    public long getEvents() {
+        return events;
+    }
+
+    public MemoryReport setEvents(long events) {
+        this.events = events;
+        return this;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public MemoryReport setUsers(long users) {
+        this.users = users;
+        return this;
+    }
+
+    public long getEventStoreBytes() {
+        return eventStoreBytes;
+    }
+
+    public MemoryReport setEventStoreBytes(long eventStoreBytes) {
+        this.eventStoreBytes = eventStoreBytes;
+        return this;
+    }
+
+    public long getUserStoreBytes() {
+        return userStoreBytes;
+    }
+
+    public MemoryReport setUserStoreBytes(long userStoreBytes) {
+        this.userStoreBytes = userStoreBytes;
+        return this;
+    }
+
+    public long getBytesPerEvent() {
+        return events == 0 ? 0 : eventStoreBytes / events;
+    }
+
+    public long getBytesPerUser() {
+        return users == 0 ? 0 : userStoreBytes / users;
+    }
+
+    public Map<String, Long> getIndexBytes() {
+        return indexBytes;
+    }
+
+    public MemoryReport setIndexBytes(Map<String, Long> indexBytes) {
+        this.indexBytes = indexBytes;
+        return this;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public MemoryReport setTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+        return this;
+    }
+
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    public MemoryReport setHeapUsedBytes(long heapUsedBytes) {
+        this.heapUsedBytes = heapUsedBytes;
+        return this;
+    }
+
+    public long getHeapMaxBytes() {
+        return heapMaxBytes;
+    }
+
+    public MemoryReport setHeapMaxBytes(long heapMaxBytes) {
+        this.heapMaxBytes = heapMaxBytes;
+        return this;
+    }
+
+    public Map<String, Long> getParticipantDistribution() {
+        return participantDistribution;
+    }
+
+    public MemoryReport setParticipantDistribution(Map<String, Long> participantDistribution) {
+        this.participantDistribution = participantDistribution;
+        return this;
+    }
+
+    public List<EventFootprint> getLargestEvents() {
+        return largestEvents;
+    }
+
+    public MemoryReport setLargestEvents(List<EventFootprint> largestEvents) {
+        this.largestEvents = largestEvents;
+        return this;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+public class RatingEntry {
+
+    private UUID userID;
+    private int rating;
+
+    public RatingEntry() {
+    }
+
+    public RatingEntry(UUID userID, int rating) {
+        this.userID = userID;
+        this.rating = rating;
+    }
+
+    public UUID getUserID() {
+        return userID;
+    }
+
+    public void setUserID(UUID userID) {
+        this.userID = userID;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public void setRating(int rating) {
+        this.rating = rating;
+    }
+}
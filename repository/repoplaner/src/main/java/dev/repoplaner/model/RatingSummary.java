@@ -0,0 +1,134 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RatingSummary {
+
+    private final UUID eventID;
+    private final long count;
+    private final double average;
+    private final long[] distribution;
+    private final double median;
+    private final int p25;
+    private final int p75;
+    private final int p90;
+    private final long ratingsLastHour;
+
+    /**
+     * Creates a rating summary from a 5-bucket histogram. All statistics are
+     * derived from the histogram in constant time.
+     *
+     * @param eventID         the ID of the event, or null for a cross-event summary
+     * @param histogram       the number of ratings per star, index 0 holding the
+     *                        1-star ratings
+     * @param ratingsLastHour the number of ratings submitted within the last hour
+     */
+    public RatingSummary(UUID eventID, long[] histogram, long ratingsLastHour) {
+        this.eventID = eventID;
+        this.distribution = histogram.clone();
+        this.ratingsLastHour = ratingsLastHour;
+
+        long count = 0;
+        long sum = 0;
+        for (int i = 0; i < distribution.length; i++) {
+            count += distribution[i];
+            sum += distribution[i] * (i + 1);
+        }
+        this.count = count;
+        this.average = count == 0 ? 0 : ((double) sum) / count;
+
+        if (count == 0) {
+            this.median = 0;
+        } else if (count % 2 == 1) {
+            this.median = starAt((count + 1) / 2);
+        } else {
+            this.median = (starAt(count / 2) + starAt(count / 2 + 1)) / 2.0;
+        }
+        this.p25 = percentile(25);
+        this.p75 = percentile(75);
+        this.p90 = percentile(90);
+    }
+
+    public RatingSummary(UUID eventID, int[] histogram, long ratingsLastHour) {
+        this(eventID, toLong(histogram), ratingsLastHour);
+    }
+
+    /**
+     * Returns the star value of the rating at the given rank using the
+     * nearest-rank method.
+     *
+     * @param percent the percentile between 0 and 100
+     * @return the star value, or 0 if there are no ratings
+     */
+    public int percentile(double percent) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * count));
+        return starAt(rank);
+    }
+
+    /**
+     * Returns the star value of the rating at the given 1-based rank when all
+     * ratings are sorted ascending.
+     */
+    private int starAt(long rank) {
+        long seen = 0;
+        for (int i = 0; i < distribution.length; i++) {
+            seen += distribution[i];
+            if (seen >= rank) {
+                return i + 1;
+            }
+        }
+        return distribution.length;
+    }
+
+    private static long[] toLong(int[] histogram) {
+        long[] values = new long[histogram.length];
+        for (int i = 0; i < histogram.length; i++) {
+            values[i] = histogram[i];
+        }
+        return values;
+    }
+
+    // -- GETTER --
+
+    public UUID getEventID() {
+        return eventID;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public long[] getDistribution() {
+        return distribution.clone();
+    }
+
+    public double getMedian() {
+        return median;
+    }
+
+    public int getP25() {
+        return p25;
+    }
+
+    public int getP75() {
+        return p75;
+    }
+
+    public int getP90() {
+        return p90;
+    }
+
+    public long getRatingsLastHour() {
+        return ratingsLastHour;
+    }
+}
@@ -3,7 +3,6 @@ package dev.repoplaner.model;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -11,15 +10,16 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import dev.repoplaner.profiling.JsonEvent;
+
 public class User {
 
-    private static final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
     @JsonProperty("id")
     private UUID userID;
     private String firstName;
     private String lastName;
     private String email;
-    private String password;
+    private String passwordHash;
     private boolean organizer;
 
     public User() {
@@ -27,32 +27,47 @@ public class User {
         this.firstName = "John";
         this.lastName = "Doe";
         this.email = null;
-        this.password = null;
+        this.passwordHash = null;
+        this.organizer = false;
+    }
+
+    public User(UUID userID) {
+        this.userID = userID;
+        this.firstName = "John";
+        this.lastName = "Doe";
+        this.email = null;
+        this.passwordHash = null;
         this.organizer = false;
     }
 
-    public User(String firstName, String lastName, String email, String password, boolean organizer) {
+    public User(String firstName, String lastName, String email, String passwordHash, boolean organizer) {
         this.userID = UUID.randomUUID();
         this.firstName = firstName;
         this.lastName = lastName;
         this.email = email;
-        this.setPassword(password);
+        this.passwordHash = passwordHash;
         this.organizer = organizer;
     }
 
-    public User(String firstName, String lastName, String email, String password) {
-        this(firstName, lastName, email, password, false);
+    public User(String firstName, String lastName, String email, String passwordHash) {
+        this(firstName, lastName, email, passwordHash, false);
     }
 
-    public User setPassword(String password) {
-        if (password != null) {
-            this.password = encoder.encode(password);
-        }
+    /**
+     * Sets the BCrypt hash of the user's password. Passwords are hashed once by
+     * the gateway, so only the hash is stored. The hash is accepted in requests
+     * but never returned.
+     *
+     * @param passwordHash the hash to be set
+     */
+    public User setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
         return this;
     }
 
-    public boolean checkPassword(String password) {
-        return encoder.matches(password, this.password);
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    public String getPasswordHash() {
+        return passwordHash;
     }
 
     /**
@@ -62,6 +77,7 @@ public class User {
      * @return a collection of User objects
      */
     public static Collection<User> collectionFromJson(String s) {
+        JsonEvent json = JsonEvent.begin("parse", "Collection<User>");
         ObjectMapper mapper = new ObjectMapper();
         mapper.registerModule(new JavaTimeModule());
         Collection<User> values = new ArrayList<>();
@@ -72,6 +88,7 @@ public class User {
         } catch (JsonProcessingException e) {
             e.printStackTrace();
         }
+        json.end(s == null ? 0 : s.length());
         return values;
     }
 
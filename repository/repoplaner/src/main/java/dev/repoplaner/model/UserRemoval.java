@@ -0,0 +1,51 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+public class UserRemoval {
+
+    private final UUID userID;
+    private int participationsRemoved;
+    private int ratingsRemoved;
+    private int waitlistsLeft;
+    private int organizedEventsOrphaned;
+
+    public UserRemoval(UUID userID) {
+        this.userID = userID;
+    }
+
+    public void participationRemoved(boolean rated) {
+        this.participationsRemoved++;
+        if (rated) {
+            this.ratingsRemoved++;
+        }
+    }
+
+    public void organizedEventOrphaned() {
+        this.organizedEventsOrphaned++;
+    }
+
+    public void setWaitlistsLeft(int waitlistsLeft) {
+        this.waitlistsLeft = waitlistsLeft;
+    }
+
+    public UUID getUserID() {
+        return userID;
+    }
+
+    public int getParticipationsRemoved() {
+        return participationsRemoved;
+    }
+
+    public int getRatingsRemoved() {
+        return ratingsRemoved;
+    }
+
+    public int getWaitlistsLeft() {
+        return waitlistsLeft;
+    }
+
+    public int getOrganizedEventsOrphaned() {
+        return organizedEventsOrphaned;
+    }
+}
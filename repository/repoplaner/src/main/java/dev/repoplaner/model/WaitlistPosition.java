@@ -0,0 +1,28 @@
+package dev.repoplaner.model;
+
+import java.util.UUID;
+
+public class WaitlistPosition {
+
+    private final UUID eventID;
+    private final UUID userID;
+    private final int position;
+
+    public WaitlistPosition(UUID eventID, UUID userID, int position) {
+        this.eventID = eventID;
+        this.userID = userID;
+        this.position = position;
+    }
+
+    public UUID getEventID() {
+        return eventID;
+    }
+
+    public UUID getUserID() {
+        return userID;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
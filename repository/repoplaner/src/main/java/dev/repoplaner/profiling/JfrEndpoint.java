@@ -0,0 +1,132 @@
+package dev.repoplaner.profiling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Controls a JDK Flight Recorder recording at /actuator/jfr. POST starts a
+ * recording with the JDK's "default" or "profile" settings and the custom
+ * events of this service, DELETE stops it and GET downloads what has been
+ * recorded so far, while running or after stopping.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrEndpoint.class);
+
+    @Value("${jfr.recording.max-age:PT30M}")
+    private Duration maxAge;
+
+    private Recording recording;
+    private Path dump;
+
+    /**
+     * Starts a new recording, replacing a previous one.
+     *
+     * @param settings the name of the JDK settings, "profile" if not given
+     * @return the state of the recording
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings) throws IOException {
+        String name = settings == null ? "profile" : settings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR settings: " + name, "Unknown JFR settings");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+        recording = new Recording(configuration);
+        recording.setName("repoplaner-" + name);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.enable(ControllerEvent.class);
+        recording.enable(RepositoryOperationEvent.class);
+        recording.enable(JsonEvent.class);
+        recording.start();
+        log.info("JFR recording {} started with {} settings", recording.getId(), name);
+        return state();
+    }
+
+    /**
+     * Stops the recording. It can still be downloaded until the next one is
+     * started.
+     *
+     * @return the state of the recording
+     */
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("JFR recording {} stopped", recording.getId());
+        }
+        return state();
+    }
+
+    /**
+     * Dumps the recording to a file and returns it.
+     *
+     * @return the recording in JFR format, or 404 if none was started
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (dump != null) {
+            Files.deleteIfExists(dump);
+        }
+        dump = Files.createTempFile("repoplaner-", ".jfr");
+        dump.toFile().deleteOnExit();
+        recording.dump(dump);
+        return new WebEndpointResponse<>(new FileSystemResource(dump));
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (recording != null) {
+            recording.close();
+        }
+        if (dump != null) {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private Map<String, Object> state() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("id", recording.getId());
+        state.put("name", recording.getName());
+        state.put("state", recording.getState());
+        state.put("startTime", recording.getStartTime());
+        state.put("stopTime", recording.getStopTime());
+        state.put("size", recording.getSize());
+        return state;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.repoplaner.profiling;
+
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+
+/**
+ * Turns the server request observations recorded by Spring into JFR events,
+ * so a recording shows which endpoint was running during a GC or allocation
+ * spike. Nothing is done unless a recording has the event enabled.
+ */
+@Component
+public class JfrObservationHandler implements ObservationHandler<ServerRequestObservationContext> {
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext context) {
+        ControllerEvent event = new ControllerEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            context.put(ControllerEvent.class, event);
+        }
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext context) {
+        ControllerEvent event = context.get(ControllerEvent.class);
+        if (event != null) {
+            event.method = context.getCarrier().getMethod();
+            event.route = context.getPathPattern();
+            event.status = context.getResponse() == null ? 0 : context.getResponse().getStatus();
+            event.commit();
+        }
+    }
+}
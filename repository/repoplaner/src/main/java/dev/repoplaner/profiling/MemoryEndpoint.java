@@ -0,0 +1,39 @@
+package dev.repoplaner.profiling;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import dev.repoplaner.model.MemoryReport;
+import dev.repoplaner.service.RepositoryService;
+
+/**
+ * Exposes the estimated memory footprint of the repository at
+ * /actuator/memory. The same estimates are published as the
+ * repository.store.* and repository.index.bytes gauges.
+ */
+@Component
+@Endpoint(id = "memory")
+public class MemoryEndpoint {
+
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = 100;
+
+    @Autowired
+    private RepositoryService repositoryService;
+
+    /**
+     * Reports entity counts, the estimated bytes of the stores and indexes, the
+     * participant count distribution and the largest events.
+     *
+     * @param top the number of largest events to list, 10 if not given
+     * @return the memory report
+     */
+    @ReadOperation
+    public MemoryReport memory(@Nullable Integer top) {
+        int n = top == null ? DEFAULT_TOP : Math.max(0, Math.min(top, MAX_TOP));
+        return repositoryService.getMemoryReport(n);
+    }
+}
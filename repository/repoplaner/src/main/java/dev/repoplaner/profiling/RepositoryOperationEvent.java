@@ -0,0 +1,51 @@
+package dev.repoplaner.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.repoplaner.RepositoryOperation")
+@Label("Repository Operation")
+@Category({ "Repoplaner", "Repository" })
+@Description("A get, put or delete on the in-memory store")
+@StackTrace(false)
+public class RepositoryOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("Size")
+    @Description("The number of entities read or written")
+    int size;
+
+    /**
+     * Starts timing an operation on the store.
+     *
+     * @param operation  get, put or delete
+     * @param entityType the type of the entities, Event or User
+     * @return the started event, to be ended with {@link #end(int)}
+     */
+    public static RepositoryOperationEvent begin(String operation, String entityType) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.operation = operation;
+        event.entityType = entityType;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the event if a recording is enabled for it.
+     *
+     * @param size the number of entities read or written
+     */
+    public void end(int size) {
+        this.size = size;
+        commit();
+    }
+}
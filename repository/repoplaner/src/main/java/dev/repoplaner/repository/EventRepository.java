@@ -1,13 +1,13 @@
 package dev.repoplaner.repository;
 
-import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Repository;
 
 import dev.repoplaner.model.Event;
 
 @Repository
-public class EventRepository extends HashMap<UUID, Event> {
+public class EventRepository extends ConcurrentHashMap<UUID, Event> {
 
 }
@@ -1,13 +1,13 @@
 package dev.repoplaner.repository;
 
-import java.util.HashMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.stereotype.Repository;
 
 import dev.repoplaner.model.User;
 
 @Repository
-public class UserRepository extends HashMap<UUID, User> {
+public class UserRepository extends ConcurrentHashMap<UUID, User> {
 
 }
@@ -0,0 +1,73 @@
+package dev.repoplaner.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the taken seats of every event, including seats that are reserved by
+ * joins that are not committed yet. Joiners reserve a seat with a
+ * compare-and-set on the event's counter, so a full event rejects further
+ * joiners without taking any lock.
+ */
+class EventAdmission {
+
+    private final Map<UUID, AtomicInteger> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Tries to reserve a seat of an event.
+     *
+     * @param eventID         the ID of the event
+     * @param maxParticipants the capacity of the event
+     * @return true if a seat was reserved, false if the event is full or unknown
+     */
+    boolean reserve(UUID eventID, int maxParticipants) {
+        AtomicInteger taken = seats.get(eventID);
+        if (taken == null) {
+            return false;
+        }
+        int current;
+        do {
+            current = taken.get();
+            if (current >= maxParticipants) {
+                return false;
+            }
+        } while (!taken.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Gives back a reserved seat whose join could not be committed.
+     */
+    void release(UUID eventID) {
+        AtomicInteger taken = seats.get(eventID);
+        if (taken != null) {
+            taken.decrementAndGet();
+        }
+    }
+
+    /**
+     * Adjusts the taken seats after the participants of an event changed. Must
+     * be called while the event is locked in the store.
+     *
+     * @param eventID the ID of the event
+     * @param delta   the change of the participant count, minus the seats that
+     *                were already reserved for it
+     */
+    void adjust(UUID eventID, int delta) {
+        seats.computeIfAbsent(eventID, id -> new AtomicInteger()).addAndGet(delta);
+    }
+
+    void remove(UUID eventID) {
+        seats.remove(eventID);
+    }
+
+    /**
+     * Estimates the bytes of the seat counters. The event IDs are shared with
+     * the store.
+     */
+    long estimatedBytes() {
+        return seats.size() * (StoreFootprint.MAP_ENTRY_BYTES + 16L);
+    }
+}
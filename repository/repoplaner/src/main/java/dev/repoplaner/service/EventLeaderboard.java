@@ -0,0 +1,107 @@
+package dev.repoplaner.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.EventRanking;
+
+/**
+ * Keeps events ordered by rating and by participant count so that the top K
+ * events can be read without scanning the whole store.
+ */
+class EventLeaderboard {
+
+    private static final Comparator<EventRanking> BY_RATING = Comparator
+            .comparingDouble(EventRanking::getRating).reversed()
+            .thenComparing(Comparator.comparingInt(EventRanking::getRatingCount).reversed())
+            .thenComparing(EventRanking::getID);
+
+    private static final Comparator<EventRanking> BY_PARTICIPANTS = Comparator
+            .comparingInt(EventRanking::getParticipantCount).reversed()
+            .thenComparing(EventRanking::getID);
+
+    private final int minRatings;
+    private final Map<UUID, EventRanking> rankings = new ConcurrentHashMap<>();
+    private final NavigableSet<EventRanking> byRating = new ConcurrentSkipListSet<>(BY_RATING);
+    private final NavigableSet<EventRanking> byParticipants = new ConcurrentSkipListSet<>(BY_PARTICIPANTS);
+
+    /**
+     * @param minRatings the number of ratings an event needs before it is ranked
+     *                   by rating
+     */
+    EventLeaderboard(int minRatings) {
+        this.minRatings = minRatings;
+    }
+
+    /**
+     * Re-ranks an event after it was created or changed. The old ranking is
+     * replaced inside a compute on the event's entry, so updates of different
+     * events do not wait for each other and no global lock is taken on the
+     * commit path of joins and ratings.
+     */
+    void update(Event event) {
+        EventRanking ranking = new EventRanking(event);
+        rankings.compute(event.getID(), (id, previous) -> {
+            if (previous != null) {
+                unrank(previous);
+            }
+            byParticipants.add(ranking);
+            if (ranking.getRatingCount() >= minRatings) {
+                byRating.add(ranking);
+            }
+            return ranking;
+        });
+    }
+
+    void remove(UUID eventID) {
+        rankings.computeIfPresent(eventID, (id, previous) -> {
+            unrank(previous);
+            return null;
+        });
+    }
+
+    private void unrank(EventRanking ranking) {
+        byRating.remove(ranking);
+        byParticipants.remove(ranking);
+    }
+
+    /**
+     * Returns the highest rated events that have at least the minimum number of
+     * ratings.
+     */
+    List<EventRanking> topByRating(int k) {
+        return first(byRating, k);
+    }
+
+    /**
+     * Returns the events with the most participants.
+     */
+    List<EventRanking> topByParticipants(int k) {
+        return first(byParticipants, k);
+    }
+
+    private static List<EventRanking> first(NavigableSet<EventRanking> set, int k) {
+        List<EventRanking> top = new ArrayList<>(k);
+        Iterator<EventRanking> iterator = set.iterator();
+        while (top.size() < k && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * Estimates the bytes of the rankings, counting every event as ranked in
+     * both orders.
+     */
+    long estimatedBytes() {
+        return rankings.size() * (StoreFootprint.MAP_ENTRY_BYTES + 40L + 2 * 32);
+    }
+}
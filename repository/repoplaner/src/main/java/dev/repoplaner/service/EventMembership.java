@@ -0,0 +1,132 @@
+package dev.repoplaner.service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import dev.repoplaner.model.Event;
+
+/**
+ * Indexes the events every user participates in or organizes, so the events of
+ * a user can be found without scanning all events. The index is updated from the
+ * difference between the replaced and the stored version of an event, which
+ * costs no more than the copy that every change makes anyway.
+ */
+class EventMembership {
+
+    private final Map<UUID, Set<UUID>> eventsByParticipant = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> eventsByOrganizer = new ConcurrentHashMap<>();
+
+    /**
+     * Updates the index after an event was stored. Must be called while the
+     * event is locked in the store.
+     *
+     * @param previous the replaced version of the event, or null if it is new
+     * @param current  the stored version of the event
+     */
+    void update(Event previous, Event current) {
+        UUID eventID = current.getID();
+        if (previous != null) {
+            for (UUID userID : previous.getParticipants().keySet()) {
+                if (!current.contains(userID)) {
+                    unlink(eventsByParticipant, userID, eventID);
+                }
+            }
+        }
+        for (UUID userID : current.getParticipants().keySet()) {
+            if (previous == null || !previous.contains(userID)) {
+                link(eventsByParticipant, userID, eventID);
+            }
+        }
+
+        UUID organizerID = previous == null ? null : previous.getOrganizerUserID();
+        if (!Objects.equals(organizerID, current.getOrganizerUserID())) {
+            if (organizerID != null) {
+                unlink(eventsByOrganizer, organizerID, eventID);
+            }
+            if (current.getOrganizerUserID() != null) {
+                link(eventsByOrganizer, current.getOrganizerUserID(), eventID);
+            }
+        }
+    }
+
+    /**
+     * Removes a deleted event from the index.
+     */
+    void remove(Event event) {
+        for (UUID userID : event.getParticipants().keySet()) {
+            unlink(eventsByParticipant, userID, event.getID());
+        }
+        if (event.getOrganizerUserID() != null) {
+            unlink(eventsByOrganizer, event.getOrganizerUserID(), event.getID());
+        }
+    }
+
+    /**
+     * Removes the link between a participant and an event, whether or not the
+     * event still lists the participant.
+     */
+    void unlinkParticipant(UUID userID, UUID eventID) {
+        unlink(eventsByParticipant, userID, eventID);
+    }
+
+    /**
+     * Removes the link between an organizer and an event, whether or not the
+     * event still names the organizer.
+     */
+    void unlinkOrganizer(UUID userID, UUID eventID) {
+        unlink(eventsByOrganizer, userID, eventID);
+    }
+
+    /**
+     * Returns a snapshot of the IDs of the events a user participates in.
+     */
+    Set<UUID> eventsOf(UUID userID) {
+        return snapshot(eventsByParticipant, userID);
+    }
+
+    /**
+     * Returns a snapshot of the IDs of the events a user organizes.
+     */
+    Set<UUID> eventsOrganizedBy(UUID userID) {
+        return snapshot(eventsByOrganizer, userID);
+    }
+
+    private static Set<UUID> snapshot(Map<UUID, Set<UUID>> index, UUID userID) {
+        Set<UUID> eventIDs = index.get(userID);
+        return eventIDs == null ? Set.of() : new HashSet<>(eventIDs);
+    }
+
+    private static void link(Map<UUID, Set<UUID>> index, UUID userID, UUID eventID) {
+        // added inside compute, so a concurrent unlink cannot drop the set meanwhile
+        index.compute(userID, (id, eventIDs) -> {
+            Set<UUID> linked = eventIDs == null ? ConcurrentHashMap.newKeySet() : eventIDs;
+            linked.add(eventID);
+            return linked;
+        });
+    }
+
+    private static void unlink(Map<UUID, Set<UUID>> index, UUID userID, UUID eventID) {
+        index.computeIfPresent(userID, (id, eventIDs) -> {
+            eventIDs.remove(eventID);
+            return eventIDs.isEmpty() ? null : eventIDs;
+        });
+    }
+
+    /**
+     * Estimates the bytes of the index from a sample of the users. The event IDs
+     * are shared with the store.
+     */
+    long estimatedBytes() {
+        return StoreFootprint.sampled(eventsByParticipant, EventMembership::estimate)
+                + StoreFootprint.sampled(eventsByOrganizer, EventMembership::estimate);
+    }
+
+    private static long estimate(Map.Entry<UUID, Set<UUID>> events) {
+        return StoreFootprint.MAP_ENTRY_BYTES + StoreFootprint.UUID_BYTES + StoreFootprint.SET_BYTES
+                + events.getValue().size() * (long) StoreFootprint.MAP_ENTRY_BYTES;
+    }
+}
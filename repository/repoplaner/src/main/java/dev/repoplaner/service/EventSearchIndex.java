@@ -0,0 +1,339 @@
+package dev.repoplaner.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import dev.repoplaner.model.Event;
+
+/**
+ * Full-text index over the names and descriptions of all events, ranked with
+ * BM25. Every event gets an int document number; the postings of a term are a
+ * sorted array of document numbers with the term frequencies in a parallel
+ * array. Published entries of a posting array are never modified, so searches
+ * read them without locking while updates append to or replace them.
+ */
+class EventSearchIndex {
+
+    // BM25 term frequency saturation and length normalization
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // a term in the name counts as often as this in the description
+    private static final int NAME_WEIGHT = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+            "from", "in", "is", "it", "of", "on", "or", "the", "to", "with", "der", "die", "das", "und", "ein",
+            "eine", "mit", "im", "am", "zu", "von");
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+    private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> documentNumbers = new ConcurrentHashMap<>();
+    private int nextDocumentNumber;
+    private volatile long totalLength;
+
+    /**
+     * Indexes the name and description of an event, replacing its previous
+     * terms.
+     */
+    synchronized void update(Event event) {
+        Integer number = documentNumbers.get(event.getID());
+        if (number == null) {
+            number = nextDocumentNumber++;
+            documentNumbers.put(event.getID(), number);
+        } else {
+            unlink(documents.get(number));
+        }
+        Document document = analyze(number, event);
+        for (Map.Entry<String, Integer> term : document.frequencies.entrySet()) {
+            postings.put(term.getKey(),
+                    postings.getOrDefault(term.getKey(), Postings.EMPTY).with(number, term.getValue()));
+        }
+        documents.put(number, document);
+        totalLength += document.length;
+    }
+
+    /**
+     * Removes a deleted event from the index.
+     */
+    synchronized void remove(UUID eventID) {
+        Integer number = documentNumbers.remove(eventID);
+        if (number != null) {
+            unlink(documents.remove(number));
+        }
+    }
+
+    /**
+     * Replaces the index with one built from the given events. The events are
+     * analyzed and the posting lists are sorted in parallel.
+     */
+    synchronized void rebuild(Collection<Event> events) {
+        postings.clear();
+        documents.clear();
+        documentNumbers.clear();
+        nextDocumentNumber = 0;
+
+        List<Event> stored = new ArrayList<>(events);
+        Document[] analyzed = new Document[stored.size()];
+        IntStream.range(0, analyzed.length).parallel().forEach(i -> analyzed[i] = analyze(i, stored.get(i)));
+
+        Map<String, List<int[]>> grouped = Arrays.stream(analyzed).parallel()
+                .flatMap(document -> document.frequencies.entrySet().stream()
+                        .map(term -> Map.entry(term.getKey(), new int[] { document.number, term.getValue() })))
+                .collect(Collectors.groupingByConcurrent(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        grouped.entrySet().parallelStream().forEach(term -> {
+            List<int[]> entries = term.getValue();
+            entries.sort((a, b) -> Integer.compare(a[0], b[0]));
+            int[] numbers = new int[entries.size()];
+            int[] frequencies = new int[entries.size()];
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = entries.get(i)[0];
+                frequencies[i] = entries.get(i)[1];
+            }
+            postings.put(term.getKey(), new Postings(numbers, frequencies, numbers.length));
+        });
+
+        long length = 0;
+        for (Document document : analyzed) {
+            documents.put(document.number, document);
+            documentNumbers.put(document.eventID, document.number);
+            length += document.length;
+        }
+        nextDocumentNumber = analyzed.length;
+        totalLength = length;
+    }
+
+    /**
+     * Finds the events that contain any of the query terms, ranked with BM25.
+     *
+     * @param query the search text
+     * @param limit the maximum number of event IDs to return
+     * @return the IDs of the matching events, best match first
+     */
+    List<UUID> search(String query, int limit) {
+        int count = documents.size();
+        if (count == 0) {
+            return List.of();
+        }
+        double averageLength = Math.max(1.0, (double) totalLength / count);
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : new LinkedHashSet<>(tokenize(query))) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (count - list.size + 0.5) / (list.size + 0.5));
+            for (int i = 0; i < list.size; i++) {
+                Document document = documents.get(list.numbers[i]);
+                if (document == null) {
+                    continue;
+                }
+                double frequency = list.frequencies[i];
+                double score = idf * frequency * (K1 + 1)
+                        / (frequency + K1 * (1 - B + B * document.length / averageLength));
+                scores.merge(list.numbers[i], score, Double::sum);
+            }
+        }
+
+        // keeps the best matches in a heap whose head is the worst of them; on
+        // equal scores the earlier indexed event wins
+        PriorityQueue<Map.Entry<Integer, Double>> best = new PriorityQueue<>(
+                Map.Entry.<Integer, Double>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+            best.add(score);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<UUID> eventIDs = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Document document = documents.get(best.poll().getKey());
+            if (document != null) {
+                eventIDs.add(0, document.eventID);
+            }
+        }
+        return eventIDs;
+    }
+
+    /**
+     * Estimates the bytes of the index from samples of the terms and documents.
+     * The event IDs are shared with the store.
+     */
+    long estimatedBytes() {
+        return StoreFootprint.sampled(postings, term -> StoreFootprint.MAP_ENTRY_BYTES
+                + StoreFootprint.string(term.getKey()) + 24 + 2 * (16 + 4L * term.getValue().numbers.length))
+                + StoreFootprint.sampled(documents, document -> {
+                    long bytes = StoreFootprint.MAP_ENTRY_BYTES + 16 + 32
+                            + StoreFootprint.hashMap(document.getValue().frequencies.size());
+                    for (String term : document.getValue().frequencies.keySet()) {
+                        bytes += StoreFootprint.string(term);
+                    }
+                    return bytes;
+                })
+                + documentNumbers.size() * (StoreFootprint.MAP_ENTRY_BYTES + 16L);
+    }
+
+    private void unlink(Document document) {
+        for (String term : document.frequencies.keySet()) {
+            Postings remaining = postings.get(term).without(document.number);
+            if (remaining.size == 0) {
+                postings.remove(term);
+            } else {
+                postings.put(term, remaining);
+            }
+        }
+        totalLength -= document.length;
+    }
+
+    private static Document analyze(int number, Event event) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : tokenize(event.getName())) {
+            frequencies.merge(term, NAME_WEIGHT, Integer::sum);
+            length += NAME_WEIGHT;
+        }
+        for (String term : tokenize(event.getDescription())) {
+            frequencies.merge(term, 1, Integer::sum);
+            length++;
+        }
+        return new Document(number, event.getID(), length, frequencies);
+    }
+
+    /**
+     * Splits a text into lower-case, accent-free and stemmed terms, leaving out
+     * stop words and single characters.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String stripped = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        for (String word : stripped.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Removes common English plural and verb endings, so "meetings" and
+     * "meeting" both become "meet". Short words are left alone.
+     */
+    static String stem(String word) {
+        String stem = word;
+        if (stem.length() > 4 && stem.endsWith("ies")) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.length() > 3 && stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+        if (stem.length() > 5 && stem.endsWith("ing")) {
+            stem = stem.substring(0, stem.length() - 3);
+        } else if (stem.length() > 4 && stem.endsWith("ed")) {
+            stem = stem.substring(0, stem.length() - 2);
+        }
+        return stem;
+    }
+
+    /**
+     * The sorted document numbers containing a term and the term frequency in
+     * each of them. Readers only look at the first size entries, so a new
+     * document, which always has the highest number, is appended in place
+     * without copying; other changes create new arrays.
+     */
+    static final class Postings {
+
+        static final Postings EMPTY = new Postings(new int[0], new int[0], 0);
+
+        final int[] numbers;
+        final int[] frequencies;
+        final int size;
+
+        Postings(int[] numbers, int[] frequencies, int size) {
+            this.numbers = numbers;
+            this.frequencies = frequencies;
+            this.size = size;
+        }
+
+        Postings with(int number, int frequency) {
+            if (size == 0 || number > numbers[size - 1]) {
+                int[] appendedNumbers = numbers;
+                int[] appendedFrequencies = frequencies;
+                if (size == numbers.length) {
+                    int capacity = Math.max(4, size * 2);
+                    appendedNumbers = Arrays.copyOf(numbers, capacity);
+                    appendedFrequencies = Arrays.copyOf(frequencies, capacity);
+                }
+                appendedNumbers[size] = number;
+                appendedFrequencies[size] = frequency;
+                return new Postings(appendedNumbers, appendedFrequencies, size + 1);
+            }
+            int index = Arrays.binarySearch(numbers, 0, size, number);
+            if (index >= 0) {
+                int[] changed = Arrays.copyOf(frequencies, size);
+                changed[index] = frequency;
+                return new Postings(Arrays.copyOf(numbers, size), changed, size);
+            }
+            int insert = -index - 1;
+            return new Postings(inserted(numbers, size, insert, number),
+                    inserted(frequencies, size, insert, frequency), size + 1);
+        }
+
+        Postings without(int number) {
+            int index = Arrays.binarySearch(numbers, 0, size, number);
+            if (index < 0) {
+                return this;
+            }
+            return new Postings(removed(numbers, size, index), removed(frequencies, size, index), size - 1);
+        }
+
+        private static int[] inserted(int[] values, int size, int index, int value) {
+            int[] result = new int[size + 1];
+            System.arraycopy(values, 0, result, 0, index);
+            result[index] = value;
+            System.arraycopy(values, index, result, index + 1, size - index);
+            return result;
+        }
+
+        private static int[] removed(int[] values, int size, int index) {
+            int[] result = new int[size - 1];
+            System.arraycopy(values, 0, result, 0, index);
+            System.arraycopy(values, index + 1, result, index, size - index - 1);
+            return result;
+        }
+    }
+
+    /**
+     * An indexed event: its terms with their frequencies and its length in terms.
+     */
+    private static final class Document {
+
+        final int number;
+        final UUID eventID;
+        final int length;
+        final Map<String, Integer> frequencies;
+
+        Document(int number, UUID eventID, int length, Map<String, Integer> frequencies) {
+            this.number = number;
+            this.eventID = eventID;
+            this.length = length;
+            this.frequencies = frequencies;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package dev.repoplaner.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a FIFO waitlist of users per event. Changes are made while the event
+ * is locked in the store, so that promotions happen atomically with the change
+ * that freed the places.
+ */
+class EventWaitlist {
+
+    private final Map<UUID, Waitlist> queues = new ConcurrentHashMap<>();
+
+    /**
+     * Appends a user to the waitlist of an event.
+     *
+     * @return the 1-based position of the user on the waitlist
+     */
+    int enqueue(UUID eventID, UUID userID) {
+        return queues.computeIfAbsent(eventID, id -> new Waitlist()).add(userID);
+    }
+
+    /**
+     * Returns the 1-based position of a user on the waitlist of an event, or 0 if
+     * the user is not waiting.
+     */
+    int position(UUID eventID, UUID userID) {
+        Waitlist queue = queues.get(eventID);
+        return queue == null ? 0 : queue.position(userID);
+    }
+
+    List<UUID> waiting(UUID eventID) {
+        Waitlist queue = queues.get(eventID);
+        return queue == null ? List.of() : queue.snapshot();
+    }
+
+    /**
+     * Removes and returns the first user on the waitlist of an event.
+     *
+     * @return the ID of the user, or null if nobody is waiting
+     */
+    UUID poll(UUID eventID) {
+        Waitlist queue = queues.get(eventID);
+        return queue == null ? null : queue.poll();
+    }
+
+    boolean remove(UUID eventID, UUID userID) {
+        Waitlist queue = queues.get(eventID);
+        return queue != null && queue.remove(userID);
+    }
+
+    /**
+     * Removes a user from the waitlists of all events.
+     *
+     * @return the number of waitlists the user was removed from
+     */
+    int removeUser(UUID userID) {
+        int removed = 0;
+        for (Waitlist queue : queues.values()) {
+            if (queue.remove(userID)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    void removeEvent(UUID eventID) {
+        queues.remove(eventID);
+    }
+
+    /**
+     * Estimates the bytes of the waitlists from a sample of them.
+     */
+    long estimatedBytes() {
+        return StoreFootprint.sampled(queues,
+                queue -> StoreFootprint.MAP_ENTRY_BYTES + queue.getValue().estimatedBytes());
+    }
+
+    /**
+     * The waitlist of one event. Every user gets the next sequence number when
+     * joining, and a Fenwick tree over the sequence numbers counts the users
+     * still waiting, so the position of a user is a prefix sum in O(log n)
+     * instead of a walk over everyone ahead. Users who leave from the middle
+     * are subtracted from the tree as well. When the sequence numbers outgrow
+     * the tree, it is rebuilt from the first waiting user on.
+     */
+    private static final class Waitlist {
+
+        private static final int MIN_CAPACITY = 16;
+
+        // in joining order
+        private final LinkedHashMap<UUID, Long> sequences = new LinkedHashMap<>();
+        private long first;
+        private long next;
+        private int[] tree = new int[MIN_CAPACITY + 1];
+
+        synchronized int add(UUID userID) {
+            Long sequence = sequences.get(userID);
+            if (sequence == null) {
+                if (next - first >= tree.length - 1) {
+                    rebuild();
+                }
+                sequence = next++;
+                sequences.put(userID, sequence);
+                update(sequence, 1);
+            }
+            return count(sequence);
+        }
+
+        synchronized int position(UUID userID) {
+            Long sequence = sequences.get(userID);
+            return sequence == null ? 0 : count(sequence);
+        }
+
+        synchronized List<UUID> snapshot() {
+            return new ArrayList<>(sequences.keySet());
+        }
+
+        synchronized UUID poll() {
+            Iterator<Map.Entry<UUID, Long>> iterator = sequences.entrySet().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Map.Entry<UUID, Long> head = iterator.next();
+            iterator.remove();
+            update(head.getValue(), -1);
+            return head.getKey();
+        }
+
+        synchronized boolean remove(UUID userID) {
+            Long sequence = sequences.remove(userID);
+            if (sequence == null) {
+                return false;
+            }
+            update(sequence, -1);
+            return true;
+        }
+
+        synchronized long estimatedBytes() {
+            int size = sequences.size();
+            return 64 + StoreFootprint.hashMap(size) + size * (StoreFootprint.UUID_BYTES + 16L + 16L)
+                    + 16 + tree.length * 4L;
+        }
+
+        /**
+         * Renumbers the waiting users from the first one on and sizes the tree
+         * for twice their span, so rebuilds stay amortized constant per join.
+         */
+        private void rebuild() {
+            first = sequences.isEmpty() ? next : sequences.values().iterator().next();
+            int capacity = MIN_CAPACITY;
+            while (capacity < 2 * (next - first + 1)) {
+                capacity *= 2;
+            }
+            tree = new int[capacity + 1];
+            for (long sequence : sequences.values()) {
+                update(sequence, 1);
+            }
+        }
+
+        private void update(long sequence, int delta) {
+            for (int i = (int) (sequence - first) + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private int count(long sequence) {
+            int count = 0;
+            for (int i = (int) (sequence - first) + 1; i > 0; i -= i & -i) {
+                count += tree[i];
+            }
+            return count;
+        }
+    }
+}
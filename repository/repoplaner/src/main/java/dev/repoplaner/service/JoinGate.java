@@ -0,0 +1,56 @@
+package dev.repoplaner.service;
+
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Lets a user deletion wait for the joins that are in progress. Every change
+ * that may add participants to an event holds the read lock of the event's
+ * stripe while the event is locked in the store. A deletion marks the user as
+ * leaving and then takes every write lock once, so afterwards each join has
+ * either committed, and the user is in the membership index, or sees the mark.
+ * Joins do not exclude each other, and joins of different events mostly use
+ * different stripes.
+ */
+class JoinGate {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantReadWriteLock[] stripes = new ReentrantReadWriteLock[STRIPES];
+
+    JoinGate() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Runs a change of an event that may add participants. Must not be called
+     * while an event is locked in the store.
+     *
+     * @param eventID the ID of the changed event
+     * @param change  the change
+     * @return the result of the change
+     */
+    <T> T join(UUID eventID, Supplier<T> change) {
+        Lock lock = stripes[(eventID.hashCode() & 0x7fffffff) % STRIPES].readLock();
+        lock.lock();
+        try {
+            return change.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the changes that were running when it was called are done.
+     */
+    void await() {
+        for (ReentrantReadWriteLock stripe : stripes) {
+            stripe.writeLock().lock();
+            stripe.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package dev.repoplaner.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts submitted ratings per event in one-minute buckets over a sliding
+ * window of one hour.
+ */
+class RatingVelocity {
+
+    private static final int WINDOW_MINUTES = 60;
+
+    private final Map<UUID, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Records new or changed ratings for an event.
+     *
+     * @param eventID the ID of the rated event
+     * @param ratings the number of new or changed ratings
+     */
+    void record(UUID eventID, long ratings) {
+        if (ratings <= 0) {
+            return;
+        }
+        windows.computeIfAbsent(eventID, id -> new Window()).add(currentMinute(), ratings);
+    }
+
+    /**
+     * Returns the number of ratings submitted for an event within the last hour.
+     */
+    long ratingsLastHour(UUID eventID) {
+        Window window = windows.get(eventID);
+        return window == null ? 0 : window.sum(currentMinute());
+    }
+
+    /**
+     * Returns the number of ratings submitted for all events within the last
+     * hour.
+     */
+    long ratingsLastHour() {
+        long minute = currentMinute();
+        return windows.values().parallelStream().mapToLong(window -> window.sum(minute)).sum();
+    }
+
+    void remove(UUID eventID) {
+        windows.remove(eventID);
+    }
+
+    /**
+     * Estimates the bytes of the rating windows.
+     */
+    long estimatedBytes() {
+        return windows.size() * (StoreFootprint.MAP_ENTRY_BYTES + 16 + 2 * (16 + 8L * WINDOW_MINUTES));
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static class Window {
+
+        private final long[] minutes = new long[WINDOW_MINUTES];
+        private final long[] counts = new long[WINDOW_MINUTES];
+
+        synchronized void add(long minute, long ratings) {
+            int slot = (int) (minute % WINDOW_MINUTES);
+            if (minutes[slot] != minute) {
+                minutes[slot] = minute;
+                counts[slot] = 0;
+            }
+            counts[slot] += ratings;
+        }
+
+        synchronized long sum(long minute) {
+            long sum = 0;
+            for (int i = 0; i < WINDOW_MINUTES; i++) {
+                if (minute - minutes[i] < WINDOW_MINUTES) {
+                    sum += counts[i];
+                }
+            }
+            return sum;
+        }
+    }
+}
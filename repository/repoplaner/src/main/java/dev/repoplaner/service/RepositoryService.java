@@ -1,16 +1,43 @@
 package dev.repoplaner.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import dev.repoplaner.model.BatchResult;
+import dev.repoplaner.model.Credentials;
 import dev.repoplaner.model.Event;
+import dev.repoplaner.model.EventPatch;
+import dev.repoplaner.model.EventRanking;
+import dev.repoplaner.model.MemoryReport;
+import dev.repoplaner.model.RatingEntry;
+import dev.repoplaner.model.RatingSummary;
 import dev.repoplaner.model.User;
+import dev.repoplaner.model.UserRemoval;
+import dev.repoplaner.model.WaitlistPosition;
+import dev.repoplaner.profiling.RepositoryOperationEvent;
 import dev.repoplaner.repository.EventRepository;
 import dev.repoplaner.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 
 
 @Service
@@ -23,46 +50,937 @@ public class RepositoryService {
     private EventRepository eventRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${repository.leaderboard.min-ratings:3}")
+    private int leaderboardMinRatings;
+
+    private final RatingVelocity ratingVelocity = new RatingVelocity();
+    private final EventAdmission admission = new EventAdmission();
+    private final EventWaitlist waitlist = new EventWaitlist();
+    private final EventMembership membership = new EventMembership();
+    private final UserEmailIndex emailIndex = new UserEmailIndex();
+    private final UserNameIndex nameIndex = new UserNameIndex();
+    private final EventSearchIndex searchIndex = new EventSearchIndex();
+    private final StoreFootprint footprint = new StoreFootprint();
+    // users that are being deleted and must not join events any more
+    private final Set<UUID> leaving = ConcurrentHashMap.newKeySet();
+    private final JoinGate joins = new JoinGate();
+    private EventLeaderboard leaderboard;
+
+    @PostConstruct
+    void init() {
+        leaderboard = new EventLeaderboard(leaderboardMinRatings);
+        // events already in the store are indexed in one parallel pass
+        long start = System.nanoTime();
+        searchIndex.rebuild(eventRepository.values());
+        log.info("search index built: {} events in {} ms", eventRepository.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        eventRepository.values().forEach(footprint::eventChanged);
+        userRepository.values().forEach(user -> footprint.userChanged(null, user));
+
+        Gauge.builder("repository.store.entities", eventRepository, EventRepository::size)
+                .description("The number of stored entities").tag("store", "events").register(meterRegistry);
+        Gauge.builder("repository.store.entities", userRepository, UserRepository::size)
+                .description("The number of stored entities").tag("store", "users").register(meterRegistry);
+        Gauge.builder("repository.store.bytes", footprint, StoreFootprint::getEventBytes)
+                .description("The estimated heap retained by the stored entities").tag("store", "events")
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("repository.store.bytes", footprint, StoreFootprint::getUserBytes)
+                .description("The estimated heap retained by the stored entities").tag("store", "users")
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("repository.index.bytes", this, service -> service.estimateIndexBytes().values()
+                .stream().mapToLong(Long::longValue).sum())
+                .description("The estimated heap retained by the indexes, from samples").baseUnit("bytes")
+                .register(meterRegistry);
+    }
 
     public Event putEvent(Event event){
         log.info("Event Created: {}, {}", event.getName(), event.getID());
-        eventRepository.put(event.getID(), event);
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("put", "Event");
+        joins.join(event.getID(), () -> eventRepository.compute(event.getID(), (id, previous) -> {
+            promoteWaiters(event);
+            eventChanged(previous, event);
+            return event;
+        }));
+        jfr.end(1);
+        return event;
+    }
+
+    /**
+     * Changes the set fields of an event while the event is locked in the
+     * store. Unlike {@link #putEvent(Event)}, the participants and ratings are
+     * never replaced, so concurrent joins, leaves and ratings are kept. If the
+     * capacity grows, waiting users are admitted in the same step.
+     *
+     * @param eventID the ID of the event
+     * @param patch   the fields to be changed
+     * @return the updated event, or null if the event does not exist
+     */
+    public Event patchEvent(UUID eventID, EventPatch patch) {
+        log.info("patch eventID: {}", eventID);
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("patch", "Event");
+        Event event = joins.join(eventID, () -> eventRepository.computeIfPresent(eventID, (id, current) -> {
+            Event updated = patch.applyTo(new Event(current));
+            promoteWaiters(updated);
+            eventChanged(current, updated);
+            return updated;
+        }));
+        jfr.end(event == null ? 0 : 1);
         return event;
     }
 
     public Collection<Event> getAllEvents(){
         log.info("get all Events");
-        return eventRepository.values();
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("get", "Event");
+        Collection<Event> events = eventRepository.values();
+        jfr.end(events.size());
+        return events;
     }
 
     public Event getEvent(UUID eventID) {
         log.info("get event by eventID: {}", eventID);
-        return eventRepository.get(eventID);
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("get", "Event");
+        Event event = eventRepository.get(eventID);
+        jfr.end(event == null ? 0 : 1);
+        return event;
+    }
+
+    /**
+     * Searches the names and descriptions of all events. Events containing more
+     * of the query terms, and rarer ones, rank higher.
+     *
+     * @param query the search text
+     * @param limit the maximum number of events to return
+     * @return the matching events, best match first
+     */
+    public List<Event> searchEvents(String query, int limit) {
+        log.info("search Events");
+        List<Event> events = new ArrayList<>();
+        for (UUID eventID : searchIndex.search(query, limit)) {
+            Event event = eventRepository.get(eventID);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
     }
 
     public Event deleteEvent(UUID eventID){
         log.info("delete eventID: {}", eventID);
-        return eventRepository.remove(eventID);
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("delete", "Event");
+        AtomicReference<Event> removed = new AtomicReference<>();
+        eventRepository.computeIfPresent(eventID, (id, event) -> {
+            eventRemoved(event);
+            removed.set(event);
+            return null;
+        });
+        jfr.end(removed.get() == null ? 0 : 1);
+        return removed.get();
+    }
+
+    /**
+     * Admits a user to an event. A seat is first reserved with a compare-and-set
+     * on the event's seat counter, so joiners of a full event are rejected
+     * without locking the event. The participant is then committed to a copy of
+     * the event while the event is locked in the store, where the capacity is
+     * checked again, so the event can never be overbooked. If the event is full,
+     * the user is put on its waitlist.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the user to be admitted
+     * @return the updated event, or null if the event does not exist
+     * @throws NoSuchElementException if the user does not exist
+     * @throws IllegalStateException  if the user is already a participant
+     * @throws WaitlistedException    if the event is full and the user was put on
+     *                                its waitlist
+     */
+    public Event addParticipant(UUID eventID, UUID userID) {
+        log.info("add participant: eventID={}, userID={}", eventID, userID);
+        Event event = eventRepository.get(eventID);
+        if (event == null) {
+            return null;
+        }
+        if (!canJoin(userID)) {
+            throw new NoSuchElementException("User not found.");
+        }
+        if (event.contains(userID)) {
+            throw new IllegalStateException("User is already event participant.");
+        }
+        if (!admission.reserve(eventID, event.getMaxParticipants())) {
+            return joinWaitlist(eventID, userID);
+        }
+
+        AtomicReference<Event> admitted = new AtomicReference<>();
+        joins.join(eventID, () -> eventRepository.computeIfPresent(eventID, (id, current) -> {
+            if (current.contains(userID) || current.getParticipants().size() >= current.getMaxParticipants()
+                    || !canJoin(userID)) {
+                return current;
+            }
+            Event updated = new Event(current);
+            updated.addParticipant(userID);
+            waitlist.remove(eventID, userID);
+            eventChanged(current, updated, 1);
+            admitted.set(updated);
+            return updated;
+        }));
+        if (admitted.get() != null) {
+            return admitted.get();
+        }
+
+        admission.release(eventID);
+        return joinWaitlist(eventID, userID);
+    }
+
+    /**
+     * Puts a user on the waitlist of a full event while the event is locked in
+     * the store. If a seat was freed in the meantime, the user is admitted
+     * instead.
+     *
+     * @return the updated event, or null if the event does not exist
+     */
+    private Event joinWaitlist(UUID eventID, UUID userID) {
+        AtomicReference<Event> admitted = new AtomicReference<>();
+        AtomicInteger position = new AtomicInteger();
+        Event event = joins.join(eventID, () -> eventRepository.computeIfPresent(eventID, (id, current) -> {
+            if (current.contains(userID) || !canJoin(userID)) {
+                return current;
+            }
+            if (current.getParticipants().size() < current.getMaxParticipants()) {
+                Event updated = new Event(current);
+                updated.addParticipant(userID);
+                waitlist.remove(eventID, userID);
+                eventChanged(current, updated);
+                admitted.set(updated);
+                return updated;
+            }
+            position.set(waitlist.enqueue(eventID, userID));
+            return current;
+        }));
+        if (event == null) {
+            return null;
+        }
+        if (admitted.get() != null) {
+            return admitted.get();
+        }
+        if (position.get() == 0) {
+            if (!canJoin(userID)) {
+                throw new NoSuchElementException("User not found.");
+            }
+            throw new IllegalStateException("User is already event participant.");
+        }
+        log.info("waitlisted: eventID={}, userID={}, position={}", eventID, userID, position.get());
+        throw new WaitlistedException(position.get());
+    }
+
+    /**
+     * Removes a user from the participants of an event. The freed seat is given
+     * to the first user on the waitlist in the same atomic step.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the user to be removed
+     * @return the updated event, or null if the event does not exist
+     * @throws NoSuchElementException if the user is not a participant
+     */
+    public Event removeParticipant(UUID eventID, UUID userID) {
+        log.info("remove participant: eventID={}, userID={}", eventID, userID);
+        AtomicReference<Event> removed = new AtomicReference<>();
+        Event event = joins.join(eventID, () -> eventRepository.computeIfPresent(eventID, (id, current) -> {
+            if (!current.contains(userID)) {
+                return current;
+            }
+            Event updated = new Event(current);
+            updated.removeParticipant(userID);
+            promoteWaiters(updated);
+            eventChanged(current, updated);
+            removed.set(updated);
+            return updated;
+        }));
+        if (event == null) {
+            return null;
+        }
+        if (removed.get() == null) {
+            throw new NoSuchElementException("User not in Event.");
+        }
+        return removed.get();
+    }
+
+    /**
+     * Returns the users waiting for a seat of an event in the order in which
+     * they will be admitted.
+     *
+     * @param eventID the ID of the event
+     * @return the IDs of the waiting users, or null if the event does not exist
+     */
+    public List<UUID> getWaitlist(UUID eventID) {
+        log.info("get waitlist by eventID: {}", eventID);
+        if (!eventRepository.containsKey(eventID)) {
+            return null;
+        }
+        return waitlist.waiting(eventID);
+    }
+
+    /**
+     * Returns the waitlist position of a user.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the waiting user
+     * @return the waitlist position, or null if the event does not exist
+     * @throws NoSuchElementException if the user is not on the waitlist
+     */
+    public WaitlistPosition getWaitlistPosition(UUID eventID, UUID userID) {
+        log.info("get waitlist position: eventID={}, userID={}", eventID, userID);
+        if (!eventRepository.containsKey(eventID)) {
+            return null;
+        }
+        int position = waitlist.position(eventID, userID);
+        if (position == 0) {
+            throw new NoSuchElementException("User not on waitlist.");
+        }
+        return new WaitlistPosition(eventID, userID, position);
+    }
+
+    /**
+     * Removes a user from the waitlist of an event.
+     *
+     * @param eventID the ID of the event
+     * @param userID  the ID of the waiting user
+     * @return true if the user was removed, or null if the event does not exist
+     * @throws NoSuchElementException if the user is not on the waitlist
+     */
+    public Boolean leaveWaitlist(UUID eventID, UUID userID) {
+        log.info("leave waitlist: eventID={}, userID={}", eventID, userID);
+        if (!eventRepository.containsKey(eventID)) {
+            return null;
+        }
+        if (!waitlist.remove(eventID, userID)) {
+            throw new NoSuchElementException("User not on waitlist.");
+        }
+        return true;
+    }
+
+    /**
+     * Admits users from the waitlist of an event until it is full. Must be
+     * called while the event is locked in the store, before the change is passed
+     * to {@link #eventChanged}. Users that were deleted while waiting are
+     * skipped.
+     *
+     * @param event the version of the event that is about to be stored
+     */
+    private void promoteWaiters(Event event) {
+        while (event.getParticipants().size() < event.getMaxParticipants()) {
+            UUID userID = waitlist.poll(event.getID());
+            if (userID == null) {
+                return;
+            }
+            if (canJoin(userID) && event.addParticipant(userID)) {
+                log.info("promoted from waitlist: eventID={}, userID={}", event.getID(), userID);
+            }
+        }
+    }
+
+    /**
+     * Rates an event by one of its participants in one atomic step, like
+     * {@link #putRatings(UUID, List)} with a single rating.
+     *
+     * @param eventID the ID of the rated event
+     * @param userID  the ID of the rating participant
+     * @param rating  the rating between 1 and 5
+     * @return the updated event, or null if the event does not exist
+     * @throws IllegalArgumentException if the rating is not between 1 and 5
+     * @throws NoSuchElementException   if the user is not a participant
+     */
+    public Event putRating(UUID eventID, UUID userID, int rating) {
+        log.info("put rating for eventID: {}, userID: {}", eventID, userID);
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        AtomicReference<Event> rated = new AtomicReference<>();
+        Event event = eventRepository.computeIfPresent(eventID, (id, current) -> {
+            if (!current.contains(userID)) {
+                return current;
+            }
+            Event updated = new Event(current);
+            updated.rate(userID, rating);
+            eventChanged(current, updated);
+            rated.set(updated);
+            return updated;
+        });
+        if (event == null) {
+            return null;
+        }
+        if (rated.get() == null) {
+            throw new NoSuchElementException("User not in Event.");
+        }
+        return rated.get();
+    }
+
+    /**
+     * Applies many ratings to an event in one atomic step. Each rating is
+     * validated on its own; valid ratings are applied together and the derived
+     * rating data is updated once for the whole batch.
+     *
+     * @param eventID the ID of the rated event
+     * @param ratings the ratings to be applied
+     * @return the per-item results, or null if the event does not exist
+     */
+    public BatchResult putRatings(UUID eventID, List<RatingEntry> ratings) {
+        log.info("put {} ratings for eventID: {}", ratings.size(), eventID);
+        AtomicReference<BatchResult> result = new AtomicReference<>();
+        eventRepository.computeIfPresent(eventID, (id, event) -> {
+            Event updated = new Event(event);
+            BatchResult batch = new BatchResult(eventID);
+            Set<UUID> seen = new HashSet<>();
+
+            for (RatingEntry entry : ratings) {
+                UUID userID = entry == null ? null : entry.getUserID();
+                if (userID == null) {
+                    batch.reject(null, "User ID must not be null");
+                } else if (!seen.add(userID)) {
+                    batch.reject(userID, "User is rated more than once in this batch");
+                } else if (!updated.contains(userID)) {
+                    batch.reject(userID, "User not in Event");
+                } else if (!updated.rate(userID, entry.getRating())) {
+                    batch.reject(userID, "Rating must be between 1 and 5");
+                } else {
+                    batch.accept(userID);
+                }
+            }
+            result.set(batch);
+
+            if (batch.getAccepted() == 0) {
+                return event;
+            }
+            eventChanged(event, updated);
+            return updated;
+        });
+        return result.get();
+    }
+
+    /**
+     * Admits many users to an event in one atomic step. Users are admitted in the
+     * given order until the event is full; every user that cannot be admitted is
+     * reported with the reason.
+     *
+     * @param eventID the ID of the event
+     * @param userIDs the IDs of the users to be admitted
+     * @return the per-user results, or null if the event does not exist
+     */
+    public BatchResult putParticipants(UUID eventID, List<UUID> userIDs) {
+        log.info("put {} participants for eventID: {}", userIDs.size(), eventID);
+        AtomicReference<BatchResult> result = new AtomicReference<>();
+        joins.join(eventID, () -> eventRepository.computeIfPresent(eventID, (id, event) -> {
+            Event updated = new Event(event);
+            BatchResult batch = new BatchResult(eventID);
+            Set<UUID> seen = new HashSet<>();
+
+            for (UUID userID : userIDs) {
+                if (userID == null) {
+                    batch.reject(null, "User ID must not be null");
+                } else if (!seen.add(userID)) {
+                    batch.reject(userID, "User is added more than once in this batch");
+                } else if (updated.contains(userID)) {
+                    batch.reject(userID, "User is already event participant");
+                } else if (!canJoin(userID)) {
+                    batch.reject(userID, "User not found");
+                } else if (updated.getParticipants().size() >= updated.getMaxParticipants()) {
+                    batch.reject(userID, "Participant limit reached");
+                } else {
+                    updated.addParticipant(userID);
+                    waitlist.remove(eventID, userID);
+                    batch.accept(userID);
+                }
+            }
+            result.set(batch);
+
+            if (batch.getAccepted() == 0) {
+                return event;
+            }
+            eventChanged(event, updated);
+            return updated;
+        }));
+        return result.get();
+    }
+
+    /**
+     * Returns the highest rated events. Only events with at least the configured
+     * minimum number of ratings are ranked.
+     *
+     * @param k the number of events to return
+     * @return the top k events ordered by rating
+     */
+    public List<EventRanking> getTopEventsByRating(int k) {
+        log.info("get top {} Events by rating", k);
+        return leaderboard.topByRating(k);
+    }
+
+    /**
+     * Returns the events with the most participants.
+     *
+     * @param k the number of events to return
+     * @return the top k events ordered by participant count
+     */
+    public List<EventRanking> getTopEventsByParticipants(int k) {
+        log.info("get top {} Events by participants", k);
+        return leaderboard.topByParticipants(k);
+    }
+
+    /**
+     * Returns the rating distribution of an event.
+     *
+     * @param eventID the ID of the event
+     * @return the rating summary, or null if the event does not exist
+     */
+    public RatingSummary getRatingSummary(UUID eventID) {
+        log.info("get rating summary by eventID: {}", eventID);
+        Event event = eventRepository.get(eventID);
+        if (event == null) {
+            return null;
+        }
+        return new RatingSummary(eventID, event.getRatingHistogram(), ratingVelocity.ratingsLastHour(eventID));
+    }
+
+    /**
+     * Returns the rating distribution over all events. The per-event histograms
+     * are merged in parallel.
+     *
+     * @return the cross-event rating summary
+     */
+    public RatingSummary getRatingSummary() {
+        log.info("get rating summary of all Events");
+        long[] histogram = eventRepository.values().parallelStream()
+                .map(Event::getRatingHistogram)
+                .collect(() -> new long[5], RepositoryService::addHistogram, RepositoryService::mergeHistograms);
+        return new RatingSummary(null, histogram, ratingVelocity.ratingsLastHour());
+    }
+
+    private static void addHistogram(long[] total, int[] histogram) {
+        for (int i = 0; i < total.length; i++) {
+            total[i] += histogram[i];
+        }
+    }
+
+    private static void mergeHistograms(long[] total, long[] other) {
+        for (int i = 0; i < total.length; i++) {
+            total[i] += other[i];
+        }
+    }
+
+    /**
+     * Updates the derived event data after an event was stored.
+     *
+     * @param previous the replaced version of the event, or null if it is new
+     * @param current  the stored version of the event
+     */
+    private void eventChanged(Event previous, Event current) {
+        eventChanged(previous, current, 0);
+    }
+
+    /**
+     * Updates the derived rating, ranking, membership, seat and search data
+     * after an event was stored. Must be called while the event is locked in the store.
+     *
+     * @param previous      the replaced version of the event, or null if it is new
+     * @param current       the stored version of the event
+     * @param reservedSeats the seats that were already reserved for the change
+     */
+    private void eventChanged(Event previous, Event current, int reservedSeats) {
+        int before = previous == null ? 0 : previous.getParticipants().size();
+        admission.adjust(current.getID(), current.getParticipants().size() - before - reservedSeats);
+        ratingVelocity.record(current.getID(), changedRatings(previous, current));
+        membership.update(previous, current);
+        leaderboard.update(current);
+        if (previous == null || !Objects.equals(previous.getName(), current.getName())
+                || !Objects.equals(previous.getDescription(), current.getDescription())) {
+            searchIndex.update(current);
+        }
+        footprint.eventChanged(current);
     }
 
+    /**
+     * Removes the derived rating, ranking and search data of a deleted event.
+     *
+     * @param event the deleted event
+     */
+    private void eventRemoved(Event event) {
+        admission.remove(event.getID());
+        waitlist.removeEvent(event.getID());
+        membership.remove(event);
+        ratingVelocity.remove(event.getID());
+        leaderboard.remove(event.getID());
+        searchIndex.remove(event.getID());
+        footprint.eventRemoved(event.getID());
+    }
+
+    /**
+     * Counts the ratings that were added or changed between two versions of an
+     * event.
+     */
+    private static long changedRatings(Event previous, Event current) {
+        int[] before = previous == null ? new int[5] : previous.getRatingHistogram();
+        int[] after = current.getRatingHistogram();
+        long changed = 0;
+        for (int i = 0; i < after.length; i++) {
+            changed += Math.max(0, after[i] - before[i]);
+        }
+        return changed;
+    }
+
+    /**
+     * Returns the events a user participates in or organizes, ordered by date.
+     * The events are looked up through the membership index, so only the user's
+     * own events are read. Events without a date come last.
+     *
+     * @param userID    the ID of the user
+     * @param organizer true for the events the user organizes, false for the
+     *                  events the user participates in
+     * @param from      the earliest date of the returned events, or null for all
+     * @param limit     the maximum number of events to return
+     * @return the events, or null if the user does not exist
+     */
+    public List<Event> getUserEvents(UUID userID, boolean organizer, LocalDateTime from, int limit) {
+        log.info("get {} Events of UserID: {}", organizer ? "organized" : "joined", userID);
+        if (!userRepository.containsKey(userID)) {
+            return null;
+        }
+        Set<UUID> eventIDs = organizer ? membership.eventsOrganizedBy(userID) : membership.eventsOf(userID);
+        List<Event> events = new ArrayList<>(eventIDs.size());
+        for (UUID eventID : eventIDs) {
+            Event event = eventRepository.get(eventID);
+            if (event == null) {
+                continue;
+            }
+            if (from == null || (event.getDateTime() != null && !event.getDateTime().isBefore(from))) {
+                events.add(event);
+            }
+        }
+        events.sort(Comparator.comparing(Event::getDateTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        return events.size() > limit ? new ArrayList<>(events.subList(0, limit)) : events;
+    }
+
+    /**
+     * Stores a user. A replacement without a password hash keeps the stored
+     * hash, so updates of other fields do not reset the password. The email
+     * address is reserved in the email index and the previous address is
+     * released in the same atomic step that stores the user, so two users can
+     * never hold the same address.
+     *
+     * @param user the user to be stored
+     * @return the stored user
+     * @throws IllegalStateException if another user has the email address
+     */
     public User putUser(User user){
         log.info("User Created: {}, {}", user.getLastName(), user.getID());
-        userRepository.put(user.getID(), user);
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("put", "User");
+        userRepository.compute(user.getID(), (id, previous) -> replaceUser(previous, user));
+        jfr.end(1);
+        return user;
+    }
+
+    /**
+     * Replaces a stored user, like {@link #putUser(User)}, but only if the user
+     * still exists, so an update racing with a deletion cannot recreate the
+     * deleted user.
+     *
+     * @param user the user to be stored
+     * @return the stored user, or null if the user does not exist
+     * @throws IllegalStateException if another user has the email address
+     */
+    public User updateUser(User user) {
+        log.info("User Updated: {}, {}", user.getLastName(), user.getID());
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("put", "User");
+        User updated = userRepository.computeIfPresent(user.getID(), (id, previous) -> replaceUser(previous, user));
+        jfr.end(updated == null ? 0 : 1);
+        return updated;
+    }
+
+    /**
+     * Runs inside the compute of the user, so the email index changes with the
+     * store. A taken address throws before anything is changed.
+     */
+    private User replaceUser(User previous, User user) {
+        if (!emailIndex.claim(user.getEmail(), user.getID())) {
+            throw new IllegalStateException("Email address already in use.");
+        }
+        if (previous != null) {
+            if (user.getPasswordHash() == null) {
+                user.setPasswordHash(previous.getPasswordHash());
+            }
+            if (!sameEmail(previous.getEmail(), user.getEmail())) {
+                emailIndex.release(previous.getEmail(), user.getID());
+            }
+        }
+        nameIndex.update(user);
+        footprint.userChanged(previous, user);
         return user;
     }
 
+    /**
+     * Stores many users and events at once, such as a generated dataset or a
+     * snapshot at startup. Nothing is logged per entity, users and events are
+     * stored in parallel, and the search index is rebuilt in one pass at the
+     * end instead of being updated per event. The ratings of the events are
+     * history, so they do not count towards the rating velocity. Events must
+     * only reference the given or already stored users.
+     *
+     * @param users  the users to be stored
+     * @param events the events to be stored
+     * @throws IllegalStateException if an email address is already in use
+     */
+    public void load(Collection<User> users, Collection<Event> events) {
+        long start = System.nanoTime();
+        users.parallelStream().forEach(user -> userRepository.compute(user.getID(),
+                (id, previous) -> replaceUser(previous, user)));
+        events.parallelStream().forEach(event -> eventRepository.compute(event.getID(), (id, previous) -> {
+            int before = previous == null ? 0 : previous.getParticipants().size();
+            admission.adjust(id, event.getParticipants().size() - before);
+            membership.update(previous, event);
+            leaderboard.update(event);
+            footprint.eventChanged(event);
+            return event;
+        }));
+        searchIndex.rebuild(eventRepository.values());
+        log.info("loaded {} Users and {} Events in {} ms", users.size(), events.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Stores many users. Each user is stored on its own, so a user whose email
+     * address is taken, also by an earlier user of the batch, is reported
+     * without affecting the others.
+     *
+     * @param users the users to be stored
+     * @return the per-user results
+     */
+    public BatchResult putUsers(List<User> users) {
+        log.info("put {} Users", users.size());
+        BatchResult batch = new BatchResult();
+        Set<UUID> seen = new HashSet<>();
+        for (User user : users) {
+            if (user == null || user.getID() == null) {
+                batch.reject(null, "User ID must not be null");
+            } else if (!seen.add(user.getID())) {
+                batch.reject(user.getID(), "User is added more than once in this batch");
+            } else {
+                try {
+                    putUser(user);
+                    batch.accept(user.getID());
+                } catch (IllegalStateException e) {
+                    batch.reject(user.getID(), e.getMessage());
+                }
+            }
+        }
+        return batch;
+    }
+
+    private static boolean sameEmail(String a, String b) {
+        return a == null ? b == null
+                : b != null && UserEmailIndex.normalize(a).equals(UserEmailIndex.normalize(b));
+    }
+
+    /**
+     * Returns the user with the given email address. The comparison ignores case.
+     *
+     * @param email the email address of the user
+     * @return the user, or null if no user has the email address
+     */
+    public User getUserByEmail(String email) {
+        log.info("get User by email");
+        UUID userID = emailIndex.find(email);
+        return userID == null ? null : userRepository.get(userID);
+    }
+
+    /**
+     * Returns the credentials of the user with the given email address. The
+     * comparison ignores case.
+     *
+     * @param email the email address of the user
+     * @return the credentials, or null if no user has the email address
+     */
+    public Credentials getCredentials(String email) {
+        log.info("get credentials by email");
+        User user = getUserByEmail(email);
+        return user == null ? null : new Credentials(user.getID(), user.getPasswordHash());
+    }
+
+    /**
+     * Finds users by the start of their first or last names, falling back to
+     * similar names if the query contains a typo.
+     *
+     * @param query the search terms, each matching the start of a name
+     * @param limit the maximum number of users to return
+     * @return the matching users, best matches first
+     */
+    public List<User> searchUsers(String query, int limit) {
+        log.info("search Users");
+        List<User> users = new ArrayList<>();
+        for (UUID userID : nameIndex.search(query, limit)) {
+            User user = userRepository.get(userID);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Reports the estimated heap usage of the stores and indexes. The store
+     * sizes, the participant distribution and the largest events are kept up to
+     * date as entities change; the indexes are estimated from samples of at
+     * most a thousand entries each, so the report is cheap whatever the size of
+     * the store.
+     *
+     * @param top the number of largest events to include
+     * @return the memory report
+     */
+    public MemoryReport getMemoryReport(int top) {
+        log.info("get memory report");
+        Map<String, Long> indexBytes = estimateIndexBytes();
+        long total = footprint.getEventBytes() + footprint.getUserBytes();
+        for (long bytes : indexBytes.values()) {
+            total += bytes;
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return new MemoryReport()
+                .setEvents(eventRepository.size())
+                .setUsers(userRepository.size())
+                .setEventStoreBytes(footprint.getEventBytes())
+                .setUserStoreBytes(footprint.getUserBytes())
+                .setIndexBytes(indexBytes)
+                .setTotalBytes(total)
+                .setHeapUsedBytes(runtime.totalMemory() - runtime.freeMemory())
+                .setHeapMaxBytes(runtime.maxMemory())
+                .setParticipantDistribution(footprint.participantDistribution())
+                .setLargestEvents(footprint.largest(top));
+    }
+
+    private Map<String, Long> estimateIndexBytes() {
+        Map<String, Long> indexBytes = new LinkedHashMap<>();
+        indexBytes.put("admission", admission.estimatedBytes());
+        indexBytes.put("waitlist", waitlist.estimatedBytes());
+        indexBytes.put("membership", membership.estimatedBytes());
+        indexBytes.put("ratingVelocity", ratingVelocity.estimatedBytes());
+        indexBytes.put("leaderboard", leaderboard.estimatedBytes());
+        indexBytes.put("emailIndex", emailIndex.estimatedBytes());
+        indexBytes.put("nameIndex", nameIndex.estimatedBytes());
+        indexBytes.put("searchIndex", searchIndex.estimatedBytes());
+        indexBytes.put("footprint", footprint.estimatedBytes());
+        return indexBytes;
+    }
+
     public Collection<User> getAllUsers(){
         log.info("get all Users");
-        return userRepository.values();
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("get", "User");
+        Collection<User> users = userRepository.values();
+        jfr.end(users.size());
+        return users;
     }
 
     public User getUser(UUID userID) {
         log.info("get User by UserID: {}", userID);
-        return userRepository.get(userID);
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("get", "User");
+        User user = userRepository.get(userID);
+        jfr.end(user == null ? 0 : 1);
+        return user;
     }
 
-    public User deleteUser(UUID userID){
+    /**
+     * Deletes a user and removes the user's participation, ratings and waitlist
+     * places from all events. The user is first marked as leaving, so no join,
+     * admission or promotion can commit for the user any more. The user's
+     * events are then found through the membership index and each one is
+     * updated atomically, re-aggregating its rating in the same step, and freed
+     * seats are given to waiting users. Events the user organizes are kept for
+     * their participants, but no longer name the user as organizer. The user is
+     * removed from the store only
+     * after all events are updated, so readers never see a deleted user who is
+     * still a participant.
+     *
+     * @param userID the ID of the user to be deleted
+     * @return the affected counts, or null if the user does not exist or is
+     *         already being deleted
+     */
+    public UserRemoval deleteUser(UUID userID){
         log.info("delete UserID: {}", userID);
-        return userRepository.remove(userID);
+        RepositoryOperationEvent jfr = RepositoryOperationEvent.begin("delete", "User");
+        if (!userRepository.containsKey(userID) || !leaving.add(userID)) {
+            jfr.end(0);
+            return null;
+        }
+        try {
+            UserRemoval removal = new UserRemoval(userID);
+            removal.setWaitlistsLeft(waitlist.removeUser(userID));
+            // joins that passed their user check before the mark commit before the
+            // gate opens, so afterwards the index lists every event of the user;
+            // entries of events that no longer list the user are unlinked, so every
+            // pass shrinks it
+            joins.await();
+            Set<UUID> eventIDs;
+            while (!(eventIDs = membership.eventsOf(userID)).isEmpty()) {
+                for (UUID eventID : eventIDs) {
+                    Event event = joins.join(eventID, () -> eventRepository.computeIfPresent(eventID, (id, current) -> {
+                        if (!current.contains(userID)) {
+                            membership.unlinkParticipant(userID, id);
+                            return current;
+                        }
+                        Event updated = new Event(current);
+                        boolean rated = current.getParticipants().get(userID) != null;
+                        updated.removeParticipant(userID);
+                        promoteWaiters(updated);
+                        eventChanged(current, updated);
+                        removal.participationRemoved(rated);
+                        return updated;
+                    }));
+                    if (event == null) {
+                        membership.unlinkParticipant(userID, eventID);
+                    }
+                }
+            }
+
+            // organized events are kept for their participants, only the organizer
+            // is removed; an event that names someone else is just unlinked
+            while (!(eventIDs = membership.eventsOrganizedBy(userID)).isEmpty()) {
+                for (UUID eventID : eventIDs) {
+                    Event event = eventRepository.computeIfPresent(eventID, (id, current) -> {
+                        if (!userID.equals(current.getOrganizerUserID())) {
+                            membership.unlinkOrganizer(userID, id);
+                            return current;
+                        }
+                        Event updated = new Event(current).removeOrganizer();
+                        eventChanged(current, updated);
+                        removal.organizedEventOrphaned();
+                        return updated;
+                    });
+                    if (event == null) {
+                        membership.unlinkOrganizer(userID, eventID);
+                    }
+                }
+            }
+
+            // the address is released in the same step that removes the user, so
+            // a concurrent update either lands before it or finds no user
+            userRepository.computeIfPresent(userID, (id, user) -> {
+                emailIndex.release(user.getEmail(), id);
+                nameIndex.remove(id);
+                footprint.userRemoved(user);
+                return null;
+            });
+            jfr.end(1);
+            log.info("deleted UserID: {}, participations={}, ratings={}, organized={}", userID,
+                    removal.getParticipationsRemoved(), removal.getRatingsRemoved(),
+                    removal.getOrganizedEventsOrphaned());
+            return removal;
+        } finally {
+            leaving.remove(userID);
+        }
+    }
+
+    /**
+     * Returns whether a user exists and is not being deleted, so it may join
+     * events or be admitted from a waitlist.
+     */
+    private boolean canJoin(UUID userID) {
+        return userRepository.containsKey(userID) && !leaving.contains(userID);
     }
 }
@@ -0,0 +1,220 @@
+package dev.repoplaner.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.EventFootprint;
+import dev.repoplaner.model.User;
+
+/**
+ * Estimates the heap retained by the stored events and users. The totals, the
+ * participant count distribution and the largest events are updated as
+ * entities are stored and deleted, so reading them does not scan the store.
+ * The estimates assume a 64-bit JVM with compressed references and compact
+ * strings; they are meant for comparing and planning, not exact accounting.
+ */
+class StoreFootprint {
+
+    // bytes of the common building blocks
+    static final int UUID_BYTES = 32;
+    static final int MAP_ENTRY_BYTES = 32;
+    static final int SET_BYTES = 64;
+    static final int SAMPLE_SIZE = 1_000;
+
+    private static final int EVENT_BYTES = 64;
+    private static final int USER_BYTES = 40;
+    // date time with its date and time, location, rating histogram
+    private static final int EVENT_FIELDS_BYTES = 72 + 32 + 40;
+
+    // lower bounds of the participant count buckets
+    private static final int[] BUCKETS = { 0, 1, 10, 100, 1_000, 10_000 };
+
+    private static final Comparator<EventFootprint> LARGEST_FIRST = Comparator
+            .comparingLong(EventFootprint::getEstimatedBytes).reversed()
+            .thenComparing(EventFootprint::getEventID);
+
+    private final AtomicLong eventBytes = new AtomicLong();
+    private final AtomicLong userBytes = new AtomicLong();
+    private final LongAdder[] participantCounts = new LongAdder[BUCKETS.length];
+    private final Map<UUID, EventFootprint> footprints = new ConcurrentHashMap<>();
+    private final NavigableSet<EventFootprint> largest = new ConcurrentSkipListSet<>(LARGEST_FIRST);
+
+    StoreFootprint() {
+        for (int i = 0; i < participantCounts.length; i++) {
+            participantCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Accounts for an event after it was stored. Must be called while the event
+     * is locked in the store.
+     */
+    void eventChanged(Event event) {
+        EventFootprint footprint = new EventFootprint(event.getID(), event.getName(),
+                event.getParticipants().size(),
+                event.getDescription() == null ? 0 : event.getDescription().length(), estimate(event));
+        EventFootprint previous = footprints.put(event.getID(), footprint);
+        if (previous != null) {
+            forget(previous);
+        }
+        eventBytes.addAndGet(footprint.getEstimatedBytes());
+        participantCounts[bucket(footprint.getParticipants())].increment();
+        largest.add(footprint);
+    }
+
+    /**
+     * Removes a deleted event. Must be called while the event is locked in the
+     * store.
+     */
+    void eventRemoved(UUID eventID) {
+        EventFootprint previous = footprints.remove(eventID);
+        if (previous != null) {
+            forget(previous);
+        }
+    }
+
+    /**
+     * Accounts for a user after it was stored, replacing the previous version.
+     */
+    void userChanged(User previous, User current) {
+        userBytes.addAndGet(estimate(current) - (previous == null ? 0 : estimate(previous)));
+    }
+
+    void userRemoved(User user) {
+        userBytes.addAndGet(-estimate(user));
+    }
+
+    long getEventBytes() {
+        return eventBytes.get();
+    }
+
+    long getUserBytes() {
+        return userBytes.get();
+    }
+
+    /**
+     * Returns the estimated size of the footprint data itself.
+     */
+    long estimatedBytes() {
+        return footprints.size() * (MAP_ENTRY_BYTES + 40L + 32);
+    }
+
+    /**
+     * Returns the number of events per participant count bucket, such as
+     * "10-99".
+     */
+    Map<String, Long> participantDistribution() {
+        Map<String, Long> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS.length; i++) {
+            String label = i == BUCKETS.length - 1 ? BUCKETS[i] + "+"
+                    : BUCKETS[i] + 1 == BUCKETS[i + 1] ? String.valueOf(BUCKETS[i])
+                    : BUCKETS[i] + "-" + (BUCKETS[i + 1] - 1);
+            distribution.put(label, participantCounts[i].sum());
+        }
+        return distribution;
+    }
+
+    /**
+     * Returns the events with the largest estimated size, largest first.
+     */
+    List<EventFootprint> largest(int n) {
+        List<EventFootprint> result = new ArrayList<>(n);
+        Iterator<EventFootprint> iterator = largest.iterator();
+        while (result.size() < n && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    private void forget(EventFootprint footprint) {
+        eventBytes.addAndGet(-footprint.getEstimatedBytes());
+        participantCounts[bucket(footprint.getParticipants())].decrement();
+        largest.remove(footprint);
+    }
+
+    private static int bucket(int participants) {
+        int bucket = 0;
+        while (bucket + 1 < BUCKETS.length && participants >= BUCKETS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    /**
+     * Estimates the bytes of an event including its entry in the store. Ratings
+     * are small Integers, which the JVM caches, so only the participant IDs and
+     * the map entries count.
+     */
+    static long estimate(Event event) {
+        int participants = event.getParticipants().size();
+        return MAP_ENTRY_BYTES + EVENT_BYTES + UUID_BYTES + EVENT_FIELDS_BYTES
+                + string(event.getName()) + string(event.getDescription())
+                + (event.getOrganizerUserID() == null ? 0 : UUID_BYTES)
+                + hashMap(participants) + (long) participants * UUID_BYTES;
+    }
+
+    /**
+     * Estimates the bytes of a user including its entry in the store.
+     */
+    static long estimate(User user) {
+        return MAP_ENTRY_BYTES + USER_BYTES + UUID_BYTES + string(user.getFirstName())
+                + string(user.getLastName()) + string(user.getEmail()) + string(user.getPasswordHash());
+    }
+
+    static long string(String s) {
+        return s == null ? 0 : 24 + align(16 + s.length());
+    }
+
+    /**
+     * Estimates a HashMap with its table and entries, without keys and values.
+     */
+    static long hashMap(int size) {
+        if (size == 0) {
+            return 48;
+        }
+        long table = Integer.highestOneBit((int) Math.ceil(size / 0.75)) * 2L;
+        return 48 + align(16 + 4 * table) + (long) size * MAP_ENTRY_BYTES;
+    }
+
+    /**
+     * Estimates the total of a per-entry size over a map from at most
+     * SAMPLE_SIZE of its entries. Hash maps are not iterated in insertion
+     * order, so their first entries are a fair sample.
+     */
+    static <K, V> long sampled(Map<K, V> map, ToLongFunction<Map.Entry<K, V>> size) {
+        return sampled(map, map.size(), size);
+    }
+
+    /**
+     * Like {@link #sampled(Map, ToLongFunction)}, for maps whose size is not
+     * known in constant time.
+     */
+    static <K, V> long sampled(Map<K, V> map, long count, ToLongFunction<Map.Entry<K, V>> size) {
+        long sum = 0;
+        int sampled = 0;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (sampled == SAMPLE_SIZE) {
+                break;
+            }
+            sum += size.applyAsLong(entry);
+            sampled++;
+        }
+        return sampled == 0 ? 0 : sum * count / sampled;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
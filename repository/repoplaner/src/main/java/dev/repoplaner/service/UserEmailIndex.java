@@ -0,0 +1,55 @@
+package dev.repoplaner.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps case-normalized email addresses to user IDs, so users can be found by
+ * email in constant time and every email address belongs to one user only.
+ */
+class UserEmailIndex {
+
+    private final Map<String, UUID> users = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves an email address for a user.
+     *
+     * @return true if the email address is free or already belongs to the user,
+     *         false if it belongs to another user
+     */
+    boolean claim(String email, UUID userID) {
+        if (email == null) {
+            return true;
+        }
+        UUID owner = users.putIfAbsent(normalize(email), userID);
+        return owner == null || owner.equals(userID);
+    }
+
+    /**
+     * Releases an email address if it still belongs to the user.
+     */
+    void release(String email, UUID userID) {
+        if (email != null) {
+            users.remove(normalize(email), userID);
+        }
+    }
+
+    UUID find(String email) {
+        return email == null ? null : users.get(normalize(email));
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Estimates the bytes of the index from a sample of the addresses. The user
+     * IDs are shared with the store.
+     */
+    long estimatedBytes() {
+        return StoreFootprint.sampled(users,
+                user -> StoreFootprint.MAP_ENTRY_BYTES + StoreFootprint.string(user.getKey()));
+    }
+}
@@ -0,0 +1,271 @@
+package dev.repoplaner.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import dev.repoplaner.model.User;
+
+/**
+ * Indexes the first and last names of all users for type-ahead search. Name
+ * words are kept in a sorted map, so all words starting with a prefix are one
+ * contiguous range; a trigram index over the distinct words finds similar words
+ * when the query contains a typo. Both are updated incrementally as users are
+ * stored and deleted. Updates are serialized, since user changes are rare;
+ * searches do not lock.
+ */
+class UserNameIndex {
+
+    // fuzzy matches must share at least this fraction of their trigrams
+    private static final double MIN_SIMILARITY = 0.3;
+    // bounds the work of a single search, whatever the query
+    private static final int MAX_CANDIDATES = 5_000;
+    // comparing a word costs a lookup per trigram, so fewer words are compared
+    private static final int MAX_SIMILAR_CANDIDATES = 2_000;
+
+    private final NavigableMap<String, Set<UUID>> usersByWord = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> wordsByTrigram = new ConcurrentHashMap<>();
+    private final Map<UUID, List<String>> wordsByUser = new ConcurrentHashMap<>();
+    // the size of a skip list map is not known without counting its entries
+    private volatile int wordCount;
+
+    /**
+     * Updates the index after a user was stored. Must be called while the user
+     * is locked in the store.
+     *
+     * @param user the stored version of the user
+     */
+    synchronized void update(User user) {
+        List<String> words = words(user);
+        List<String> previousWords = wordsByUser.getOrDefault(user.getID(), List.of());
+        for (String word : previousWords) {
+            if (!words.contains(word)) {
+                unlink(word, user.getID());
+            }
+        }
+        for (String word : words) {
+            if (!previousWords.contains(word)) {
+                link(word, user.getID());
+            }
+        }
+        wordsByUser.put(user.getID(), words);
+    }
+
+    /**
+     * Removes a deleted user from the index.
+     */
+    synchronized void remove(UUID userID) {
+        List<String> words = wordsByUser.remove(userID);
+        if (words != null) {
+            for (String word : words) {
+                unlink(word, userID);
+            }
+        }
+    }
+
+    /**
+     * Finds users whose names match a query. Every term of the query must be the
+     * start of one of the user's name words. If that yields fewer than the
+     * requested number of users, words similar to the longest term are added,
+     * most similar first.
+     *
+     * @param query the search terms
+     * @param limit the maximum number of user IDs to return
+     * @return the IDs of the matching users, best matches first
+     */
+    List<UUID> search(String query, int limit) {
+        String[] terms = normalize(query).split(" ");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return List.of();
+        }
+        // the longest term selects the fewest candidates
+        String longest = terms[0];
+        for (String term : terms) {
+            if (term.length() > longest.length()) {
+                longest = term;
+            }
+        }
+
+        Set<UUID> found = new LinkedHashSet<>();
+        int examined = 0;
+        for (Set<UUID> userIDs : usersByWord.subMap(longest, true, longest + Character.MAX_VALUE, false).values()) {
+            for (UUID userID : userIDs) {
+                if (found.size() >= limit || ++examined > MAX_CANDIDATES) {
+                    return new ArrayList<>(found);
+                }
+                if (matchesAll(userID, terms)) {
+                    found.add(userID);
+                }
+            }
+        }
+
+        if (longest.length() >= 3) {
+            for (String word : similarWords(longest)) {
+                for (UUID userID : usersByWord.getOrDefault(word, Set.of())) {
+                    if (found.size() >= limit || ++examined > MAX_CANDIDATES) {
+                        return new ArrayList<>(found);
+                    }
+                    if (matchesAll(userID, terms, longest)) {
+                        found.add(userID);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private boolean matchesAll(UUID userID, String[] terms) {
+        return matchesAll(userID, terms, null);
+    }
+
+    /**
+     * Checks that every term but the skipped one starts one of the user's words.
+     */
+    private boolean matchesAll(UUID userID, String[] terms, String skipped) {
+        List<String> words = wordsByUser.get(userID);
+        if (words == null) {
+            return false;
+        }
+        for (String term : terms) {
+            if (term.equals(skipped)) {
+                continue;
+            }
+            boolean matched = false;
+            for (String word : words) {
+                if (word.startsWith(term)) {
+                    matched = true;
+                    break;
+                }
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the indexed words that share enough trigrams with a term, most
+     * similar first. Words starting with the term are left out, since the prefix
+     * search has already returned them.
+     */
+    private List<String> similarWords(String term) {
+        List<String> trigrams = new ArrayList<>(trigrams(term));
+        // a similar word shares at least this many trigrams with the term, so it
+        // appears in one of the rarest lists and the most common ones can be skipped
+        int minShared = (int) Math.ceil(MIN_SIMILARITY * trigrams.size());
+        trigrams.sort(Comparator.comparingInt(trigram -> wordsByTrigram.getOrDefault(trigram, Set.of()).size()));
+
+        Map<String, Double> similarity = new HashMap<>();
+        for (String seed : trigrams.subList(0, trigrams.size() - minShared + 1)) {
+            for (String word : wordsByTrigram.getOrDefault(seed, Set.of())) {
+                if (similarity.size() >= MAX_SIMILAR_CANDIDATES) {
+                    break;
+                }
+                if (word.startsWith(term) || similarity.containsKey(word)) {
+                    continue;
+                }
+                int shared = 0;
+                for (String trigram : trigrams) {
+                    if (wordsByTrigram.getOrDefault(trigram, Set.of()).contains(word)) {
+                        shared++;
+                    }
+                }
+                // Jaccard similarity of the two trigram sets; a word has one
+                // trigram more than it has letters
+                double score = (double) shared / (trigrams.size() + word.length() + 1 - shared);
+                similarity.put(word, score);
+            }
+        }
+        similarity.values().removeIf(score -> score < MIN_SIMILARITY);
+        List<String> words = new ArrayList<>(similarity.keySet());
+        words.sort((a, b) -> Double.compare(similarity.get(b), similarity.get(a)));
+        return words;
+    }
+
+    /**
+     * Estimates the bytes of the index from samples of the words, trigrams and
+     * users. The words are sampled in alphabetical order, the others at random.
+     */
+    long estimatedBytes() {
+        return StoreFootprint.sampled(usersByWord, wordCount, word -> 40 + StoreFootprint.string(word.getKey())
+                + StoreFootprint.SET_BYTES + word.getValue().size() * (long) StoreFootprint.MAP_ENTRY_BYTES)
+                + StoreFootprint.sampled(wordsByTrigram, trigram -> StoreFootprint.MAP_ENTRY_BYTES
+                        + StoreFootprint.string(trigram.getKey()) + StoreFootprint.SET_BYTES
+                        + trigram.getValue().size() * (long) StoreFootprint.MAP_ENTRY_BYTES)
+                + StoreFootprint.sampled(wordsByUser,
+                        user -> StoreFootprint.MAP_ENTRY_BYTES + 32 + 4L * user.getValue().size());
+    }
+
+    private void link(String word, UUID userID) {
+        Set<UUID> userIDs = usersByWord.get(word);
+        if (userIDs == null) {
+            userIDs = ConcurrentHashMap.newKeySet();
+            usersByWord.put(word, userIDs);
+            wordCount++;
+            for (String trigram : trigrams(word)) {
+                wordsByTrigram.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(word);
+            }
+        }
+        userIDs.add(userID);
+    }
+
+    private void unlink(String word, UUID userID) {
+        Set<UUID> userIDs = usersByWord.get(word);
+        if (userIDs == null || !userIDs.remove(userID) || !userIDs.isEmpty()) {
+            return;
+        }
+        usersByWord.remove(word);
+        wordCount--;
+        for (String trigram : trigrams(word)) {
+            Set<String> words = wordsByTrigram.get(trigram);
+            words.remove(word);
+            if (words.isEmpty()) {
+                wordsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    private static List<String> words(User user) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String name : new String[] { user.getFirstName(), user.getLastName() }) {
+            if (name != null) {
+                words.addAll(Arrays.asList(normalize(name).split(" ")));
+            }
+        }
+        words.remove("");
+        return List.copyOf(words);
+    }
+
+    /**
+     * Lower-cases a name, strips accents and splits it at anything that is not
+     * a letter or digit, so "Anna-Lena" becomes "anna lena".
+     */
+    static String normalize(String name) {
+        String stripped = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return stripped.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Returns the trigrams of a word, padded so that its start weighs more.
+     */
+    private static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,19 @@
+package dev.repoplaner.service;
+
+/**
+ * Thrown when a user could not be admitted to a full event and was put on its
+ * waitlist instead.
+ */
+public class WaitlistedException extends RuntimeException {
+
+    private final int position;
+
+    public WaitlistedException(int position) {
+        super("Participant limit reached, user is on the waitlist at position " + position + ".");
+        this.position = position;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,79 @@
+package dev.repoplaner.tracing;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A finished span as kept by the {@link SpanRecorder}. Times are in
+ * microseconds since the epoch.
+ */
+public class RecordedSpan {
+
+    private String traceId;
+    private String spanId;
+    private String parentId;
+    private String service;
+    private String name;
+    private String kind;
+    private long startMicros;
+    private long durationMicros;
+    private Map<String, String> tags;
+
+    public RecordedSpan() {
+    }
+
+    public RecordedSpan(String traceId, String spanId, String parentId, String service, String name, String kind,
+            long startMicros, long durationMicros, Map<String, String> tags) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.service = service;
+        this.name = name;
+        this.kind = kind;
+        this.startMicros = startMicros;
+        this.durationMicros = durationMicros;
+        this.tags = tags;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public long getStartMicros() {
+        return startMicros;
+    }
+
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    @JsonIgnore
+    public long getEndMicros() {
+        return startMicros + durationMicros;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+}
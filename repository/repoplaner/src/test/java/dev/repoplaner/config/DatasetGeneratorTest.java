@@ -0,0 +1,90 @@
+package dev.repoplaner.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.User;
+
+/**
+ * This class contains the unit tests for the DatasetGenerator.
+ */
+class DatasetGeneratorTest {
+
+	private static List<String> snapshot(Dataset dataset) throws Exception {
+		Path file = Files.createTempFile("dataset", ".ndjson");
+		try {
+			dataset.write(file);
+			return Files.readAllLines(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Generates the same settings twice and compares the snapshots, which hold
+	 * every field of every user and event.
+	 */
+	@Test
+	void sameSeedGivesSameDataset() throws Exception {
+		List<String> first = snapshot(new DatasetGenerator().setSeed(7).setUsers(2_000).setEvents(300).generate());
+		List<String> second = snapshot(new DatasetGenerator().setSeed(7).setUsers(2_000).setEvents(300).generate());
+		List<String> other = snapshot(new DatasetGenerator().setSeed(8).setUsers(2_000).setEvents(300).generate());
+
+		assertEquals(first, second);
+		assertNotEquals(first, other);
+	}
+
+	@Test
+	void participantsStayWithinTheLimits() {
+		checkParticipants(new DatasetGenerator().setUsers(500).setEvents(1_000).setParticipantsMedian(50)
+				.setParticipantsSkew(0.5).setParticipantsMax(200).generate(), 200);
+		// fewer users than the largest events would have
+		checkParticipants(new DatasetGenerator().setUsers(30).setEvents(200).setParticipantsMedian(100)
+				.setParticipantsMax(1_000).generate(), 30);
+	}
+
+	private static void checkParticipants(Dataset dataset, int max) {
+		Set<UUID> userIDs = dataset.getUsers().stream().map(User::getID).collect(Collectors.toSet());
+		Set<UUID> organizers = dataset.getUsers().stream().filter(User::isOrganizer).map(User::getID)
+				.collect(Collectors.toSet());
+		for (Event event : dataset.getEvents()) {
+			int participants = event.getParticipants().size();
+			assertTrue(participants <= max, participants + " participants");
+			assertTrue(participants <= event.getMaxParticipants());
+			assertTrue(userIDs.containsAll(event.getParticipants().keySet()));
+			assertTrue(organizers.contains(event.getOrganizerUserID()));
+		}
+	}
+
+	@Test
+	void invalidSettingsAreRejected() {
+		List<UnaryOperator<DatasetGenerator>> invalid = List.of(
+				generator -> generator.setUsers(-1),
+				generator -> generator.setEvents(-1),
+				generator -> generator.setDays(0),
+				generator -> generator.setOrganizerShare(1.5),
+				generator -> generator.setParticipantsMedian(-1),
+				generator -> generator.setParticipantsSkew(0),
+				generator -> generator.setParticipantsMax(-1),
+				generator -> generator.setRatingShare(-0.1),
+				generator -> generator.setRatingSpread(-1),
+				generator -> generator.setRadiusKm(-1));
+		for (UnaryOperator<DatasetGenerator> setting : invalid) {
+			assertThrows(IllegalArgumentException.class, () -> setting.apply(new DatasetGenerator()).generate());
+		}
+		assertThrows(IllegalArgumentException.class, () -> new DatasetGenerator().setCities(List.of("Paris")));
+	}
+}
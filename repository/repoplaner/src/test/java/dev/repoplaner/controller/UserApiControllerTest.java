@@ -0,0 +1,126 @@
+package dev.repoplaner.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.User;
+import dev.repoplaner.model.UserRemoval;
+import dev.repoplaner.service.RepositoryService;
+
+/**
+ * This class contains the tests for the user endpoints of the ApiController.
+ */
+@SpringBootTest
+class UserApiControllerTest {
+
+	@Autowired
+	private ApiController apiController;
+	@Autowired
+	private RepositoryService repositoryService;
+
+	private static String email(String name) {
+		return name + "." + UUID.randomUUID() + "@example.com";
+	}
+
+	private User create(String email) throws Exception {
+		User user = new User("Anna", "Schmidt", email, "hash");
+		assertEquals(HttpStatus.CREATED, apiController.createUser(user).getStatusCode());
+		return user;
+	}
+
+	@Test
+	void duplicateEmailIsConflict() throws Exception {
+		String email = email("anna");
+		create(email);
+		User other = create(email("berta"));
+
+		User duplicate = new User("Anna", "Meier", " " + email.toUpperCase() + " ", "hash");
+		assertEquals(HttpStatus.CONFLICT, apiController.createUser(duplicate).getStatusCode());
+		assertNull(repositoryService.getUser(duplicate.getID()));
+
+		User update = new User("Berta", "Schmidt", email, null);
+		assertEquals(HttpStatus.CONFLICT, apiController.updateUser(other.getID(), update).getStatusCode());
+		assertEquals(other.getEmail(), repositoryService.getUser(other.getID()).getEmail());
+	}
+
+	@Test
+	void lookupByEmailIgnoresCase() throws Exception {
+		String email = email("anna");
+		User user = create(email);
+
+		assertEquals(user.getID(), repositoryService.getUserByEmail(email.toUpperCase()).getID());
+		assertEquals(HttpStatus.OK, apiController.getCredentials(email.toUpperCase()).getStatusCode());
+		assertEquals(HttpStatus.NOT_FOUND, apiController.getUserByEmail(email("nobody")).getStatusCode());
+	}
+
+	@Test
+	void changingEmailReleasesTheOldAddress() throws Exception {
+		String oldEmail = email("anna");
+		String newEmail = email("anna");
+		User user = create(oldEmail);
+
+		User update = new User("Anna", "Schmidt", newEmail, null);
+		assertEquals(HttpStatus.OK, apiController.updateUser(user.getID(), update).getStatusCode());
+		assertEquals(user.getID(), repositoryService.getUserByEmail(newEmail).getID());
+		assertEquals("hash", repositoryService.getUser(user.getID()).getPasswordHash());
+
+		User other = create(oldEmail);
+		assertEquals(other.getID(), repositoryService.getUserByEmail(oldEmail).getID());
+	}
+
+	@Test
+	void updateOfDeletedUserIsNotFound() throws Exception {
+		String email = email("anna");
+		User user = create(email);
+		apiController.deleteUsers(user.getID());
+
+		User update = new User("Anna", "Schmidt", email, null);
+		assertEquals(HttpStatus.NOT_FOUND, apiController.updateUser(user.getID(), update).getStatusCode());
+		assertNull(repositoryService.getUser(user.getID()));
+		assertNull(repositoryService.getUserByEmail(email));
+	}
+
+	@Test
+	void userBatchMustNotBeEmptyOrTooLarge() {
+		List<User> users = new ArrayList<>();
+		assertEquals(HttpStatus.BAD_REQUEST, apiController.createUsers(users).getStatusCode());
+
+		for (int i = 0; i <= 10_000; i++) {
+			users.add(new User());
+		}
+		assertEquals(HttpStatus.BAD_REQUEST, apiController.createUsers(users).getStatusCode());
+		assertNull(repositoryService.getUser(users.get(0).getID()));
+
+		assertEquals(HttpStatus.OK, apiController.createUsers(users.subList(0, 10_000)).getStatusCode());
+	}
+
+	@Test
+	void deletedOrganizerIsRemovedFromTheirEvents() throws Exception {
+		User organizer = create(email("anna"));
+		User participant = create(email("berta"));
+		Event event = repositoryService.putEvent(new Event().setOrganizerUserID(organizer.getID()));
+		repositoryService.addParticipant(event.getID(), participant.getID());
+
+		UserRemoval removal = (UserRemoval) apiController.deleteUsers(organizer.getID()).getBody();
+		assertEquals(1, removal.getOrganizedEventsOrphaned());
+
+		Event kept = repositoryService.getEvent(event.getID());
+		assertNull(kept.getOrganizerUserID());
+		assertTrue(kept.contains(participant.getID()));
+
+		// a user stored again under the same ID does not inherit the events
+		repositoryService.putUser(new User(organizer.getID()));
+		assertTrue(repositoryService.getUserEvents(organizer.getID(), true, null, 10).isEmpty());
+	}
+}
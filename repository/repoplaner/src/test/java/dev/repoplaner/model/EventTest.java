@@ -0,0 +1,76 @@
+package dev.repoplaner.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * This class contains the unit tests for the Event model.
+ */
+class EventTest {
+
+	private static final double DELTA = 1e-9;
+
+	/**
+	 * Applies random add, remove, rate and re-rate operations and checks after
+	 * every step that the incrementally maintained rating matches a full
+	 * recompute.
+	 */
+	@Test
+	void incrementalRatingMatchesFullRecompute() {
+		Random random = new Random(42);
+
+		for (int run = 0; run < 50; run++) {
+			Event event = new Event().setMaxParticipants(1 + random.nextInt(200));
+			List<UUID> users = new ArrayList<>();
+			for (int i = 0; i < 100; i++) {
+				users.add(UUID.randomUUID());
+			}
+
+			for (int step = 0; step < 2000; step++) {
+				UUID userID = users.get(random.nextInt(users.size()));
+				switch (random.nextInt(4)) {
+					case 0 -> event.addParticipant(userID);
+					case 1 -> event.removeParticipant(userID);
+					default -> event.rate(userID, random.nextInt(7));
+				}
+				assertEquals(event.calcRating(), event.getRating(), DELTA);
+			}
+		}
+	}
+
+	/**
+	 * Checks that the rating aggregate is rebuilt when an event is deserialized.
+	 */
+	@Test
+	void ratingSurvivesJsonRoundTrip() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		mapper.registerModule(new JavaTimeModule());
+
+		Event event = new Event();
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		event.addParticipant(first);
+		event.addParticipant(second);
+		event.rate(first, 2);
+		event.rate(second, 5);
+
+		Event copy = Event.eventFromJson(mapper.writeValueAsString(event));
+
+		assertEquals(3.5, copy.getRating(), DELTA);
+		assertEquals(2, copy.getRatingCount());
+
+		copy.removeParticipant(second);
+		assertEquals(2.0, copy.getRating(), DELTA);
+		assertEquals(copy.calcRating(), copy.getRating(), DELTA);
+	}
+
+}
@@ -0,0 +1,159 @@
+package dev.repoplaner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import dev.repoplaner.model.Event;
+
+/**
+ * This class contains the unit tests for the full-text search of the events.
+ */
+class EventSearchIndexTest {
+
+	private static final String[] WORDS = { "summer", "open", "air", "meetup", "java", "spring", "night", "run",
+			"city", "workshop", "festival", "jazz", "market", "hackathon", "tour", "cinema", "garden", "board",
+			"games", "talk", "the", "and" };
+
+	private final EventSearchIndex index = new EventSearchIndex();
+
+	private Event add(String name, String description) {
+		Event event = new Event().setName(name).setDescription(description);
+		index.update(event);
+		return event;
+	}
+
+	private static List<UUID> ids(Event... events) {
+		return Arrays.stream(events).map(Event::getID).toList();
+	}
+
+	@Test
+	void rankingFollowsBm25() {
+		Event inName = add("Jazz Night", "Live music in the old town");
+		Event inDescription = add("Night Market", "Food, drinks and jazz in the old town");
+		Event longer = add("Summer Night", "Jazz, food, drinks, games, cinema and a long list of other things");
+		Event games = add("Board Games", "Bring your own games");
+
+		// a term in the name weighs more, and a longer description weighs less
+		assertEquals(ids(inName, inDescription, longer), index.search("jazz", 10));
+		// "night" is in three of the four events, so the rarer "games" weighs more
+		assertEquals(ids(games, longer, inName), index.search("night games", 3));
+		assertEquals(ids(inName), index.search("jazz", 1));
+		assertEquals(List.of(), index.search("hackathon", 10));
+	}
+
+	@Test
+	void termsAreStemmed() {
+		assertEquals("meet", EventSearchIndex.stem("meetings"));
+		assertEquals("party", EventSearchIndex.stem("parties"));
+		assertEquals("walk", EventSearchIndex.stem("walked"));
+		assertEquals("class", EventSearchIndex.stem("class"));
+		assertEquals("campus", EventSearchIndex.stem("campus"));
+		assertEquals("sing", EventSearchIndex.stem("sing"));
+
+		Event event = add("Weekly Meetings", "Parties and talks");
+		assertEquals(ids(event), index.search("meeting", 10));
+		assertEquals(ids(event), index.search("party talk", 10));
+	}
+
+	@Test
+	void stopWordsAccentsAndSingleCharactersAreLeftOut() {
+		assertEquals(List.of("art", "deal"), EventSearchIndex.tokenize("The Art of the Deal"));
+		assertEquals(List.of("cafe", "konzert", "teil"),
+				EventSearchIndex.tokenize("Das Caf\u00e9-Konzert, Teil 2"));
+		assertEquals(List.of(), EventSearchIndex.tokenize(null));
+
+		Event event = add("The Art of the Deal", "A talk in the library");
+		assertEquals(List.of(), index.search("the of a", 10));
+		assertEquals(ids(event), index.search("the art", 10));
+	}
+
+	@Test
+	void newDocumentsAreAppendedInPlace() {
+		EventSearchIndex.Postings three = EventSearchIndex.Postings.EMPTY.with(0, 1).with(1, 2).with(2, 3);
+		EventSearchIndex.Postings four = three.with(5, 4);
+
+		// the arrays have room for a fourth entry, so they are shared
+		assertSame(three.numbers, four.numbers);
+		assertSame(three.frequencies, four.frequencies);
+		assertEquals(3, three.size);
+		assertEquals(4, four.size);
+		assertEquals(List.of(0, 1, 2, 5), numbers(four));
+		assertEquals(List.of(1, 2, 3, 4), frequencies(four));
+
+		// full arrays are copied, and the published entries are never changed
+		EventSearchIndex.Postings five = four.with(7, 5);
+		assertNotSame(four.numbers, five.numbers);
+		EventSearchIndex.Postings changed = four.with(1, 9);
+		EventSearchIndex.Postings inserted = four.with(3, 6);
+		EventSearchIndex.Postings removed = four.without(2);
+		assertNotSame(four.frequencies, changed.frequencies);
+		assertEquals(List.of(1, 9, 3, 4), frequencies(changed));
+		assertEquals(List.of(0, 1, 2, 3, 5), numbers(inserted));
+		assertEquals(List.of(0, 1, 5), numbers(removed));
+		assertEquals(List.of(0, 1, 2, 5), numbers(four));
+		assertEquals(List.of(1, 2, 3, 4), frequencies(four));
+	}
+
+	/**
+	 * Applies random adds, changes and removals and checks that the index then
+	 * returns the same results as one rebuilt from the remaining events.
+	 */
+	@Test
+	void incrementalUpdatesMatchRebuild() {
+		Random random = new Random(42);
+		Map<UUID, Event> events = new LinkedHashMap<>();
+		for (int i = 0; i < 2_000; i++) {
+			int operation = random.nextInt(10);
+			if (operation < 6 || events.isEmpty()) {
+				Event event = new Event().setName(words(random, 3)).setDescription(words(random, 12));
+				events.put(event.getID(), event);
+				index.update(event);
+			} else {
+				Event event = new ArrayList<>(events.values()).get(random.nextInt(events.size()));
+				if (operation < 9) {
+					event.setName(words(random, 3)).setDescription(words(random, 12));
+					index.update(event);
+				} else {
+					events.remove(event.getID());
+					index.remove(event.getID());
+				}
+			}
+		}
+
+		// the remaining events in the order they were first indexed, so equal
+		// scores are ordered alike
+		EventSearchIndex rebuilt = new EventSearchIndex();
+		rebuilt.rebuild(events.values());
+		for (int i = 0; i < 200; i++) {
+			String query = words(random, 1 + random.nextInt(3));
+			assertEquals(rebuilt.search(query, 20), index.search(query, 20), query);
+		}
+	}
+
+	private static String words(Random random, int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		return text.toString();
+	}
+
+	private static List<Integer> numbers(EventSearchIndex.Postings postings) {
+		return Arrays.stream(postings.numbers, 0, postings.size).boxed().toList();
+	}
+
+	private static List<Integer> frequencies(EventSearchIndex.Postings postings) {
+		return Arrays.stream(postings.frequencies, 0, postings.size).boxed().toList();
+	}
+}
@@ -0,0 +1,71 @@
+package dev.repoplaner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class contains the unit tests for the EventWaitlist.
+ */
+class EventWaitlistTest {
+
+	private static final UUID EVENT = UUID.randomUUID();
+
+	@Test
+	void positionsFollowJoiningOrder() {
+		EventWaitlist waitlist = new EventWaitlist();
+		UUID anna = UUID.randomUUID();
+		UUID ben = UUID.randomUUID();
+		UUID clara = UUID.randomUUID();
+
+		assertEquals(1, waitlist.enqueue(EVENT, anna));
+		assertEquals(2, waitlist.enqueue(EVENT, ben));
+		assertEquals(3, waitlist.enqueue(EVENT, clara));
+		assertEquals(2, waitlist.enqueue(EVENT, ben));
+
+		waitlist.remove(EVENT, ben);
+		assertEquals(2, waitlist.position(EVENT, clara));
+		assertEquals(0, waitlist.position(EVENT, ben));
+
+		assertEquals(anna, waitlist.poll(EVENT));
+		assertEquals(1, waitlist.position(EVENT, clara));
+		assertEquals(List.of(clara), waitlist.waiting(EVENT));
+	}
+
+	/**
+	 * Applies random joins, promotions and leaves, enough to rebuild the
+	 * position index many times, and compares every position with a list.
+	 */
+	@Test
+	void positionsMatchAList() {
+		Random random = new Random(42);
+		EventWaitlist waitlist = new EventWaitlist();
+		List<UUID> expected = new ArrayList<>();
+		List<UUID> users = new ArrayList<>();
+		for (int i = 0; i < 300; i++) {
+			users.add(UUID.randomUUID());
+		}
+
+		for (int step = 0; step < 20_000; step++) {
+			UUID userID = users.get(random.nextInt(users.size()));
+			switch (random.nextInt(4)) {
+				case 0, 1 -> {
+					if (!expected.contains(userID)) {
+						expected.add(userID);
+					}
+					assertEquals(expected.indexOf(userID) + 1, waitlist.enqueue(EVENT, userID));
+				}
+				case 2 -> assertEquals(expected.isEmpty() ? null : expected.remove(0), waitlist.poll(EVENT));
+				default -> assertEquals(expected.remove(userID), waitlist.remove(EVENT, userID));
+			}
+			UUID probe = users.get(random.nextInt(users.size()));
+			assertEquals(expected.indexOf(probe) + 1, waitlist.position(EVENT, probe));
+		}
+		assertEquals(expected, waitlist.waiting(EVENT));
+	}
+}
@@ -0,0 +1,266 @@
+package dev.repoplaner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import dev.repoplaner.model.Event;
+import dev.repoplaner.model.EventPatch;
+import dev.repoplaner.model.EventRanking;
+import dev.repoplaner.model.User;
+
+/**
+ * This class contains the concurrency tests for the participant admission of
+ * the RepositoryService.
+ */
+@SpringBootTest
+class RepositoryServiceConcurrencyTest {
+
+	private static final int JOINERS = 128;
+	private static final int CAPACITY = 50;
+	private static final int ROUNDS = 20;
+
+	@Autowired
+	private RepositoryService repositoryService;
+
+	/**
+	 * Lets many threads join the same event at once and checks that exactly as
+	 * many joins succeed as the event has places.
+	 */
+	@Test
+	void concurrentJoinsNeverOverbook() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(JOINERS);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				Event event = repositoryService.putEvent(new Event().setMaxParticipants(CAPACITY));
+				List<UUID> users = new ArrayList<>();
+				for (int i = 0; i < JOINERS; i++) {
+					users.add(repositoryService.putUser(new User()).getID());
+				}
+
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<Boolean>> joins = new ArrayList<>();
+				for (UUID userID : users) {
+					joins.add(executor.submit(() -> {
+						start.await();
+						try {
+							return repositoryService.addParticipant(event.getID(), userID) != null;
+						} catch (IllegalStateException | WaitlistedException e) {
+							return false;
+						}
+					}));
+				}
+				start.countDown();
+
+				int admitted = 0;
+				for (Future<Boolean> join : joins) {
+					if (join.get(30, TimeUnit.SECONDS)) {
+						admitted++;
+					}
+				}
+
+				assertEquals(CAPACITY, admitted);
+				assertEquals(CAPACITY, repositoryService.getEvent(event.getID()).getParticipants().size());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Lets threads join and leave a full event at the same time and checks that
+	 * the capacity is never exceeded, every freed place is taken again and all
+	 * other joiners end up on the waitlist.
+	 */
+	@Test
+	void concurrentJoinsAndLeavesNeverOverbook() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(JOINERS);
+		try {
+			Event event = repositoryService.putEvent(new Event().setMaxParticipants(CAPACITY));
+			List<UUID> members = new ArrayList<>();
+			for (int i = 0; i < CAPACITY; i++) {
+				UUID userID = repositoryService.putUser(new User()).getID();
+				repositoryService.addParticipant(event.getID(), userID);
+				members.add(userID);
+			}
+			List<UUID> joiners = new ArrayList<>();
+			for (int i = 0; i < JOINERS; i++) {
+				joiners.add(repositoryService.putUser(new User()).getID());
+			}
+
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> tasks = new ArrayList<>();
+			for (UUID userID : members.subList(0, CAPACITY / 2)) {
+				tasks.add(executor.submit(() -> {
+					start.await();
+					return repositoryService.removeParticipant(event.getID(), userID);
+				}));
+			}
+			for (UUID userID : joiners) {
+				tasks.add(executor.submit(() -> {
+					start.await();
+					try {
+						return repositoryService.addParticipant(event.getID(), userID);
+					} catch (IllegalStateException | WaitlistedException e) {
+						return null;
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<?> task : tasks) {
+				task.get(30, TimeUnit.SECONDS);
+			}
+
+			int participants = repositoryService.getEvent(event.getID()).getParticipants().size();
+			assertEquals(CAPACITY, participants);
+			assertEquals(JOINERS - CAPACITY / 2, repositoryService.getWaitlist(event.getID()).size());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Patches the name of an event while other threads join and rate it and
+	 * checks that no join or rating is lost.
+	 */
+	@Test
+	void patchesKeepConcurrentJoinsAndRatings() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(JOINERS);
+		try {
+			Event event = repositoryService.putEvent(new Event().setMaxParticipants(JOINERS));
+			List<UUID> joiners = new ArrayList<>();
+			for (int i = 0; i < JOINERS; i++) {
+				joiners.add(repositoryService.putUser(new User()).getID());
+			}
+
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> tasks = new ArrayList<>();
+			for (UUID userID : joiners) {
+				tasks.add(executor.submit(() -> {
+					start.await();
+					repositoryService.addParticipant(event.getID(), userID);
+					return repositoryService.putRating(event.getID(), userID, 4);
+				}));
+			}
+			for (int i = 0; i < ROUNDS; i++) {
+				String name = "Patched " + i;
+				tasks.add(executor.submit(() -> {
+					start.await();
+					return repositoryService.patchEvent(event.getID(), new EventPatch().setName(name));
+				}));
+			}
+			start.countDown();
+			for (Future<?> task : tasks) {
+				task.get(30, TimeUnit.SECONDS);
+			}
+
+			Event stored = repositoryService.getEvent(event.getID());
+			assertEquals(JOINERS, stored.getParticipants().size());
+			assertEquals(JOINERS, stored.getRatingCount());
+			assertTrue(stored.getName().startsWith("Patched "));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Lets threads join several events at once and checks that the leaderboard
+	 * ranks every event exactly once with its final participant count.
+	 */
+	@Test
+	void concurrentJoinsKeepLeaderboardConsistent() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(JOINERS);
+		try {
+			List<Event> events = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				events.add(repositoryService.putEvent(new Event().setMaxParticipants(JOINERS)));
+			}
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> tasks = new ArrayList<>();
+			for (int i = 0; i < JOINERS; i++) {
+				UUID userID = repositoryService.putUser(new User()).getID();
+				Event event = events.get(i % events.size());
+				tasks.add(executor.submit(() -> {
+					start.await();
+					return repositoryService.addParticipant(event.getID(), userID);
+				}));
+			}
+			start.countDown();
+			for (Future<?> task : tasks) {
+				task.get(30, TimeUnit.SECONDS);
+			}
+
+			List<EventRanking> top = repositoryService.getTopEventsByParticipants(100_000);
+			for (Event event : events) {
+				List<EventRanking> rankings = top.stream()
+						.filter(ranking -> ranking.getID().equals(event.getID())).toList();
+				assertEquals(1, rankings.size());
+				assertEquals(JOINERS / events.size(), rankings.get(0).getParticipantCount());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Deletes a user while other threads keep joining the user to events and
+	 * checks that the user is left in no event and no index afterwards.
+	 */
+	@Test
+	void deleteUserWhileJoiningLeavesNoParticipation() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(JOINERS);
+		try {
+			for (int round = 0; round < ROUNDS; round++) {
+				UUID userID = repositoryService.putUser(new User()).getID();
+				List<Event> events = new ArrayList<>();
+				for (int i = 0; i < JOINERS; i++) {
+					events.add(repositoryService.putEvent(new Event().setMaxParticipants(CAPACITY)));
+				}
+
+				CountDownLatch start = new CountDownLatch(1);
+				List<Future<?>> tasks = new ArrayList<>();
+				for (Event event : events) {
+					tasks.add(executor.submit(() -> {
+						start.await();
+						try {
+							return repositoryService.addParticipant(event.getID(), userID);
+						} catch (RuntimeException e) {
+							return null;
+						}
+					}));
+				}
+				Future<?> deletion = executor.submit(() -> {
+					start.await();
+					return repositoryService.deleteUser(userID);
+				});
+				start.countDown();
+				for (Future<?> task : tasks) {
+					task.get(30, TimeUnit.SECONDS);
+				}
+				deletion.get(30, TimeUnit.SECONDS);
+
+				assertNull(repositoryService.getUser(userID));
+				for (Event event : events) {
+					assertFalse(repositoryService.getEvent(event.getID()).contains(userID));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
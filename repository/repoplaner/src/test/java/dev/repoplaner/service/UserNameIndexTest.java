@@ -0,0 +1,87 @@
+package dev.repoplaner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import dev.repoplaner.model.User;
+
+/**
+ * This class contains the unit tests for the name search of the users.
+ */
+class UserNameIndexTest {
+
+	private final UserNameIndex index = new UserNameIndex();
+
+	private User add(String firstName, String lastName) {
+		User user = new User(firstName, lastName, null, null);
+		index.update(user);
+		return user;
+	}
+
+	private static List<UUID> ids(User... users) {
+		return List.of(users).stream().map(User::getID).toList();
+	}
+
+	@Test
+	void prefixMatchesStartOfAnyNameWord() {
+		User anna = add("Anna", "Schmidt");
+		User andreas = add("Andreas", "Weber");
+		add("Ben", "Hanke");
+		User lena = add("Anna-Lena", "Koch");
+		User jose = add("Jos\u00e9", "Anders");
+
+		// words are matched in alphabetical order, "anders" before "andreas"
+		assertEquals(ids(jose, andreas), index.search("AND", 10));
+		assertEquals(Set.copyOf(ids(anna, lena)), Set.copyOf(index.search("anna", 10)));
+		assertEquals(ids(lena), index.search("len", 10));
+		assertEquals(ids(jose), index.search("jose", 10));
+		assertEquals(1, index.search("an", 1).size());
+		assertEquals(List.of(), index.search("  ", 10));
+	}
+
+	@Test
+	void everyTermMustMatch() {
+		User annaSchmidt = add("Anna", "Schmidt");
+		add("Anna", "Weber");
+		add("Sophie", "Schmidt");
+
+		assertEquals(ids(annaSchmidt), index.search("anna sch", 10));
+		assertEquals(ids(annaSchmidt), index.search("schm An", 10));
+		assertEquals(List.of(), index.search("anna koch", 10));
+	}
+
+	@Test
+	void similarWordsFollowPrefixMatches() {
+		User hoffmann = add("Ben", "Hoffmann");
+		User annaHoffmann = add("Anna", "Hoffmann");
+		User schmidt = add("Lena", "Schmidt");
+		User weber = add("Tim", "Weber");
+		User webber = add("Noah", "Webber");
+
+		assertEquals(Set.copyOf(ids(hoffmann, annaHoffmann)), Set.copyOf(index.search("hofman", 10)));
+		assertEquals(ids(annaHoffmann), index.search("anna hofman", 10));
+		assertEquals(ids(schmidt), index.search("schmitd", 10));
+		assertEquals(ids(weber, webber), index.search("weber", 10));
+		// two letters are too short to be compared by their trigrams
+		assertEquals(List.of(), index.search("wx", 10));
+	}
+
+	@Test
+	void updatesAndRemovalsAreIndexed() {
+		User user = add("Anna", "Schmidt");
+
+		index.update(new User(user.getID()).setFirstName("Anna").setLastName("Weber"));
+		assertEquals(List.of(), index.search("schmidt", 10));
+		assertEquals(ids(user), index.search("weber", 10));
+		assertEquals(ids(user), index.search("anna", 10));
+
+		index.remove(user.getID());
+		assertEquals(List.of(), index.search("anna", 10));
+		assertEquals(List.of(), index.search("webr", 10));
+	}
+}
@@ -0,0 +1,25 @@
+package dev.userplaner.config;
+
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import io.micrometer.common.KeyValues;
+
+/**
+ * Tags the http.client.requests metrics of a RestTemplate with the name of the
+ * service it calls, in addition to the uri template, method and status that
+ * Spring records by default.
+ */
+public class DownstreamObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private final String service;
+
+    public DownstreamObservationConvention(String service) {
+        this.service = service;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and("service", service);
+    }
+}
@@ -1,6 +1,8 @@
 package dev.userplaner.controller;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -15,12 +17,15 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import dev.userplaner.model.LoginRequest;
 import dev.userplaner.model.User;
 
+import dev.userplaner.service.AuthService;
 import dev.userplaner.service.UserService;
 import org.springframework.web.bind.annotation.PutMapping;
 
@@ -31,6 +36,8 @@ public class ApiController {
 
     @Autowired
     private UserService userService;
+    @Autowired
+    private AuthService authService;
 
     public ResponseEntity<?> checkProcessability(User user) {
         log.info("Check processability of user");
@@ -67,6 +74,46 @@ public class ApiController {
         return userService.getAllDTO();
     }
 
+    /**
+     * Searches users by name.
+     *
+     * This method is mapped to the GET request at '/users/search' and serves
+     * type-ahead lookups without downloading all users. Every term of the query
+     * must match the start of a first or last name; users with similar names
+     * are added if there are not enough matches.
+     *
+     * @param q     The search terms.
+     * @param limit The maximum number of users to return.
+     * @return A ResponseEntity containing the matching users in JSON format, best
+     *         matches first.
+     */
+    @GetMapping(value = "/users/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<String> searchUsers(@RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        log.info("GET localhost:8083/users/search?q={}&limit={} -> searchUsers() is called", q, limit);
+
+        return userService.searchDTO(q, limit);
+    }
+
+    /**
+     * Retrieves information for the user with the specified email address.
+     *
+     * This method is mapped to the GET request at '/users/by-email/{email}'. The
+     * lookup ignores case and is served from the repository's email index.
+     *
+     * @param email The email address of the user.
+     * @return A ResponseEntity containing the user in JSON format, or a not found
+     *         status if no user has the email address.
+     */
+    @GetMapping(value = "/users/by-email/{email}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> getUserByEmail(@PathVariable("email") String email) {
+        log.info("GET localhost:8083/users/by-email -> getUserByEmail() is called");
+
+        return userService.getUserByEmail(email);
+    }
+
     /**
      * Retrieves information for a specific user based on the provided user ID.
      *
@@ -92,6 +139,33 @@ public class ApiController {
         return userService.getUser(userID);
     }
 
+    /**
+     * Retrieves the events a user participates in or organizes.
+     *
+     * This method is mapped to the GET request at '/users/{userID}/events' and
+     * returns the events of the user ordered by date. The events are looked up
+     * by the repository through its membership index.
+     *
+     * @param userID The unique identifier of the user.
+     * @param role   Either 'participant' or 'organizer'.
+     * @param from   The earliest date of the returned events in ISO format,
+     *               optional.
+     * @param limit  The maximum number of events to return.
+     * @return A ResponseEntity containing the events in JSON format, or the
+     *         corresponding error response if the user is not found or a
+     *         parameter is invalid.
+     */
+    @GetMapping(value = "/users/{userID}/events", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> getUserEvents(@PathVariable("userID") UUID userID,
+            @RequestParam(value = "role", defaultValue = "participant") String role,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        log.info("GET localhost:8083/users/{}/events?role={} -> getUserEvents() is called", userID, role);
+
+        return userService.getUserEvents(userID, role, from, limit);
+    }
+
     /**
      * Creates a new user based on the provided user data.
      *
@@ -120,6 +194,30 @@ public class ApiController {
         return response;
     }
 
+    /**
+     * Creates many users in one request.
+     *
+     * This method is mapped to the POST request at '/users:batch' and is used by
+     * the gateway's bulk import. Every user is checked like in 'createUser'; the
+     * valid users are created, while invalid users and users whose email address
+     * is taken are reported as rejected with the reason.
+     *
+     * @param users The users to be created.
+     * @return A ResponseEntity containing which users were created and which were
+     *         rejected, in the order of the users.
+     */
+    @PostMapping(value = "/users:batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> createUsers(@RequestBody List<User> users) {
+        log.info("POST localhost:8083/users:batch -> createUsers() is called: {} users", users.size());
+
+        List<String> problems = new ArrayList<>(users.size());
+        for (User user : users) {
+            problems.add(user == null ? "User must not be null" : User.isValid(user));
+        }
+        return userService.createAll(users, problems);
+    }
+
     /**
      * Replaces an existing user with new user data provided in the request body by
      * making a PUT request.
@@ -199,4 +297,24 @@ public class ApiController {
         return userService.delete(userID);
     }
 
+    /**
+     * Verifies the credentials of a user.
+     *
+     * This method is mapped to the POST request at '/auth/login'. The password is
+     * verified on a separate fixed-size pool, so a login spike does not slow down
+     * other requests. Accounts are locked for a while after too many failed
+     * logins.
+     *
+     * @param login The email address and password of the user.
+     * @return A ResponseEntity containing the ID of the user if the login is
+     *         valid, or an unauthorized, locked or too many requests status.
+     */
+    @PostMapping(value = "/auth/login", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<?> login(@RequestBody LoginRequest login) {
+        log.info("POST localhost:8083/auth/login -> login() is called");
+
+        return authService.login(login);
+    }
+
 }
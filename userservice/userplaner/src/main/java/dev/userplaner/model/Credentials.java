@@ -0,0 +1,33 @@
+package dev.userplaner.model;
+
+import java.util.UUID;
+
+/**
+ * The stored password hash of a user as returned by the repository.
+ */
+public class Credentials {
+
+    private UUID userID;
+    private String passwordHash;
+
+    public Credentials() {
+    }
+
+    public UUID getUserID() {
+        return userID;
+    }
+
+    public Credentials setUserID(UUID userID) {
+        this.userID = userID;
+        return this;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public Credentials setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+        return this;
+    }
+}
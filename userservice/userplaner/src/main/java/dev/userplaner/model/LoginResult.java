@@ -0,0 +1,16 @@
+package dev.userplaner.model;
+
+import java.util.UUID;
+
+public class LoginResult {
+
+    private final UUID userID;
+
+    public LoginResult(UUID userID) {
+        this.userID = userID;
+    }
+
+    public UUID getUserID() {
+        return userID;
+    }
+}
@@ -0,0 +1,26 @@
+package dev.userplaner.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("dev.userplaner.Controller")
+@Label("Controller Invocation")
+@Category({ "Userplaner", "HTTP" })
+@Description("An inbound request handled by a controller")
+@StackTrace(false)
+public class ControllerEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    @Description("The path pattern of the handler, such as /events/{eventID}")
+    String route;
+
+    @Label("Status")
+    int status;
+}
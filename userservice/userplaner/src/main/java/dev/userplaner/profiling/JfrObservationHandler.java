@@ -0,0 +1,70 @@
+package dev.userplaner.profiling;
+
+import java.io.IOException;
+
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import jdk.jfr.Event;
+
+/**
+ * Turns the server and client request observations recorded by Spring into
+ * JFR events, so a recording shows which endpoint and which downstream call
+ * was running during a GC or allocation spike. Nothing is done unless a
+ * recording has the events enabled.
+ */
+@Component
+public class JfrObservationHandler implements ObservationHandler<Observation.Context> {
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext
+                || context instanceof ClientRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        Event event = context instanceof ServerRequestObservationContext ? new ControllerEvent()
+                : new DownstreamCallEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            context.put(Event.class, event);
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Event event = context.get(Event.class);
+        if (event instanceof ControllerEvent controller
+                && context instanceof ServerRequestObservationContext server) {
+            controller.method = server.getCarrier().getMethod();
+            controller.route = server.getPathPattern();
+            controller.status = server.getResponse() == null ? 0 : server.getResponse().getStatus();
+            controller.commit();
+        } else if (event instanceof DownstreamCallEvent call
+                && context instanceof ClientRequestObservationContext client) {
+            KeyValue service = client.getLowCardinalityKeyValue("service");
+            call.service = service == null ? null : service.getValue();
+            call.uriTemplate = client.getUriTemplate();
+            if (client.getCarrier() != null) {
+                call.method = client.getCarrier().getMethod().name();
+                call.requestBytes = client.getCarrier().getHeaders().getContentLength();
+            }
+            ClientHttpResponse response = client.getResponse();
+            if (response != null) {
+                try {
+                    call.status = response.getStatusCode().value();
+                } catch (IOException e) {
+                    call.status = 0;
+                }
+                call.responseBytes = response.getHeaders().getContentLength();
+            }
+            call.commit();
+        }
+    }
+}
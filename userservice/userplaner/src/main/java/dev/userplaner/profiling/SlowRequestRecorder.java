@@ -0,0 +1,155 @@
+package dev.userplaner.profiling;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Keeps the most recent requests that took longer than
+ * slow-requests.threshold-ms in a ring buffer of slow-requests.capacity
+ * entries. While a request is handled, its downstream calls and JSON
+ * processing are collected; the breakdown is only built and stored if the
+ * request turns out to be slow, so fast requests cost a few timestamps.
+ */
+@Component
+public class SlowRequestRecorder implements ObservationHandler<Observation.Context> {
+
+    private static final String HOP_START = SlowRequestRecorder.class.getName() + ".hopStart";
+
+    @Value("${slow-requests.threshold-ms:500}")
+    private long thresholdMillis;
+    @Value("${slow-requests.capacity:50}")
+    private int capacity;
+
+    private long thresholdNanos;
+    private AtomicReferenceArray<SlowRequest> ring;
+    private final AtomicLong next = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext
+                || context instanceof ClientRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        if (context instanceof ServerRequestObservationContext server) {
+            RequestTiming timing = new RequestTiming();
+            server.put(RequestTiming.class, timing);
+            RequestTiming.start(timing);
+        } else if (RequestTiming.current() != null) {
+            context.put(HOP_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        if (context instanceof ServerRequestObservationContext server) {
+            RequestTiming timing = server.get(RequestTiming.class);
+            RequestTiming.end();
+            if (timing != null) {
+                long duration = System.nanoTime() - timing.startNanos;
+                if (duration >= thresholdNanos) {
+                    record(server, timing, duration);
+                }
+            }
+        } else if (context instanceof ClientRequestObservationContext client) {
+            Long start = client.get(HOP_START);
+            RequestTiming timing = RequestTiming.current();
+            if (start != null && timing != null) {
+                timing.hop(hop(client, System.nanoTime() - start));
+            }
+        }
+    }
+
+    /**
+     * Returns the recorded slow requests, slowest first.
+     */
+    public List<SlowRequest> getSlowRequests() {
+        List<SlowRequest> requests = new ArrayList<>(capacity);
+        for (int i = 0; i < ring.length(); i++) {
+            SlowRequest request = ring.get(i);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        requests.sort(Comparator.comparingDouble(SlowRequest::getDurationMillis).reversed());
+        return requests;
+    }
+
+    public void clear() {
+        for (int i = 0; i < ring.length(); i++) {
+            ring.set(i, null);
+        }
+    }
+
+    private void record(ServerRequestObservationContext server, RequestTiming timing, long duration) {
+        HttpServletRequest request = server.getCarrier();
+        String uri = request.getQueryString() == null ? request.getRequestURI()
+                : request.getRequestURI() + "?" + request.getQueryString();
+        int status = server.getResponse() == null ? 0 : server.getResponse().getStatus();
+        String contentLength = server.getResponse() == null ? null : server.getResponse().getHeader("Content-Length");
+
+        TracingObservationHandler.TracingContext tracing = server.get(TracingObservationHandler.TracingContext.class);
+        String traceId = tracing == null || tracing.getSpan() == null ? null : tracing.getSpan().context().traceId();
+
+        SlowRequest slow = new SlowRequest(Instant.ofEpochMilli(timing.startMillis).toString(), traceId,
+                request.getMethod(), server.getPathPattern(), uri, status, duration / 1e6,
+                contentLength == null ? -1 : Long.parseLong(contentLength),
+                timing.hops == null ? List.of() : timing.hops, timing.json == null ? List.of() : timing.json);
+        ring.set((int) (next.getAndIncrement() % capacity), slow);
+    }
+
+    private static SlowRequest.Hop hop(ClientRequestObservationContext client, long duration) {
+        KeyValue service = client.getLowCardinalityKeyValue("service");
+        int status = 0;
+        long responseBytes = -1;
+        ClientHttpResponse response = client.getResponse();
+        if (response != null) {
+            try {
+                status = response.getStatusCode().value();
+            } catch (IOException e) {
+                status = 0;
+            }
+            responseBytes = response.getHeaders().getContentLength();
+        }
+        return new SlowRequest.Hop(service == null ? null : service.getValue(),
+                client.getCarrier() == null ? null : client.getCarrier().getMethod().name(),
+                client.getUriTemplate(), status, duration / 1e6, responseBytes);
+    }
+
+    /**
+     * Adds JSON processing to the request handled by the current thread, if
+     * any.
+     */
+    static void json(String operation, String type, long bytes, long duration) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.json(new SlowRequest.JsonTiming(operation, type, bytes, duration / 1e6));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dev.userplaner.security;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts failed logins per account in memory and locks an account for a while
+ * after too many failures in a row. Every login reserves an attempt before its
+ * password is verified, so parallel guesses count against the limit before
+ * any of them is settled, and locked accounts cannot keep the verification
+ * pool busy.
+ * <p>
+ * At most {@value #MAX_TRACKED_ACCOUNTS} accounts are tracked; beyond that the
+ * least recently used one is forgotten. Only accounts that exist should be
+ * tracked, so unknown email addresses cannot fill the map.
+ */
+@Component
+public class AccountLockout {
+
+    static final int MAX_TRACKED_ACCOUNTS = 100_000;
+
+    @Value("${auth.lockout.max-failures:5}")
+    private int maxFailures;
+    @Value("${auth.lockout.duration-seconds:300}")
+    private long lockoutSeconds;
+
+    // access ordered, guarded by this
+    private final Map<String, Failures> failures = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Failures> eldest) {
+            return size() > MAX_TRACKED_ACCOUNTS;
+        }
+    };
+
+    /**
+     * Reserves a login attempt for an account. Attempts still being verified
+     * count as failures until they are settled with {@link #succeeded},
+     * {@link #failed} or {@link #released}.
+     *
+     * @param email the email address of the account
+     * @return 0 if the attempt is reserved, otherwise the number of seconds to
+     *         wait before trying again
+     */
+    public synchronized long reserve(String email) {
+        long now = System.currentTimeMillis();
+        Failures account = failures.computeIfAbsent(key(email), key -> new Failures());
+        if (account.lockedUntil > now) {
+            return (account.lockedUntil - now + 999) / 1000;
+        }
+        if (account.lockedUntil > 0) {
+            // the lockout is over, start counting again
+            account.count = 0;
+            account.lockedUntil = 0;
+        }
+        if (account.count + account.pending >= maxFailures) {
+            // the attempts in flight may still lock the account
+            return 1;
+        }
+        account.pending++;
+        return 0;
+    }
+
+    /**
+     * Returns the number of seconds an account stays locked.
+     *
+     * @param email the email address of the account
+     * @return the remaining lockout in seconds, or 0 if the account is not locked
+     */
+    public synchronized long lockedFor(String email) {
+        Failures account = failures.get(key(email));
+        if (account == null) {
+            return 0;
+        }
+        long remaining = account.lockedUntil - System.currentTimeMillis();
+        return remaining > 0 ? (remaining + 999) / 1000 : 0;
+    }
+
+    /**
+     * Settles a reserved attempt as failed and locks the account once the
+     * maximum number of failures is reached.
+     */
+    public synchronized void failed(String email) {
+        long now = System.currentTimeMillis();
+        Failures account = failures.computeIfAbsent(key(email), key -> new Failures());
+        account.pending = Math.max(0, account.pending - 1);
+        account.count++;
+        if (account.count >= maxFailures && account.lockedUntil <= now) {
+            account.lockedUntil = now + lockoutSeconds * 1000;
+        }
+    }
+
+    /**
+     * Settles a reserved attempt as successful and resets the failure count of
+     * the account.
+     */
+    public synchronized void succeeded(String email) {
+        Failures account = failures.get(key(email));
+        if (account == null) {
+            return;
+        }
+        account.pending = Math.max(0, account.pending - 1);
+        account.count = 0;
+        account.lockedUntil = 0;
+        if (account.pending == 0) {
+            failures.remove(key(email));
+        }
+    }
+
+    /**
+     * Gives back a reserved attempt whose password was not verified.
+     */
+    public synchronized void released(String email) {
+        Failures account = failures.get(key(email));
+        if (account == null) {
+            return;
+        }
+        account.pending = Math.max(0, account.pending - 1);
+        if (account.pending == 0 && account.count == 0 && account.lockedUntil == 0) {
+            failures.remove(key(email));
+        }
+    }
+
+    private static String key(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Failures {
+        private int count;
+        private int pending;
+        private long lockedUntil;
+    }
+}
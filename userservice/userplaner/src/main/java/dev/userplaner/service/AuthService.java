@@ -0,0 +1,174 @@
+package dev.userplaner.service;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import dev.userplaner.model.Credentials;
+import dev.userplaner.model.LoginRequest;
+import dev.userplaner.model.LoginResult;
+import dev.userplaner.security.AccountLockout;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Verifies logins. BCrypt verification runs on a small fixed-size pool with a
+ * bounded queue, so a login spike cannot occupy the request threads; logins
+ * that do not fit into the queue are rejected right away.
+ */
+@Service
+public class AuthService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    @Value("${repository.url}")
+    String apiUrl;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Value("${auth.verify.threads:2}")
+    private int verifyThreads;
+    @Value("${auth.verify.queue-capacity:32}")
+    private int verifyQueueCapacity;
+    @Value("${auth.verify.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Autowired
+    private AccountLockout lockout;
+
+    private PasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ThreadPoolExecutor verifier;
+    private String unknownUserHash;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        verifier = new ThreadPoolExecutor(verifyThreads, verifyThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(verifyQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "login-verify-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // verified for unknown emails, so they take as long as wrong passwords
+        unknownUserHash = encoder.encode(UUID.randomUUID().toString());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        verifier.shutdownNow();
+    }
+
+    /**
+     * Verifies the email address and password of a login.
+     *
+     * @param login The email address and password to be verified.
+     * @return A ResponseEntity containing the ID of the user if the login is
+     *         valid, an unauthorized status if it is not, a locked status if the
+     *         account is locked after too many failures, or a too many requests
+     *         status if the verification pool is saturated.
+     */
+    public ResponseEntity<?> login(LoginRequest login) {
+        if (login.getEmail() == null || login.getPassword() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Email and password are required.");
+        }
+        Credentials credentials = getCredentials(login.getEmail());
+        boolean known = credentials != null && credentials.getPasswordHash() != null;
+        if (known) {
+            // unknown emails are not tracked, so they cannot fill the lockout
+            long lockedFor = lockout.reserve(login.getEmail());
+            if (lockedFor > 0) {
+                log.info("login rejected, account locked for {} s", lockedFor);
+                return ResponseEntity.status(HttpStatus.LOCKED)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(lockedFor))
+                        .body("Account locked, try again later.");
+            }
+        }
+        String hash = known ? credentials.getPasswordHash() : unknownUserHash;
+
+        boolean valid;
+        try {
+            Future<Boolean> verification = verifier.submit(() -> encoder.matches(login.getPassword(), hash));
+            valid = verification.get() && known;
+        } catch (RejectedExecutionException e) {
+            release(known, login);
+            log.warn("login rejected, verification pool saturated");
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body("Too many logins, try again later.");
+        } catch (InterruptedException e) {
+            release(known, login);
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Login interrupted.");
+        } catch (ExecutionException e) {
+            release(known, login);
+            log.error("login verification failed", e.getCause());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Login failed.");
+        }
+
+        if (!valid) {
+            if (known) {
+                lockout.failed(login.getEmail());
+            }
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid email or password.");
+        }
+        lockout.succeeded(login.getEmail());
+        log.info("login succeeded: userID={}", credentials.getUserID());
+        return ResponseEntity.ok(new LoginResult(credentials.getUserID()));
+    }
+
+    private void release(boolean known, LoginRequest login) {
+        if (known) {
+            lockout.released(login.getEmail());
+        }
+    }
+
+    /**
+     * Retrieves the credentials of a user by making a GET request to the
+     * specified API endpoint, using the provided email address.
+     *
+     * @param email The email address of the user.
+     * @return The credentials, or null if no user has the email address.
+     */
+    private Credentials getCredentials(String email) {
+        String url = apiUrl + "/users/credentials?email={email}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, request, String.class,
+                    email);
+            return mapper.readValue(response.getBody(), Credentials.class);
+        } catch (HttpClientErrorException e) {
+            return null;
+        } catch (JsonProcessingException e) {
+            log.error("invalid credentials response", e);
+            return null;
+        }
+    }
+}
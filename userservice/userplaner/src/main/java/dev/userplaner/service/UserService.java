@@ -5,9 +5,13 @@ import dev.userplaner.model.UserDTO;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -20,16 +24,24 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 @Service
 public class UserService {
 
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
+    // logged only for requests with the debug-payload flag, see HotPathLogFilter
+    private static final Marker PAYLOAD = MarkerFactory.getMarker("PAYLOAD");
 
     @Value("${repository.url}")
     String apiUrl;
 
+    @Autowired
+    private RestTemplate restTemplate;
+
     /**
      * Retrieves event information by making a GET request to
      * the specified API endpoint,
@@ -44,19 +56,139 @@ public class UserService {
      */
     public ResponseEntity<?> getUser(UUID userID) {
         log.info("get user by userID: {}", userID);
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/users/" + userID;
+        String url = apiUrl + "/users/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.GET, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, userID);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves user information by making a GET request to the specified API
+     * endpoint, using the provided email address. The comparison ignores case.
+     *
+     * @param email The email address of the user.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include user data or a not found status if no user has the email
+     *         address.
+     */
+    public ResponseEntity<?> getUserByEmail(String email) {
+        log.info("get user by email");
+
+        String url = apiUrl + "/users/by-email/{email}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, email);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+
+    /**
+     * Retrieves the events a user participates in or organizes by making a GET
+     * request to the specified API endpoint, using the provided userID.
+     *
+     * @param userID The UUID of the user whose events are retrieved.
+     * @param role   Either 'participant' or 'organizer'.
+     * @param from   The earliest date of the returned events in ISO format, may
+     *               be null.
+     * @param limit  The maximum number of events to return.
+     * @return A ResponseEntity containing the response from the server, which may
+     *         include the events ordered by date
+     *         or an error message in case of failure.
+     * @throws HttpClientErrorException If there is an issue with the HTTP request,
+     *                                  such as an invalid URL or server errors.
+     */
+    public ResponseEntity<?> getUserEvents(UUID userID, String role, String from, int limit) {
+        log.info("get {} events by userID: {}", role, userID);
+        String url = apiUrl + "/users/{userID}/events?role={role}&from={from}&limit={limit}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        try {
+            return restTemplate.exchange(url, HttpMethod.GET, request, String.class, userID, role,
+                    from == null ? "" : from, limit);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
     }
 
+    /**
+     * Creates many users by making a POST request to the specified API endpoint.
+     * Only the valid users are sent; the invalid ones are reported as rejected,
+     * so the results are in the order of the users whether they were sent or
+     * not.
+     *
+     * @param users    The users to be created, with hashed passwords.
+     * @param problems Why each user is invalid, in the order of the users, or
+     *                 null for the valid users.
+     * @return A ResponseEntity containing which users were created and which
+     *         were rejected, or an error message in case of failure.
+     */
+    public ResponseEntity<?> createAll(List<User> users, List<String> problems) {
+        log.info("Users Created: {}", users.size());
+
+        List<User> valid = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            if (problems.get(i) == null) {
+                valid.add(users.get(i));
+            }
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode created = mapper.createArrayNode();
+        if (!valid.isEmpty()) {
+            String url = apiUrl + "/users:batch";
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<List<User>> request = new HttpEntity<>(valid, headers);
+
+            try {
+                ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, request, String.class);
+                created = mapper.readTree(response.getBody()).path("results");
+            } catch (HttpClientErrorException e) {
+                return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+            } catch (JsonProcessingException e) {
+                return new ResponseEntity<>("Invalid batch result", HttpStatus.BAD_GATEWAY);
+            }
+        }
+
+        ObjectNode batch = mapper.createObjectNode();
+        ArrayNode results = mapper.createArrayNode();
+        int accepted = 0;
+        int next = 0;
+        for (int i = 0; i < users.size(); i++) {
+            JsonNode result;
+            if (problems.get(i) == null) {
+                result = created.path(next++);
+            } else {
+                ObjectNode rejected = results.objectNode();
+                if (users.get(i) != null) {
+                    rejected.put("userID", users.get(i).getID().toString());
+                }
+                result = rejected.put("accepted", false).put("reason", problems.get(i));
+            }
+            if (result.path("accepted").asBoolean()) {
+                accepted++;
+            }
+            results.add(result);
+        }
+        batch.put("accepted", accepted);
+        batch.put("rejected", users.size() - accepted);
+        batch.set("results", results);
+        return new ResponseEntity<>(batch.toString(), HttpStatus.OK);
+    }
+
     /**
      * Creates a new user by making a POST request to the specified API endpoint.
      *
@@ -69,7 +201,6 @@ public class UserService {
     public ResponseEntity<?> create(User user) {
         log.info("User Created: {}", user.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/users";
 
         HttpHeaders headers = new HttpHeaders();
@@ -96,15 +227,14 @@ public class UserService {
     public ResponseEntity<?> delete(UUID userID) {
         log.info("delete userID: {}", userID);
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/users/" + userID;
+        String url = apiUrl + "/users/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<String> request = new HttpEntity<String>(headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.DELETE, request, String.class, userID);
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -131,15 +261,14 @@ public class UserService {
     public ResponseEntity<?> replace(User user) {
         log.info("User Updated: {}", user.getID());
 
-        RestTemplate restTemplate = new RestTemplate();
-        String url = apiUrl + "/users/" + user.getID();
+        String url = apiUrl + "/users/{userID}";
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         HttpEntity<User> request = new HttpEntity<User>(user, headers);
 
         try {
-            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class);
+            return restTemplate.exchange(url, HttpMethod.PUT, request, String.class, user.getID());
         } catch (HttpClientErrorException e) {
             return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
         }
@@ -162,7 +291,6 @@ public class UserService {
     public ResponseEntity<?> getAll() {
         log.info("getAllUsers");
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/users";
 
         HttpHeaders headers = new HttpHeaders();
@@ -175,6 +303,38 @@ public class UserService {
         }
     }
 
+    /**
+     * Searches users by name by making a GET request to the specified API
+     * endpoint. The matching users are returned as DTOs, like all users in
+     * {@link #getAllDTO()}.
+     *
+     * @param query The search terms, each matching the start of a name.
+     * @param limit The maximum number of users to return.
+     * @return A ResponseEntity containing the matching users as DTOs, best matches
+     *         first, or an error message in case of failure.
+     */
+    public ResponseEntity<String> searchDTO(String query, int limit) {
+        log.info("search Users as DTO: {}", query);
+
+        String url = apiUrl + "/users/search?q={q}&limit={limit}";
+
+        HttpHeaders headers = new HttpHeaders();
+        HttpEntity<String> request = new HttpEntity<String>(headers);
+
+        ResponseEntity<String> response;
+        try {
+            response = restTemplate.exchange(url, HttpMethod.GET, request, String.class, query, limit);
+        } catch (HttpClientErrorException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+
+        Collection<UserDTO> usersDTO = new ArrayList<>();
+        for (User user : User.collectionFromJson(response.getBody())) {
+            usersDTO.add(new UserDTO(user));
+        }
+        return new ResponseEntity<String>(convertCollectionToJson(usersDTO), HttpStatus.OK);
+    }
+
     /**
      * Retrieves a list of User Data Transfer Objects (DTOs) by making a GET request
      * to the specified API endpoint.
@@ -195,7 +355,6 @@ public class UserService {
     public ResponseEntity<String> getAllDTO() {
         log.info("get all Users as DTO");
 
-        RestTemplate restTemplate = new RestTemplate();
         String url = apiUrl + "/users";
 
         HttpHeaders headers = new HttpHeaders();
@@ -215,17 +374,18 @@ public class UserService {
         String body = response.getBody();
         Collection<User> values = User.collectionFromJson(body);
 
-        log.info("values: {}", body);
-
-        for (User user : values) {
-            log.info("User: {}", user.getID());
+        if (log.isDebugEnabled(PAYLOAD)) {
+            log.debug(PAYLOAD, "values: {}", body);
+            for (User user : values) {
+                log.debug(PAYLOAD, "User: {}", user.getID());
+            }
         }
 
         Collection<UserDTO> usersDTO = new ArrayList<>();
         if (values != null) {
             for (User user : values) {
                 UserDTO newUser = new UserDTO(user);
-                log.info("newUser: {}", newUser.getUserID());
+                log.debug(PAYLOAD, "newUser: {}", newUser.getUserID());
                 usersDTO.add(newUser);
             }
         }
@@ -284,6 +444,9 @@ public class UserService {
         if (newUser.getEmail() != null) {
             user.setEmail(newUser.getEmail());
         }
+        if (newUser.getPasswordHash() != null) {
+            user.setPasswordHash(newUser.getPasswordHash());
+        }
 
         return replace(user);
     }
@@ -0,0 +1,44 @@
+package dev.userplaner.tracing;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the recorded spans at /actuator/spans.
+ */
+@Component
+@Endpoint(id = "spans")
+public class SpansEndpoint {
+
+    private static final int SLOWEST = 20;
+
+    @Autowired
+    private SpanRecorder spanRecorder;
+
+    /**
+     * Lists the slowest recently recorded requests of this service.
+     *
+     * @return the local root spans of the slowest requests
+     */
+    @ReadOperation
+    public List<RecordedSpan> slowest() {
+        return spanRecorder.getSlowest(SLOWEST);
+    }
+
+    /**
+     * Returns the spans this service recorded for a trace.
+     *
+     * @param traceId the ID of the trace
+     * @return the spans, or null (404) if none were recorded
+     */
+    @ReadOperation
+    public List<RecordedSpan> trace(@Selector String traceId) {
+        List<RecordedSpan> spans = spanRecorder.getTrace(traceId);
+        return spans.isEmpty() ? null : spans;
+    }
+}
@@ -0,0 +1,209 @@
+package dev.userplaner.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import dev.userplaner.model.LoginRequest;
+import dev.userplaner.model.LoginResult;
+import dev.userplaner.security.AccountLockout;
+
+class AuthServiceTest {
+
+	private static final String EMAIL = "max@example.com";
+	private static final UUID USER_ID = UUID.randomUUID();
+
+	/**
+	 * Hashes without BCrypt and can hold verifications until released.
+	 */
+	static class GatedEncoder implements PasswordEncoder {
+
+		final AtomicInteger started = new AtomicInteger();
+		volatile CountDownLatch gate = new CountDownLatch(0);
+
+		@Override
+		public String encode(CharSequence password) {
+			return "hash:" + password;
+		}
+
+		@Override
+		public boolean matches(CharSequence password, String hash) {
+			started.incrementAndGet();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return hash.equals("hash:" + password);
+		}
+	}
+
+	/**
+	 * Answers credential lookups of the repository from a map.
+	 */
+	static class CredentialsTemplate extends RestTemplate {
+
+		final Map<String, String> credentials = new ConcurrentHashMap<>();
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> ResponseEntity<T> exchange(String url, HttpMethod method, HttpEntity<?> request,
+				Class<T> responseType, Object... uriVariables) {
+			String json = credentials.get(uriVariables[0]);
+			if (json == null) {
+				throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+			}
+			return (ResponseEntity<T>) ResponseEntity.ok(json);
+		}
+	}
+
+	private final GatedEncoder encoder = new GatedEncoder();
+	private final AccountLockout lockout = new AccountLockout();
+
+	private AuthService service(int threads, int queueCapacity, int maxFailures) {
+		CredentialsTemplate template = new CredentialsTemplate();
+		template.credentials.put(EMAIL,
+				"{\"userID\":\"" + USER_ID + "\",\"passwordHash\":\"" + encoder.encode("secret") + "\"}");
+		ReflectionTestUtils.setField(lockout, "maxFailures", maxFailures);
+		ReflectionTestUtils.setField(lockout, "lockoutSeconds", 300L);
+
+		AuthService service = new AuthService();
+		ReflectionTestUtils.setField(service, "apiUrl", "http://repository");
+		ReflectionTestUtils.setField(service, "restTemplate", template);
+		ReflectionTestUtils.setField(service, "verifyThreads", threads);
+		ReflectionTestUtils.setField(service, "verifyQueueCapacity", queueCapacity);
+		ReflectionTestUtils.setField(service, "retryAfterSeconds", 1);
+		ReflectionTestUtils.setField(service, "lockout", lockout);
+		ReflectionTestUtils.setField(service, "encoder", encoder);
+		service.init();
+		return service;
+	}
+
+	private static LoginRequest login(String email, String password) {
+		return new LoginRequest().setEmail(email).setPassword(password);
+	}
+
+	private static Thread inBackground(Runnable runnable) {
+		Thread thread = new Thread(runnable);
+		thread.start();
+		return thread;
+	}
+
+	private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+		for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+			Thread.sleep(10);
+		}
+		assertTrue(condition.getAsBoolean());
+	}
+
+	@Test
+	void validCredentialsReturnTheUser() {
+		ResponseEntity<?> response = service(1, 1, 3).login(login(EMAIL, "secret"));
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertEquals(USER_ID, ((LoginResult) response.getBody()).getUserID());
+	}
+
+	@Test
+	void wrongPasswordAndUnknownEmailAreUnauthorized() {
+		AuthService service = service(1, 1, 3);
+
+		assertEquals(HttpStatus.UNAUTHORIZED, service.login(login(EMAIL, "guess")).getStatusCode());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(HttpStatus.UNAUTHORIZED,
+					service.login(login("nobody@example.com", "secret")).getStatusCode());
+		}
+		// unknown addresses are verified but never tracked or locked
+		assertEquals(0, lockout.lockedFor("nobody@example.com"));
+	}
+
+	@Test
+	void accountLocksAfterMaxFailuresAndSuccessResetsTheCount() {
+		AuthService service = service(1, 1, 3);
+
+		service.login(login(EMAIL, "guess"));
+		service.login(login(EMAIL, "guess"));
+		assertEquals(HttpStatus.OK, service.login(login(EMAIL, "secret")).getStatusCode());
+		service.login(login(EMAIL, "guess"));
+		service.login(login(EMAIL, "guess"));
+		assertEquals(HttpStatus.OK, service.login(login(EMAIL, "secret")).getStatusCode());
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(HttpStatus.UNAUTHORIZED, service.login(login(EMAIL, "guess")).getStatusCode());
+		}
+		ResponseEntity<?> locked = service.login(login(EMAIL, "secret"));
+		assertEquals(HttpStatus.LOCKED, locked.getStatusCode());
+		assertEquals("300", locked.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void parallelGuessesCountBeforeTheyAreVerified() throws Exception {
+		AuthService service = service(3, 8, 3);
+		encoder.gate = new CountDownLatch(1);
+
+		List<ResponseEntity<?>> guesses = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			threads.add(inBackground(() -> {
+				ResponseEntity<?> response = service.login(login(EMAIL, "guess"));
+				synchronized (guesses) {
+					guesses.add(response);
+				}
+			}));
+		}
+		awaitCondition(() -> encoder.started.get() == 3);
+
+		// three attempts are in flight, none of them has failed yet
+		assertEquals(HttpStatus.LOCKED, service.login(login(EMAIL, "secret")).getStatusCode());
+		assertEquals(3, encoder.started.get());
+
+		encoder.gate.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		guesses.forEach(response -> assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode()));
+		assertTrue(lockout.lockedFor(EMAIL) > 0);
+	}
+
+	@Test
+	void saturatedPoolAsksToRetryLater() throws Exception {
+		AuthService service = service(1, 1, 5);
+		ThreadPoolExecutor verifier = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "verifier");
+		encoder.gate = new CountDownLatch(1);
+
+		Thread running = inBackground(() -> service.login(login(EMAIL, "secret")));
+		awaitCondition(() -> encoder.started.get() == 1);
+		Thread queued = inBackground(() -> service.login(login(EMAIL, "secret")));
+		awaitCondition(() -> verifier.getQueue().size() == 1);
+
+		ResponseEntity<?> rejected = service.login(login(EMAIL, "secret"));
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+		assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+		encoder.gate.countDown();
+		running.join();
+		queued.join();
+		// the pool takes logins again once the verifications finished
+		assertEquals(HttpStatus.OK, service.login(login(EMAIL, "secret")).getStatusCode());
+	}
+}